@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,13 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    // /reactive/point 의 Mono/Flux 반환 (Spring MVC 가 비동기 응답으로 처리)
+    implementation(libs.reactor.core)
+    // point.jdbc.enabled=true 일 때 잔고와 내역을 DB 에 저장 (기본 DataSource 는 H2)
+    implementation(libs.spring.boot.starter.jdbc)
+    runtimeOnly(libs.h2)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -30,12 +38,26 @@ dependencies {
 }
 
 // about source and compilation
+// 가상 스레드(spring.threads.virtual.enabled)를 사용하기 위해 Java 21 툴체인으로 빌드합니다.
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
+}
+
+// benchmark (./gradlew jmh, src/jmh/java)
+// 결과는 JSON 으로 남겨 실행 간 비교에 사용합니다.
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
 }
 
 // bundling tasks
@@ -48,5 +70,19 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+// 플랫폼 스레드/가상 스레드 모드의 처리량을 비교하는 부하 테스트 (./gradlew loadTest)
+tasks.register<Test>("loadTest") {
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
 }
@@ -5,6 +5,11 @@ pluginManagement {
     }
 }
 
+plugins {
+    // Java 21 툴체인이 설치되어 있지 않으면 자동으로 내려받습니다.
+    id("org.gradle.toolchains.foojay-resolver-convention") version "0.7.0"
+}
+
 dependencyResolutionManagement {
     @Suppress("UnstableApiUsage")
     repositories {
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+
+/**
+ * 내역 저장소별로 내역 한 건이 차지하는 힙 크기(bytesPerRow)를 측정합니다.
+ * <p>
+ * table 은 원본과 같이 내역마다 객체를 {@code ArrayList} 에 보관하는 저장소, columnar 는 {@link ColumnarPointHistoryTable} 입니다.
+ * 1억 건은 {@code -p rows=100000000} 으로 실행하며, table 저장소는 약 6GB 의 힙이 필요합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class HistoryStoreMemoryBenchmark {
+
+    private static final long BASE_MILLIS = 1_700_000_000_000L;
+
+    @Param({"table", "columnar"})
+    public String store;
+
+    @Param({"10000000"})
+    public int rows;
+
+    @Param({"100000"})
+    public int userCount;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public double bytesPerRow;
+    }
+
+    @Benchmark
+    public int fill(Footprint footprint) {
+        long before = usedHeap();
+
+        PointHistoryTable table = "columnar".equals(store) ? new ColumnarPointHistoryTable() : new UnthrottledPointHistoryTable();
+        for (int i = 0; i < rows; i++) {
+            table.insert(i % userCount + 1L, 1_000L + (i % 100) * 100L, i % 3 == 0 ? USE : CHARGE, BASE_MILLIS + i);
+        }
+
+        footprint.bytesPerRow = (double) (usedHeap() - before) / rows;
+        Reference.reachabilityFence(table);
+        return rows;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
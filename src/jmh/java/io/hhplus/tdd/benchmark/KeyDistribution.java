@@ -0,0 +1,59 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청이 어떤 사용자에게 몰리는지를 정합니다.
+ */
+public enum KeyDistribution {
+
+    /**
+     * 모든 요청이 한 사용자에게 몰리는 단일 사용자 경합입니다.
+     */
+    SINGLE,
+
+    /**
+     * 모든 사용자에게 고르게 나뉘는 부하입니다.
+     */
+    UNIFORM,
+
+    /**
+     * 소수의 사용자에게 요청이 몰리는 Zipf 분포(hot key) 부하입니다.
+     */
+    ZIPF;
+
+    private static final double ZIPF_EXPONENT = 0.99;
+
+    /**
+     * 분포에 맞는 사용자 ID 선택기를 만듭니다. 사용자 ID 는 1 부터 {@code userCount} 까지입니다.
+     */
+    public Sampler sampler(int userCount) {
+        return switch (this) {
+            case SINGLE -> () -> 1L;
+            case UNIFORM -> () -> ThreadLocalRandom.current().nextInt(userCount) + 1L;
+            case ZIPF -> zipf(userCount);
+        };
+    }
+
+    private static Sampler zipf(int userCount) {
+        // 순위별 누적 확률을 미리 계산해 두고 이분 탐색으로 뽑는다.
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        double total = sum;
+        return () -> {
+            int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble() * total);
+            return (index >= 0 ? index : -index - 1) + 1L;
+        };
+    }
+
+    @FunctionalInterface
+    public interface Sampler {
+
+        long nextUserId();
+    }
+}
@@ -0,0 +1,174 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.NoopPointWriteAheadLog;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointCacheProperties;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.CasPointEngine;
+import io.hhplus.tdd.point.LockPointEngine;
+import io.hhplus.tdd.point.MailboxPointEngine;
+import io.hhplus.tdd.point.PointEngine;
+import io.hhplus.tdd.point.PointEngineProperties;
+import io.hhplus.tdd.point.PointExecutors;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHoldProperties;
+import io.hhplus.tdd.point.PointHolds;
+import io.hhplus.tdd.point.PointIdempotencyCache;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointMutationProperties;
+import io.hhplus.tdd.point.PointMutationWriter;
+import io.hhplus.tdd.point.PointReadCoalescer;
+import io.hhplus.tdd.point.PointRollup;
+import io.hhplus.tdd.point.PointRollupProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserLockProperties;
+import io.hhplus.tdd.point.UserLockRegistry;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PointService} 의 주요 경로를 엔진, 사용자 분포, 테이블 지연 여부별로 측정합니다.
+ * <p>
+ * 충전은 한도에, 사용은 잔액 부족에 도달하면 반대 거래로 잔고를 되돌려 측정을 이어갑니다.
+ * 되돌리는 거래는 수백 번에 한 번꼴이라 결과에 주는 영향은 작습니다.
+ * 내역 조회는 테이블 지연과 무관한 인덱스를 읽으므로 지연 없는 테이블에 미리 내역을 쌓아 두고 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PointServiceBenchmark {
+
+    private static final long CHARGE_AMOUNT = 1_000L;
+    private static final long USE_AMOUNT = 100L;
+    private static final long REFILL_AMOUNT = 100_000L;
+    private static final long DRAIN_AMOUNT = 500_000L;
+    private static final int HISTORIES_PER_USER = 50;
+
+    @Param({"LOCK", "CAS", "MAILBOX"})
+    public PointEngineProperties.Type engine;
+
+    @Param({"SINGLE", "UNIFORM", "ZIPF"})
+    public KeyDistribution distribution;
+
+    @Param({"false", "true"})
+    public boolean throttle;
+
+    @Param({"1000"})
+    public int userCount;
+
+    private PointService pointService;
+    private PointService historyService;
+    private KeyDistribution.Sampler sampler;
+    private PointExecutors pointExecutors;
+    private PointMetrics pointMetrics;
+    private final List<Runnable> closers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointExecutors = new PointExecutors(false);
+        pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        sampler = distribution.sampler(userCount);
+
+        UserPointTable userPointTable = throttle ? new UserPointTable() : new UnthrottledUserPointTable();
+        PointHistoryTable pointHistoryTable = throttle ? new PointHistoryTable() : new UnthrottledPointHistoryTable();
+        pointService = createService(engine, userPointTable, pointHistoryTable);
+
+        historyService = createService(PointEngineProperties.Type.LOCK, new UnthrottledUserPointTable(), new UnthrottledPointHistoryTable());
+        for (long userId = 1; userId <= userCount; userId++) {
+            for (int i = 0; i < HISTORIES_PER_USER; i++) {
+                historyService.chargeUserPoint(userId, CHARGE_AMOUNT);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closers.forEach(Runnable::run);
+        closers.clear();
+    }
+
+    @Benchmark
+    public UserPoint chargeUserPoint() {
+        long userId = sampler.nextUserId();
+        try {
+            return pointService.chargeUserPoint(userId, CHARGE_AMOUNT);
+        } catch (IllegalStateException e) {
+            return pointService.usePoint(userId, DRAIN_AMOUNT);
+        }
+    }
+
+    @Benchmark
+    public UserPoint usePoint() {
+        long userId = sampler.nextUserId();
+        try {
+            return pointService.usePoint(userId, USE_AMOUNT);
+        } catch (IllegalStateException e) {
+            return pointService.chargeUserPoint(userId, REFILL_AMOUNT);
+        }
+    }
+
+    @Benchmark
+    public UserPoint getUserPointByUserId() {
+        return pointService.getUserPointByUserId(sampler.nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> getPointHistoriesByUserId() {
+        return historyService.getPointHistoriesByUserId(sampler.nextUserId());
+    }
+
+    private PointService createService(PointEngineProperties.Type type, UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        UserPointCache userPointCache = new UserPointCache(userPointTable,
+                new UserPointCacheProperties(userCount, false, Duration.ofMillis(100)), pointMetrics);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, pointMetrics, new NoopPointWriteAheadLog(),
+                new PointRollup(new PointRollupProperties(Duration.ofHours(3), Duration.ofDays(7))));
+        UserLockRegistry userLockRegistry = new UserLockRegistry(new UserLockProperties(4096, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), pointMetrics);
+        PointEngineProperties engineProperties = new PointEngineProperties(type, 8, Duration.ofMillis(100), Duration.ofSeconds(10), 5, 16, 100);
+        PointHolds pointHolds = new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 512));
+        closers.add(userPointCache::close);
+        closers.add(pointHolds::close);
+
+        PointEngine pointEngine = switch (type) {
+            case LOCK -> {
+                PointMutationWriter pointMutationWriter = new PointMutationWriter(userPointCache, pointHistoryRepository,
+                        new PointMutationProperties(true, 16), pointExecutors);
+                closers.add(pointMutationWriter::close);
+                yield new LockPointEngine(userPointCache, pointHistoryRepository, userLockRegistry, pointMutationWriter, pointHolds);
+            }
+            case CAS -> {
+                CasPointEngine casPointEngine = new CasPointEngine(userPointCache, pointHistoryRepository, pointMetrics, engineProperties, pointExecutors);
+                closers.add(0, casPointEngine::close);
+                yield casPointEngine;
+            }
+            case MAILBOX -> {
+                MailboxPointEngine mailboxPointEngine = new MailboxPointEngine(userPointCache, pointHistoryRepository,
+                        userLockRegistry, pointHolds, engineProperties, pointExecutors);
+                closers.add(0, mailboxPointEngine::close);
+                yield mailboxPointEngine;
+            }
+            case OPTIMISTIC -> throw new IllegalArgumentException("optimistic 엔진은 DataSource 가 필요해 이 벤치마크에서 측정하지 않습니다.");
+        };
+        return new PointService(pointEngine, pointHistoryRepository, pointMetrics,
+                new PointIdempotencyCache(new PointIdempotencyProperties(100_000, Duration.ofMinutes(10))), new PointReadCoalescer());
+    }
+}
@@ -0,0 +1,150 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.NoopPointWriteAheadLog;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointCacheProperties;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.LockPointEngine;
+import io.hhplus.tdd.point.PointExecutors;
+import io.hhplus.tdd.point.PointHoldProperties;
+import io.hhplus.tdd.point.PointHolds;
+import io.hhplus.tdd.point.PointIdempotencyCache;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointMutationProperties;
+import io.hhplus.tdd.point.PointMutationWriter;
+import io.hhplus.tdd.point.PointReadCoalescer;
+import io.hhplus.tdd.point.PointRollup;
+import io.hhplus.tdd.point.PointRollupProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserLockProperties;
+import io.hhplus.tdd.point.UserLockRegistry;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 받는 사용자가 몰리는 정도(receivers)별로 포인트 이전을 측정하고, 사용 후 충전을 따로 호출하는 방식과 비교합니다.
+ * <p>
+ * 보내는 사용자는 고르게 나뉘고, 받는 사용자는 {@link KeyDistribution} 에 따라 한 명(SINGLE)이나 소수(ZIPF)에게 몰립니다.
+ * 받는 쪽이 한도에, 보내는 쪽이 잔액 부족에 도달하면 잔고를 되돌려 측정을 이어갑니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PointTransferBenchmark {
+
+    private static final long TRANSFER_AMOUNT = 1_000L;
+    private static final long REFILL_AMOUNT = 100_000L;
+    private static final long DRAIN_AMOUNT = 500_000L;
+    private static final long SENDER_ID_OFFSET = 1_000_000L;
+
+    @Param({"SINGLE", "ZIPF", "UNIFORM"})
+    public KeyDistribution receivers;
+
+    @Param({"false", "true"})
+    public boolean throttle;
+
+    @Param({"1000"})
+    public int userCount;
+
+    private PointService pointService;
+    private KeyDistribution.Sampler receiverSampler;
+    private UserPointCache userPointCache;
+    private PointMutationWriter pointMutationWriter;
+    private PointHolds pointHolds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        receiverSampler = receivers.sampler(userCount);
+
+        UserPointTable userPointTable = throttle ? new UserPointTable() : new UnthrottledUserPointTable();
+        PointHistoryTable pointHistoryTable = throttle ? new PointHistoryTable() : new UnthrottledPointHistoryTable();
+        userPointCache = new UserPointCache(userPointTable,
+                new UserPointCacheProperties(userCount * 2, false, Duration.ofMillis(100)), pointMetrics);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, pointMetrics, new NoopPointWriteAheadLog(),
+                new PointRollup(new PointRollupProperties(Duration.ofHours(3), Duration.ofDays(7))));
+        UserLockRegistry userLockRegistry = new UserLockRegistry(new UserLockProperties(4096, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), pointMetrics);
+        pointMutationWriter = new PointMutationWriter(userPointCache, pointHistoryRepository,
+                new PointMutationProperties(true, 16), new PointExecutors(false));
+
+        pointHolds = new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 512));
+
+        pointService = new PointService(new LockPointEngine(userPointCache, pointHistoryRepository, userLockRegistry, pointMutationWriter, pointHolds),
+                pointHistoryRepository, pointMetrics,
+                new PointIdempotencyCache(new PointIdempotencyProperties(100_000, Duration.ofMinutes(10))), new PointReadCoalescer());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointMutationWriter.close();
+        pointHolds.close();
+        userPointCache.close();
+    }
+
+    @Benchmark
+    public PointTransfer transfer() {
+        long senderId = nextSenderId();
+        long receiverId = receiverSampler.nextUserId();
+        try {
+            return pointService.transfer(senderId, receiverId, TRANSFER_AMOUNT);
+        } catch (IllegalStateException e) {
+            refill(senderId, receiverId);
+            return null;
+        }
+    }
+
+    /**
+     * 이전 API 가 없을 때처럼 사용과 충전을 따로 호출합니다. 두 호출 사이에는 포인트가 어느 쪽에도 없습니다.
+     */
+    @Benchmark
+    public UserPoint useThenCharge() {
+        long senderId = nextSenderId();
+        long receiverId = receiverSampler.nextUserId();
+        try {
+            pointService.usePoint(senderId, TRANSFER_AMOUNT);
+            return pointService.chargeUserPoint(receiverId, TRANSFER_AMOUNT);
+        } catch (IllegalStateException e) {
+            refill(senderId, receiverId);
+            return null;
+        }
+    }
+
+    private long nextSenderId() {
+        return SENDER_ID_OFFSET + ThreadLocalRandom.current().nextInt(userCount);
+    }
+
+    private void refill(long senderId, long receiverId) {
+        // 다른 스레드가 먼저 되돌렸다면 실패해도 그대로 진행한다.
+        try {
+            if (pointService.getUserPointByUserId(senderId).point() < TRANSFER_AMOUNT) {
+                pointService.chargeUserPoint(senderId, REFILL_AMOUNT);
+            }
+            if (pointService.getUserPointByUserId(receiverId).point() + TRANSFER_AMOUNT > UserPointValidator.MAX_TOTAL_POINTS) {
+                pointService.usePoint(receiverId, DRAIN_AMOUNT);
+            }
+        } catch (IllegalStateException e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 지연(throttle) 없이 동작하는 벤치마크 전용 {@link PointHistoryTable} 입니다.
+ * 메모리 비교의 기준이 되도록 원본과 같이 내역마다 {@link PointHistory} 객체를 {@link ArrayList} 에 보관합니다.
+ */
+class UnthrottledPointHistoryTable extends PointHistoryTable {
+
+    private final List<PointHistory> table = new ArrayList<>();
+    private long cursor = 1;
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+        table.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public synchronized List<PointHistory> selectAllByUserId(long userId) {
+        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지연(throttle) 없이 동작하는 벤치마크 전용 {@link UserPointTable} 입니다.
+ * 테이블 클래스는 변경할 수 없으므로 공개 API 를 재정의해 저장소 비용을 걷어내고 락과 CPU 비용만 측정합니다.
+ */
+class UnthrottledUserPointTable extends UserPointTable {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+}
@@ -1,5 +1,10 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointBusyException;
+import io.hhplus.tdd.point.PointUnsupportedOperationException;
+import io.hhplus.tdd.shard.PointShardConflictException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,6 +12,31 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    /**
+     * 한 사용자에게 요청이 몰려 처리하지 않고 거절한 요청은 다시 시도할 수 있도록 429 와 Retry-After(초)로 응답합니다.
+     */
+    @ExceptionHandler(value = PointBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePointBusyException(PointBusyException e) {
+        long retryAfterSeconds = Math.max(1, (e.retryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointShardConflictException.class)
+    public ResponseEntity<ErrorResponse> handlePointShardConflictException(PointShardConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("409", e.getMessage()));
+    }
+
+    /**
+     * 현재 포인트 엔진이나 샤딩 설정에서 지원하지 않는 요청은 501 로 응답합니다.
+     */
+    @ExceptionHandler(value = PointUnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> handlePointUnsupportedOperationException(PointUnsupportedOperationException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(new ErrorResponse("501", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
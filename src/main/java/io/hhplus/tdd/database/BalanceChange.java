@@ -0,0 +1,29 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 잔고 행의 version 이 {@code expectedVersion} 그대로일 때만 반영할 잔고와, 함께 기록할 내역입니다.
+ */
+public record BalanceChange(
+        long userId,
+        long expectedVersion,
+        long point,
+        TransactionType type,
+        long amount,
+        long updateMillis
+) {
+
+    /**
+     * 읽은 잔고에 거래를 반영한 변경을 만듭니다.
+     */
+    public static BalanceChange of(VersionedUserPoint current, TransactionType type, long amount, long updateMillis) {
+        UserPoint userPoint = current.userPoint();
+        return new BalanceChange(userPoint.id(), current.version(), type.apply(userPoint.point(), amount), type, amount, updateMillis);
+    }
+
+    public UserPoint userPoint() {
+        return new UserPoint(userId, point, updateMillis);
+    }
+}
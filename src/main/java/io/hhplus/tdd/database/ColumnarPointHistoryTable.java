@@ -0,0 +1,90 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link PointHistoryTable} 과 같은 공개 API 를 가지면서, 내역을 열(column)별 원시 타입 배열에 보관하는 저장소입니다.
+ * <p>
+ * 내역마다 {@link PointHistory} 객체를 두지 않고 userId, amount, updateMillis 는 {@link PackedLongArray} 에,
+ * type 은 byte 배열에 나눠 저장하고 조회할 때만 객체를 만듭니다. id 는 추가 순서(1 부터)이므로 저장하지 않습니다.
+ * 값의 범위가 좁으면 내역당 약 13 byte 를 사용합니다.
+ * 메모리 저장소이므로 {@link PointHistoryTable} 의 지연(throttle)은 두지 않습니다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "point.history.store", havingValue = "columnar")
+public class ColumnarPointHistoryTable extends PointHistoryTable {
+
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        int index = size;
+        int chunkIndex = index >>> CHUNK_SHIFT;
+
+        Chunk[] current = chunks;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[chunkIndex] = new Chunk();
+        }
+        current[chunkIndex].set(index & (CHUNK_SIZE - 1), userId, amount, type, updateMillis);
+
+        // chunks, size 순서로 발행해야 size 를 읽은 조회 스레드가 값을 볼 수 있다.
+        chunks = current;
+        size = index + 1;
+        return new PointHistory(index + 1L, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        int limit = size;
+        Chunk[] current = chunks;
+
+        List<PointHistory> histories = new ArrayList<>();
+        for (int index = 0; index < limit; index++) {
+            Chunk chunk = current[index >>> CHUNK_SHIFT];
+            int offset = index & (CHUNK_SIZE - 1);
+            if (chunk.userIds.matches(offset, userId)) {
+                histories.add(chunk.toPointHistory(index, offset));
+            }
+        }
+        return histories;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class Chunk {
+
+        private final PackedLongArray userIds = new PackedLongArray(CHUNK_SIZE);
+        private final PackedLongArray amounts = new PackedLongArray(CHUNK_SIZE);
+        private final PackedLongArray updateMillis = new PackedLongArray(CHUNK_SIZE);
+        private final byte[] types = new byte[CHUNK_SIZE];
+
+        private void set(int offset, long userId, long amount, TransactionType type, long millis) {
+            userIds.set(offset, userId);
+            amounts.set(offset, amount);
+            updateMillis.set(offset, millis);
+            types[offset] = (byte) type.ordinal();
+        }
+
+        private PointHistory toPointHistory(int index, int offset) {
+            return new PointHistory(index + 1L, userIds.get(offset), amounts.get(offset), TYPES[types[offset]], updateMillis.get(offset));
+        }
+    }
+}
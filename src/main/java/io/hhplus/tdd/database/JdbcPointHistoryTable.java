@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link PointHistoryTable} 과 같은 공개 API 로 내역을 {@link JdbcPointStore} 의 point_history 테이블에 저장합니다.
+ * <p>
+ * 추가는 동시에 들어온 다른 요청의 기록과 한 트랜잭션으로 묶여 커밋된 뒤, DB 가 발급한 id 로 반환합니다.
+ * {@code point.history.store} 설정과 함께 쓸 수 없습니다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "point.jdbc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JdbcPointHistoryTable extends PointHistoryTable {
+
+    private final JdbcPointStore jdbcPointStore;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return jdbcPointStore.insertHistory(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return jdbcPointStore.selectHistories(userId);
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 DB 에 저장된 내역으로 {@link PointHistoryRepository} 의 사용자별 인덱스와 집계를 다시 만듭니다.
+ * <p>
+ * 잔고는 {@link JdbcUserPointTable} 이 조회할 때 DB 에서 읽으므로 따로 복구하지 않습니다.
+ * 인덱스가 모두 만들어진 뒤 요청을 받도록 기동 중에 끝까지 읽습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.jdbc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JdbcPointRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcPointRecovery.class);
+
+    private final JdbcPointStore jdbcPointStore;
+    private final PointHistoryRepository pointHistoryRepository;
+
+    @PostConstruct
+    public void recover() {
+        long[] historyCount = new long[1];
+        jdbcPointStore.forEachHistory(pointHistory -> {
+            pointHistoryRepository.index(pointHistory);
+            historyCount[0]++;
+        });
+        log.info("DB 에 저장된 포인트 내역 {}건으로 인덱스를 복구했습니다.", historyCount[0]);
+    }
+}
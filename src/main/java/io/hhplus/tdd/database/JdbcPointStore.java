@@ -0,0 +1,525 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 잔고(user_point)와 내역(point_history)을 JDBC 로 저장합니다.
+ * <p>
+ * 쓰기는 호출한 스레드에서 바로 실행하지 않고 큐에 넣으며, 한 스레드가 {@code batchWindow} 동안 모인 쓰기를
+ * JDBC batch 로 묶어 한 트랜잭션으로 커밋합니다(group commit). 동시에 들어온 요청들이 커밋 한 번을 나눠 쓰고,
+ * 각 호출은 자신의 쓰기가 커밋된 뒤 반환합니다.
+ * 잔고 행은 쓸 때마다 version 을 올리므로, {@link #compareAndSet(List)} 는 읽은 뒤 다른 쓰기가 없었을 때만 반영합니다.
+ * 여러 노드가 같은 DB 를 쓸 때는 JVM 의 사용자 락 대신 이 version 으로 동시 변경을 막습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.jdbc.enabled", havingValue = "true")
+public class JdbcPointStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcPointStore.class);
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS user_point (
+                id BIGINT PRIMARY KEY,
+                point BIGINT NOT NULL,
+                version BIGINT NOT NULL,
+                update_millis BIGINT NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS point_history (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                user_id BIGINT NOT NULL,
+                amount BIGINT NOT NULL,
+                type VARCHAR(16) NOT NULL,
+                update_millis BIGINT NOT NULL
+            )""",
+            "CREATE INDEX IF NOT EXISTS point_history_user_id_idx ON point_history (user_id, id)"
+    };
+
+    private static final String SELECT_BALANCE = "SELECT point, version, update_millis FROM user_point WHERE id = ?";
+
+    private static final String SELECT_HISTORIES =
+            "SELECT id, user_id, amount, type, update_millis FROM point_history WHERE user_id = ? ORDER BY id";
+
+    private static final String SELECT_ALL_HISTORIES =
+            "SELECT id, user_id, amount, type, update_millis FROM point_history ORDER BY id";
+
+    private static final String UPSERT_BALANCE = """
+            MERGE INTO user_point t
+            USING (SELECT CAST(? AS BIGINT) id, CAST(? AS BIGINT) point, CAST(? AS BIGINT) update_millis) s
+            ON t.id = s.id
+            WHEN MATCHED THEN UPDATE SET point = s.point, version = t.version + 1, update_millis = s.update_millis
+            WHEN NOT MATCHED THEN INSERT (id, point, version, update_millis) VALUES (s.id, s.point, 1, s.update_millis)""";
+
+    // 행이 없으면 기대 version 이 0 일 때만 넣으므로, 처음 쓰는 사용자도 같은 규칙으로 충돌을 판단한다.
+    private static final String COMPARE_AND_SET_BALANCE = """
+            MERGE INTO user_point t
+            USING (SELECT CAST(? AS BIGINT) id, CAST(? AS BIGINT) point, CAST(? AS BIGINT) expected, CAST(? AS BIGINT) update_millis) s
+            ON t.id = s.id
+            WHEN MATCHED AND t.version = s.expected THEN UPDATE SET point = s.point, version = t.version + 1, update_millis = s.update_millis
+            WHEN NOT MATCHED AND s.expected = 0 THEN INSERT (id, point, version, update_millis) VALUES (s.id, s.point, 1, s.update_millis)""";
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO point_history (user_id, amount, type, update_millis) VALUES (?, ?, ?, ?)";
+
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final DataSource dataSource;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+
+    private final LinkedBlockingQueue<Write> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile Consumer<PointHistory> compareAndSetListener = pointHistory -> {
+    };
+
+    // closed 를 바꾸는 것과 큐에 넣는 것을 같은 모니터로 묶어, 종료한 뒤에는 큐에 쓰기가 남지 않게 한다.
+    private boolean closed;
+
+    public JdbcPointStore(DataSource dataSource, PointJdbcProperties properties) {
+        this.dataSource = dataSource;
+        this.batchWindowNanos = properties.batchWindow().toNanos();
+        this.maxBatchSize = properties.maxBatchSize();
+        createSchema();
+
+        this.writer = new Thread(this::runWriter, "point-jdbc-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public VersionedUserPoint selectBalance(long userId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BALANCE)) {
+            statement.setLong(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return new VersionedUserPoint(UserPoint.empty(userId), 0L);
+                }
+                UserPoint userPoint = new UserPoint(userId, resultSet.getLong("point"), resultSet.getLong("update_millis"));
+                return new VersionedUserPoint(userPoint, resultSet.getLong("version"));
+            }
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    public List<PointHistory> selectHistories(long userId) {
+        List<PointHistory> histories = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_HISTORIES)) {
+            statement.setLong(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    histories.add(toPointHistory(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+        return histories;
+    }
+
+    /**
+     * 모든 내역을 id 순서대로 읽어 전달합니다. 목록을 만들지 않으므로 메모리 사용량이 내역 수와 무관합니다.
+     */
+    public void forEachHistory(Consumer<PointHistory> consumer) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_HISTORIES)) {
+            statement.setFetchSize(1_000);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(toPointHistory(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * 잔고를 version 과 관계없이 기록하고, 커밋된 뒤 반환합니다. 사용자 락으로 변경을 직렬화하는 엔진에서 사용합니다.
+     */
+    public UserPoint upsertBalance(long userId, long point) {
+        BalanceWrite write = new BalanceWrite(new UserPoint(userId, point, System.currentTimeMillis()), new CompletableFuture<>());
+        return submit(write, write.result());
+    }
+
+    /**
+     * 내역을 추가하고, 커밋된 뒤 DB 가 발급한 id 로 반환합니다.
+     */
+    public PointHistory insertHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        HistoryWrite write = new HistoryWrite(new PointHistory(0L, userId, amount, type, updateMillis), new CompletableFuture<>());
+        return submit(write, write.result());
+    }
+
+    /**
+     * 모든 잔고 행의 version 이 기대한 값 그대로일 때만 잔고와 내역을 한 트랜잭션으로 반영합니다.
+     * 반영된 내역은 커밋 순서대로 {@link #onCompareAndSetCommitted(Consumer)} 로 등록한 리스너에 전달한 뒤 반환합니다.
+     *
+     * @return 반영했으면 true, 다른 쓰기와 충돌해 아무것도 반영하지 않았으면 false
+     */
+    public boolean compareAndSet(List<BalanceChange> changes) {
+        CompareAndSetWrite write = new CompareAndSetWrite(List.copyOf(changes), new CompletableFuture<>());
+        return submit(write, write.result());
+    }
+
+    /**
+     * {@link #compareAndSet(List)} 로 반영된 내역을 받을 리스너를 등록합니다. 쓰기 스레드에서 커밋 순서대로 호출됩니다.
+     */
+    public void onCompareAndSetCommitted(Consumer<PointHistory> listener) {
+        this.compareAndSetListener = listener;
+    }
+
+    /**
+     * 이미 큐에 들어온 쓰기를 모두 커밋한 뒤 종료합니다.
+     */
+    @PreDestroy
+    public void close() {
+        synchronized (queue) {
+            closed = true;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T submit(Write write, CompletableFuture<T> result) {
+        synchronized (queue) {
+            if (closed) {
+                throw new DataAccessResourceFailureException("포인트 저장소가 종료되었습니다.");
+            }
+            queue.add(write);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void runWriter() {
+        List<Write> batch = new ArrayList<>(maxBatchSize);
+        while (!isClosed() || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 큐에 남은 쓰기를 모두 커밋해야 하므로 중단하지 않는다.
+                log.warn("포인트 저장 스레드가 인터럽트되었습니다.");
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean isClosed() {
+        synchronized (queue) {
+            return closed;
+        }
+    }
+
+    /**
+     * 첫 쓰기가 도착한 뒤 {@code batchWindow} 동안 들어온 쓰기를 {@code maxBatchSize} 까지 모읍니다.
+     */
+    private void collect(List<Write> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                return;
+            }
+            Write next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Write> batch) {
+        List<Runnable> completions;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                completions = execute(connection, batch);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.error("포인트 쓰기 {}건을 커밋하지 못했습니다.", batch.size(), e);
+            RuntimeException failure = e instanceof SQLException sqlException ? failure(sqlException) : (RuntimeException) e;
+            batch.forEach(write -> write.fail(failure));
+            return;
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * 모든 쓰기를 statement 별 JDBC batch 로 실행합니다. 한 건이 실패해 batch 전체가 실패하거나,
+     * 여러 잔고 행을 바꾸는 쓰기가 일부 행에서만 충돌하면 되돌린 뒤 한 건씩 다시 실행합니다.
+     */
+    private List<Runnable> execute(Connection connection, List<Write> batch) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            List<Runnable> completions = executeBatched(connection, batch);
+            if (completions != null) {
+                return completions;
+            }
+        } catch (SQLException e) {
+            log.debug("포인트 쓰기 batch 를 한 건씩 다시 실행합니다.", e);
+        }
+        connection.rollback(savepoint);
+
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        for (Write write : batch) {
+            Savepoint each = connection.setSavepoint();
+            try {
+                List<Runnable> completion = executeBatched(connection, List.of(write));
+                if (completion != null) {
+                    completions.addAll(completion);
+                    continue;
+                }
+                connection.rollback(each);
+                completions.add(() -> write.fail(null));
+            } catch (SQLException e) {
+                connection.rollback(each);
+                // 다른 노드가 같은 사용자의 첫 잔고 행을 먼저 넣은 경우(무결성 제약 위반)는 충돌로 본다.
+                SQLException error = e;
+                completions.add(() -> write.fail(isIntegrityViolation(error) ? null : failure(error)));
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * @return 커밋한 뒤 실행할 결과 전달 작업. 여러 행을 바꾸는 쓰기가 일부 행에서만 충돌했으면 null
+     */
+    private List<Runnable> executeBatched(Connection connection, List<Write> writes) throws SQLException {
+        List<BalanceWrite> balanceWrites = new ArrayList<>();
+        List<HistoryWrite> historyWrites = new ArrayList<>();
+        List<CompareAndSetWrite> compareAndSetWrites = new ArrayList<>();
+        for (Write write : writes) {
+            if (write instanceof BalanceWrite balanceWrite) {
+                balanceWrites.add(balanceWrite);
+            } else if (write instanceof HistoryWrite historyWrite) {
+                historyWrites.add(historyWrite);
+            } else if (write instanceof CompareAndSetWrite compareAndSetWrite) {
+                compareAndSetWrites.add(compareAndSetWrite);
+            }
+        }
+
+        boolean[] applied = compareAndSetBalances(connection, compareAndSetWrites);
+        if (applied == null) {
+            return null;
+        }
+        upsertBalances(connection, balanceWrites);
+
+        List<PointHistory> histories = new ArrayList<>();
+        historyWrites.forEach(write -> histories.add(write.pointHistory()));
+        for (int i = 0; i < compareAndSetWrites.size(); i++) {
+            if (applied[i]) {
+                compareAndSetWrites.get(i).changes().forEach(change -> histories.add(toPointHistory(change)));
+            }
+        }
+        List<PointHistory> inserted = insertHistories(connection, histories);
+
+        List<Runnable> completions = new ArrayList<>(writes.size());
+        balanceWrites.forEach(write -> completions.add(() -> write.result().complete(write.userPoint())));
+        for (int i = 0; i < historyWrites.size(); i++) {
+            HistoryWrite write = historyWrites.get(i);
+            PointHistory pointHistory = inserted.get(i);
+            completions.add(() -> write.result().complete(pointHistory));
+        }
+        int offset = historyWrites.size();
+        for (int i = 0; i < compareAndSetWrites.size(); i++) {
+            CompareAndSetWrite write = compareAndSetWrites.get(i);
+            if (!applied[i]) {
+                completions.add(() -> write.result().complete(false));
+                continue;
+            }
+            List<PointHistory> committed = inserted.subList(offset, offset + write.changes().size());
+            offset += write.changes().size();
+            completions.add(() -> {
+                committed.forEach(compareAndSetListener);
+                write.result().complete(true);
+            });
+        }
+        return completions;
+    }
+
+    private boolean[] compareAndSetBalances(Connection connection, List<CompareAndSetWrite> writes) throws SQLException {
+        boolean[] applied = new boolean[writes.size()];
+        if (writes.isEmpty()) {
+            return applied;
+        }
+
+        int[] counts;
+        try (PreparedStatement statement = connection.prepareStatement(COMPARE_AND_SET_BALANCE)) {
+            for (CompareAndSetWrite write : writes) {
+                for (BalanceChange change : write.changes()) {
+                    statement.setLong(1, change.userId());
+                    statement.setLong(2, change.point());
+                    statement.setLong(3, change.expectedVersion());
+                    statement.setLong(4, change.updateMillis());
+                    statement.addBatch();
+                }
+            }
+            counts = statement.executeBatch();
+        }
+
+        int row = 0;
+        for (int i = 0; i < writes.size(); i++) {
+            int changedRows = 0;
+            int rows = writes.get(i).changes().size();
+            for (int j = 0; j < rows; j++) {
+                if (counts[row++] != 0) {
+                    changedRows++;
+                }
+            }
+            if (changedRows != 0 && changedRows != rows) {
+                return null;
+            }
+            applied[i] = changedRows == rows;
+        }
+        return applied;
+    }
+
+    private void upsertBalances(Connection connection, List<BalanceWrite> writes) throws SQLException {
+        if (writes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_BALANCE)) {
+            for (BalanceWrite write : writes) {
+                statement.setLong(1, write.userPoint().id());
+                statement.setLong(2, write.userPoint().point());
+                statement.setLong(3, write.userPoint().updateMillis());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private List<PointHistory> insertHistories(Connection connection, List<PointHistory> histories) throws SQLException {
+        if (histories.isEmpty()) {
+            return List.of();
+        }
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_HISTORY, Statement.RETURN_GENERATED_KEYS)) {
+            for (PointHistory history : histories) {
+                statement.setLong(1, history.userId());
+                statement.setLong(2, history.amount());
+                statement.setString(3, history.type().name());
+                statement.setLong(4, history.updateMillis());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (PointHistory history : histories) {
+                    if (!keys.next()) {
+                        throw new SQLException("발급된 내역 id 수가 추가한 내역 수보다 적습니다.");
+                    }
+                    inserted.add(new PointHistory(keys.getLong(1), history.userId(), history.amount(), history.type(), history.updateMillis()));
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private void createSchema() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    private static PointHistory toPointHistory(ResultSet resultSet) throws SQLException {
+        return new PointHistory(resultSet.getLong("id"), resultSet.getLong("user_id"), resultSet.getLong("amount"),
+                TransactionType.valueOf(resultSet.getString("type")), resultSet.getLong("update_millis"));
+    }
+
+    private static PointHistory toPointHistory(BalanceChange change) {
+        return new PointHistory(0L, change.userId(), change.amount(), change.type(), change.updateMillis());
+    }
+
+    private static boolean isIntegrityViolation(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    private static DataAccessResourceFailureException failure(SQLException e) {
+        return new DataAccessResourceFailureException("포인트를 저장소에서 읽거나 쓰지 못했습니다.", e);
+    }
+
+    private sealed interface Write permits BalanceWrite, HistoryWrite, CompareAndSetWrite {
+
+        /**
+         * @param error null 이면 충돌로 반영하지 않았음을 뜻합니다.
+         */
+        void fail(RuntimeException error);
+    }
+
+    private record BalanceWrite(UserPoint userPoint, CompletableFuture<UserPoint> result) implements Write {
+
+        @Override
+        public void fail(RuntimeException error) {
+            result.completeExceptionally(error != null ? error : new DataAccessResourceFailureException("잔고를 기록하지 못했습니다."));
+        }
+    }
+
+    private record HistoryWrite(PointHistory pointHistory, CompletableFuture<PointHistory> result) implements Write {
+
+        @Override
+        public void fail(RuntimeException error) {
+            result.completeExceptionally(error != null ? error : new DataAccessResourceFailureException("내역을 기록하지 못했습니다."));
+        }
+    }
+
+    private record CompareAndSetWrite(List<BalanceChange> changes, CompletableFuture<Boolean> result) implements Write {
+
+        @Override
+        public void fail(RuntimeException error) {
+            if (error == null) {
+                result.complete(false);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
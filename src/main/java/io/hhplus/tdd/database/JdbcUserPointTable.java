@@ -0,0 +1,32 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link UserPointTable} 과 같은 공개 API 로 잔고를 {@link JdbcPointStore} 의 user_point 테이블에 저장합니다.
+ * <p>
+ * 기록은 동시에 들어온 다른 요청의 기록과 한 트랜잭션으로 묶여 커밋된 뒤 반환합니다.
+ * {@link UserPointTable} 의 지연(throttle)은 두지 않습니다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "point.jdbc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JdbcUserPointTable extends UserPointTable {
+
+    private final JdbcPointStore jdbcPointStore;
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return jdbcPointStore.selectBalance(id).userPoint();
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return jdbcPointStore.upsertBalance(id, amount);
+    }
+}
@@ -0,0 +1,491 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑한 세그먼트 파일에 고정 길이 레코드를 이어 붙이는 WAL 입니다.
+ * <p>
+ * 레코드(32 byte) : userId(8) | amount(8) | updateMillis(8) | type(1) | padding(3) | crc32c(4)
+ * type 은 {@link TransactionType} 의 순서 + 1 이며, 사용자를 다른 노드로 옮긴 기록은 {@code MOVE_OUT_TYPE} 입니다.
+ * <p>
+ * 세그먼트 파일은 미리 0 으로 채워진 크기로 만들어 두고, type 이 0 이거나 crc 가 맞지 않는 첫 레코드를 끝으로 봅니다.
+ * 기록 도중 중단되어 일부만 쓰인 마지막 레코드는 복구 시 버려지고 다음 기록이 그 자리를 덮어씁니다.
+ * sync 모드에서는 기록한 스레드가 force 를 기다리며, 한 스레드가 force 하는 동안 쌓인 기록은 다음 force 한 번으로 함께 반영됩니다.
+ * 가득 찬 세그먼트는 기록 스레드가 직접 반영하지 않고 다음 force 가 현재 세그먼트보다 먼저 반영합니다.
+ * 세그먼트는 열 때와 새로 만들 때 한 번만 매핑하고, 재생할 때도 그 목록을 그대로 사용합니다.
+ * force(msync)와 세그먼트 매핑은 오래 걸리므로 가상 스레드가 캐리어 스레드를 붙잡지 않도록 {@code synchronized} 대신 {@link ReentrantLock} 을 사용합니다.
+ * <p>
+ * 스냅샷에 모두 담긴 세그먼트는 archive 디렉터리로 옮기거나 삭제합니다. 옮긴 세그먼트는 매핑하지 않고 내역을 재생할 때만 순서대로 읽습니다.
+ * <p>
+ * 기록과 같은 순서로 사용자별 잔고({@link PointBalanceLedger})도 함께 갱신해 잔고 스냅샷의 기준으로 사용합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+public class MappedPointWriteAheadLog implements PointWriteAheadLog {
+
+    static final int RECORD_SIZE = 32;
+
+    private static final int CRC_OFFSET = 28;
+    private static final byte MOVE_OUT_TYPE = Byte.MAX_VALUE;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String ARCHIVE_DIRECTORY = "archive";
+    private static final int ARCHIVE_READ_RECORDS = 4096;
+
+    private final Path directory;
+    private final Path archiveDirectory;
+    private final int segmentRecords;
+    private final boolean sync;
+    private final boolean archiveSegments;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final PointBalanceLedger ledger = new PointBalanceLedger();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    // appendLock 으로 보호된다.
+    private final Queue<Segment> rolled = new ArrayDeque<>();
+    private Segment current;
+    private int position;
+    private long nextLsn;
+
+    private volatile long durableLsn;
+
+    public MappedPointWriteAheadLog(PointWalProperties properties) {
+        this.directory = properties.directory();
+        this.archiveDirectory = directory.resolve(ARCHIVE_DIRECTORY);
+        this.segmentRecords = (int) Math.max(1, Math.min(properties.segmentSize().toBytes(), Integer.MAX_VALUE) / RECORD_SIZE);
+        this.sync = properties.sync();
+        this.archiveSegments = properties.archiveSegments();
+        open();
+    }
+
+    @Override
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        return write(encode(userId, amount, (byte) (type.ordinal() + 1), updateMillis),
+                lsn -> new PointWalRecord(lsn, userId, amount, type, updateMillis));
+    }
+
+    @Override
+    public long appendMoveOut(long userId, long point, long updateMillis) {
+        return write(encode(userId, point, MOVE_OUT_TYPE, updateMillis),
+                lsn -> PointWalRecord.moveOut(lsn, userId, point, updateMillis));
+    }
+
+    private long write(byte[] record, LongFunction<PointWalRecord> toRecord) {
+        long lsn;
+        appendLock.lock();
+        try {
+            if (position == current.capacity()) {
+                roll();
+            }
+            current.buffer().put(position * RECORD_SIZE, record);
+            position++;
+            lsn = nextLsn++;
+            ledger.apply(toRecord.apply(lsn));
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (sync) {
+            awaitDurable(lsn);
+        }
+        return lsn;
+    }
+
+    @Override
+    public void replay(Consumer<PointWalRecord> consumer) {
+        replay(1L, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * lsn 이 fromLsn 이상 toLsn 이하인 기록만 전달합니다. fromLsn 이전의 세그먼트는 읽지 않습니다.
+     * fromLsn 이 남아 있는 첫 세그먼트보다 앞서면 archive 디렉터리로 옮긴 세그먼트부터 읽습니다.
+     */
+    public void replay(long fromLsn, long toLsn, Consumer<PointWalRecord> consumer) {
+        // 재생하는 동안 세그먼트를 옮겨도 빠뜨리거나 두 번 읽지 않도록 시작할 때의 목록을 기준으로 나눈다.
+        List<Segment> live = List.copyOf(segments);
+        long firstLiveLsn = live.get(0).baseLsn();
+        if (fromLsn < firstLiveLsn) {
+            replayArchived(fromLsn, Math.min(toLsn, firstLiveLsn - 1), consumer);
+        }
+        for (Segment segment : live) {
+            if (segment.baseLsn() + segment.capacity() <= fromLsn) {
+                continue;
+            }
+            if (segment.baseLsn() > toLsn) {
+                return;
+            }
+            for (int slot = (int) Math.max(0L, fromLsn - segment.baseLsn()); slot < segment.capacity(); slot++) {
+                PointWalRecord record = decode(segment, slot);
+                if (record == null || record.lsn() > toLsn) {
+                    break;
+                }
+                consumer.accept(record);
+            }
+        }
+    }
+
+    public long lastLsn() {
+        appendLock.lock();
+        try {
+            return nextLsn - 1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷과 그 이후의 기록으로 사용자별 잔고를 복구합니다. 기동 시 기록을 받기 전에 한 번 호출합니다.
+     */
+    public void restoreBalances(PointBalanceSnapshot snapshot) {
+        ledger.load(snapshot);
+        replay(snapshot.watermark() + 1, lastLsn(), ledger::apply);
+    }
+
+    /**
+     * 기록을 멈추지 않고 잔고 스냅샷을 만듭니다.
+     * 복사를 시작할 때의 lsn 을 watermark 로 삼고, 복사하는 동안 반영된 이후의 기록은 항목의 lsn 으로 구분합니다.
+     * 스냅샷에 담긴 기록이 모두 디스크에 반영된 뒤 반환합니다.
+     */
+    public PointBalanceSnapshot captureBalances() {
+        long watermark = lastLsn();
+        List<PointBalanceSnapshot.Entry> entries = ledger.entries();
+        force();
+        return new PointBalanceSnapshot(watermark, entries);
+    }
+
+    /**
+     * 모든 기록의 lsn 이 watermark 이하인 세그먼트를 archive 디렉터리로 옮기거나, archiveSegments 가 false 이면 삭제합니다.
+     * 기록 중인 세그먼트는 남기며, 스냅샷을 파일에 기록한 뒤 호출해야 합니다.
+     *
+     * @return 옮기거나 삭제한 세그먼트 수
+     */
+    public int archiveSegments(long watermark) {
+        Segment active;
+        appendLock.lock();
+        try {
+            active = current;
+        } finally {
+            appendLock.unlock();
+        }
+
+        int archived = 0;
+        try {
+            for (Segment segment : segments) {
+                if (segment == active || segment.baseLsn() + segment.capacity() - 1 > watermark) {
+                    break;
+                }
+                if (archiveSegments) {
+                    Files.createDirectories(archiveDirectory);
+                    Files.move(segment.path(), archiveDirectory.resolve(segment.path().getFileName()), StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    Files.deleteIfExists(segment.path());
+                }
+                segments.remove(segment);
+                archived++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return archived;
+    }
+
+    public List<PointBalanceSnapshot.Entry> balances() {
+        return ledger.entries();
+    }
+
+    /**
+     * 아직 디스크에 반영되지 않은 기록을 모두 반영합니다.
+     */
+    public void force() {
+        awaitDurable(lastLsn());
+    }
+
+    @PreDestroy
+    public void close() {
+        force();
+    }
+
+    /**
+     * 먼저 도착한 스레드가 그때까지 기록된 전체를 force 하고, 그동안 기다린 스레드는 이미 반영된 것을 확인하고 돌아간다.
+     */
+    private void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (durableLsn >= lsn) {
+                return;
+            }
+            Segment segment;
+            int end;
+            long target;
+            List<Segment> full;
+            appendLock.lock();
+            try {
+                segment = current;
+                end = position;
+                target = nextLsn - 1;
+                full = List.copyOf(rolled);
+            } finally {
+                appendLock.unlock();
+            }
+            for (Segment fullSegment : full) {
+                forceUpTo(fullSegment, fullSegment.capacity());
+            }
+            forceUpTo(segment, end);
+            if (!full.isEmpty()) {
+                appendLock.lock();
+                try {
+                    for (int i = 0; i < full.size(); i++) {
+                        rolled.remove();
+                    }
+                } finally {
+                    appendLock.unlock();
+                }
+            }
+            durableLsn = target;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * forceLock 을 잡은 상태에서 호출한다.
+     */
+    private static void forceUpTo(Segment segment, int end) {
+        int from = segment.forcedPosition;
+        if (end > from) {
+            segment.buffer().force(from * RECORD_SIZE, (end - from) * RECORD_SIZE);
+            segment.forcedPosition = end;
+        }
+    }
+
+    /**
+     * 가득 찬 세그먼트는 다음 force 에 넘기고 다음 세그먼트를 만든다. appendLock 을 잡은 상태에서 호출한다.
+     */
+    private void roll() {
+        rolled.add(current);
+        current = createSegment(current.baseLsn() + current.capacity());
+        segments.add(current);
+        position = 0;
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        segments.addAll(mapSegments());
+        if (segments.isEmpty()) {
+            current = createSegment(1L);
+            segments.add(current);
+            position = 0;
+        } else {
+            current = segments.get(segments.size() - 1);
+            position = 0;
+            while (position < current.capacity() && decode(current, position) != null) {
+                position++;
+            }
+            clearTail(current, position);
+        }
+        current.forcedPosition = position;
+        nextLsn = current.baseLsn() + position;
+        durableLsn = nextLsn - 1;
+    }
+
+    /**
+     * 디스크 반영 순서는 보장되지 않으므로 끊긴 레코드 뒤에 남은 기록이 나중에 다시 재생되지 않도록 지운다.
+     */
+    private void clearTail(Segment segment, int from) {
+        byte[] empty = new byte[RECORD_SIZE];
+        for (int slot = from; slot < segment.capacity(); slot++) {
+            segment.buffer().put(slot * RECORD_SIZE, empty);
+        }
+        segment.buffer().force();
+    }
+
+    private void replayArchived(long fromLsn, long toLsn, Consumer<PointWalRecord> consumer) {
+        if (!Files.isDirectory(archiveDirectory)) {
+            return;
+        }
+        for (Path path : segmentFiles(archiveDirectory)) {
+            long baseLsn = baseLsnOf(path);
+            if (baseLsn > toLsn) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long records = channel.size() / RECORD_SIZE;
+                if (baseLsn + records <= fromLsn) {
+                    continue;
+                }
+                ByteBuffer chunk = ByteBuffer.allocate(RECORD_SIZE * ARCHIVE_READ_RECORDS);
+                for (long slot = 0; slot < records; slot += ARCHIVE_READ_RECORDS) {
+                    chunk.clear();
+                    while (chunk.hasRemaining() && channel.read(chunk, slot * RECORD_SIZE + chunk.position()) > 0) {
+                        // 요청한 만큼 읽힐 때까지 이어서 읽는다.
+                    }
+                    int count = chunk.position() / RECORD_SIZE;
+                    for (int i = 0; i < count; i++) {
+                        long lsn = baseLsn + slot + i;
+                        if (lsn < fromLsn) {
+                            continue;
+                        }
+                        PointWalRecord record = decode(chunk, i, lsn);
+                        if (record == null || lsn > toLsn) {
+                            return;
+                        }
+                        consumer.accept(record);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private List<Segment> mapSegments() {
+        try {
+            List<Path> paths = segmentFiles(directory);
+            List<Segment> mapped = new ArrayList<>(paths.size());
+            for (Path path : paths) {
+                mapped.add(map(path, baseLsnOf(path), Files.size(path)));
+            }
+            return mapped;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Path> segmentFiles(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Segment createSegment(long baseLsn) {
+        Path path = directory.resolve(String.format("%020d%s", baseLsn, SEGMENT_SUFFIX));
+        return map(path, baseLsn, (long) segmentRecords * RECORD_SIZE);
+    }
+
+    private Segment map(Path path, long baseLsn, long size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, baseLsn, buffer, (int) (size / RECORD_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long baseLsnOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(long userId, long amount, byte type, long updateMillis) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putLong(userId);
+        buffer.putLong(amount);
+        buffer.putLong(updateMillis);
+        buffer.put(type);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, CRC_OFFSET);
+        buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static PointWalRecord decode(Segment segment, int slot) {
+        return decode(segment.buffer(), slot, segment.baseLsn() + slot);
+    }
+
+    private static PointWalRecord decode(ByteBuffer source, int slot, long lsn) {
+        byte[] record = new byte[RECORD_SIZE];
+        source.get(slot * RECORD_SIZE, record);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+
+        int type = buffer.get(24);
+        if ((type <= 0 || type > TransactionType.values().length) && type != MOVE_OUT_TYPE) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record, 0, CRC_OFFSET);
+        if (buffer.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+            return null;
+        }
+        if (type == MOVE_OUT_TYPE) {
+            return PointWalRecord.moveOut(lsn, buffer.getLong(0), buffer.getLong(8), buffer.getLong(16));
+        }
+        return new PointWalRecord(
+                lsn,
+                buffer.getLong(0),
+                buffer.getLong(8),
+                TransactionType.values()[type - 1],
+                buffer.getLong(16)
+        );
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long baseLsn;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+
+        // forceLock 으로 보호된다.
+        private int forcedPosition;
+
+        private Segment(Path path, long baseLsn, MappedByteBuffer buffer, int capacity) {
+            this.path = path;
+            this.baseLsn = baseLsn;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        long baseLsn() {
+            return baseLsn;
+        }
+
+        MappedByteBuffer buffer() {
+            return buffer;
+        }
+
+        int capacity() {
+            return capacity;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * WAL 을 사용하지 않을 때의 구현입니다. 아무것도 기록하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.wal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoopPointWriteAheadLog implements PointWriteAheadLog {
+
+    @Override
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        return NO_LSN;
+    }
+
+    @Override
+    public long appendMoveOut(long userId, long point, long updateMillis) {
+        return NO_LSN;
+    }
+
+    @Override
+    public void replay(Consumer<PointWalRecord> consumer) {
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 고정 크기의 long 배열을 첫 값과의 차이(int)로 저장합니다. 차이가 int 범위를 벗어나면 long 배열로 바꿔 저장합니다.
+ * <p>
+ * 사용자 ID, 금액, 시각처럼 한 청크 안에서 값의 범위가 좁은 열은 원소당 4 byte 만 사용합니다.
+ * 쓰기는 한 스레드만 수행하고, 읽기 스레드는 소유 객체의 volatile 필드를 통해 발행된 위치까지만 읽어야 합니다.
+ * long 배열로 바꾼 뒤에도 기존 int 배열은 수정하지 않으므로 이전 배열을 읽던 스레드도 올바른 값을 읽습니다.
+ */
+final class PackedLongArray {
+
+    private final int capacity;
+    private long base;
+    private int[] packed;
+    private long[] wide;
+
+    PackedLongArray(int capacity) {
+        this.capacity = capacity;
+        this.packed = new int[capacity];
+    }
+
+    void set(int index, long value) {
+        if (wide != null) {
+            wide[index] = value;
+            return;
+        }
+        if (index == 0) {
+            base = value;
+        }
+        long delta = value - base;
+        if (delta == (int) delta) {
+            packed[index] = (int) delta;
+            return;
+        }
+
+        long[] widened = new long[capacity];
+        for (int i = 0; i < index; i++) {
+            widened[i] = base + packed[i];
+        }
+        widened[index] = value;
+        wide = widened;
+    }
+
+    long get(int index) {
+        long[] current = wide;
+        return current != null ? current[index] : base + packed[index];
+    }
+
+    /**
+     * 같은 값이 저장되어 있으면 true 를 반환합니다. int 로 저장된 경우 값을 복원하지 않고 비교합니다.
+     */
+    boolean matches(int index, long value) {
+        long[] current = wide;
+        if (current != null) {
+            return current[index] == value;
+        }
+        long delta = value - base;
+        return delta == (int) delta && packed[index] == (int) delta;
+    }
+}
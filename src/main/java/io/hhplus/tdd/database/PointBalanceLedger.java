@@ -0,0 +1,38 @@
+package io.hhplus.tdd.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WAL 에 기록된 내역을 합산한 사용자별 잔고입니다. 스냅샷을 만들 때 테이블을 조회하지 않기 위해 사용합니다.
+ * 항목은 불변이고 원자적으로 교체되므로, 기록이 계속되는 중에 순회해도 항목마다 잔고와 lsn 이 서로 맞습니다.
+ */
+final class PointBalanceLedger {
+
+    private final ConcurrentHashMap<Long, PointBalanceSnapshot.Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 이미 반영한 lsn 이하의 기록은 건너뜁니다. 다른 노드로 옮긴 기록은 잔고를 0 으로 만듭니다.
+     */
+    void apply(PointWalRecord record) {
+        entries.compute(record.userId(), (userId, entry) -> {
+            if (entry != null && entry.lsn() >= record.lsn()) {
+                return entry;
+            }
+            if (record.movedOut()) {
+                return new PointBalanceSnapshot.Entry(userId, 0L, record.updateMillis(), record.lsn());
+            }
+            long point = entry == null ? 0L : entry.point();
+            return new PointBalanceSnapshot.Entry(userId, record.type().apply(point, record.amount()), record.updateMillis(), record.lsn());
+        });
+    }
+
+    void load(PointBalanceSnapshot snapshot) {
+        snapshot.entries().forEach(entry -> entries.put(entry.userId(), entry));
+    }
+
+    List<PointBalanceSnapshot.Entry> entries() {
+        return new ArrayList<>(entries.values());
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import java.util.List;
+
+/**
+ * 사용자 잔고 스냅샷입니다.
+ * watermark 이하의 lsn 은 모두 반영되어 있고, 항목마다 자신이 반영한 마지막 lsn 을 함께 가집니다.
+ * 복구 시 watermark 이후의 WAL 만 재생하되, 항목의 lsn 이하인 기록은 이미 반영된 것으로 보고 건너뜁니다.
+ */
+public record PointBalanceSnapshot(
+        long watermark,
+        List<Entry> entries
+) {
+
+    public static final PointBalanceSnapshot EMPTY = new PointBalanceSnapshot(0L, List.of());
+
+    public record Entry(
+            long userId,
+            long point,
+            long updateMillis,
+            long lsn
+    ) {
+    }
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.database;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 사용자 잔고 스냅샷을 주기적으로 파일에 기록하고, 기동 시 마지막 스냅샷을 읽습니다.
+ * <p>
+ * 파일 : magic(4) | version(4) | watermark(8) | count(4) | entry(userId, point, updateMillis, lsn : 32) * count | crc32c(4)
+ * <p>
+ * 임시 파일에 모두 쓴 뒤 교체하므로 기록 도중 중단되어도 이전 스냅샷이 남습니다.
+ * 스냅샷을 기록한 뒤에는 watermark 이하의 기록만 담긴 세그먼트를 WAL 에서 정리합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+public class PointBalanceSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBalanceSnapshotter.class);
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final String FILE_NAME = "point-balances.snapshot";
+
+    private final MappedPointWriteAheadLog writeAheadLog;
+    private final PointWalProperties properties;
+    private final Path file;
+
+    private ScheduledExecutorService scheduler;
+
+    public PointBalanceSnapshotter(MappedPointWriteAheadLog writeAheadLog, PointWalProperties properties) {
+        this.writeAheadLog = writeAheadLog;
+        this.properties = properties;
+        this.file = properties.directory().resolve(FILE_NAME);
+    }
+
+    /**
+     * 주기적인 스냅샷 기록을 시작합니다. 잔고 복구가 끝난 뒤 호출해야 합니다.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-balance-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.snapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public PointBalanceSnapshot snapshot() {
+        PointBalanceSnapshot snapshot = writeAheadLog.captureBalances();
+        write(snapshot);
+        int archived = writeAheadLog.archiveSegments(snapshot.watermark());
+        if (archived > 0) {
+            log.debug("스냅샷에 모두 담긴 WAL 세그먼트 {}개를 정리했습니다. watermark={}", archived, snapshot.watermark());
+        }
+        return snapshot;
+    }
+
+    public Optional<PointBalanceSnapshot> load() {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)), new CRC32C());
+             DataInputStream input = new DataInputStream(checked)) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IllegalStateException("잔고 스냅샷 형식이 올바르지 않습니다. file=" + file);
+            }
+            long watermark = input.readLong();
+            int count = input.readInt();
+            List<PointBalanceSnapshot.Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new PointBalanceSnapshot.Entry(input.readLong(), input.readLong(), input.readLong(), input.readLong()));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (input.readInt() != expected) {
+                throw new IllegalStateException("잔고 스냅샷이 손상되었습니다. file=" + file);
+            }
+            return Optional.of(new PointBalanceSnapshot(watermark, entries));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 종료 시 마지막 스냅샷을 남겨 다음 기동 때 재생할 기록을 줄입니다.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.snapshotInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotQuietly();
+    }
+
+    private void write(PointBalanceSnapshot snapshot) {
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), new CRC32C());
+            try (DataOutputStream output = new DataOutputStream(checked)) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(snapshot.watermark());
+                output.writeInt(snapshot.entries().size());
+                for (PointBalanceSnapshot.Entry entry : snapshot.entries()) {
+                    output.writeLong(entry.userId());
+                    output.writeLong(entry.point());
+                    output.writeLong(entry.updateMillis());
+                    output.writeLong(entry.lsn());
+                }
+                output.writeInt((int) checked.getChecksum().getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            PointBalanceSnapshot snapshot = snapshot();
+            log.debug("잔고 스냅샷을 기록했습니다. watermark={}, users={}", snapshot.watermark(), snapshot.entries().size());
+        } catch (RuntimeException e) {
+            log.error("잔고 스냅샷 기록에 실패했습니다.", e);
+        }
+    }
+}
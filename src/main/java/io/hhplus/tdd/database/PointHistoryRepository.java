@@ -0,0 +1,293 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryPageRequest;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointRollup;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link PointHistoryTable} 의 공개 API 를 감싸 사용자별 인덱스를 함께 유지합니다.
+ * <p>
+ * 테이블의 {@code selectAllByUserId} 는 전체 내역을 매번 필터링하므로, 조회는 인덱스만 사용해 본인 내역 수에 비례하도록 합니다.
+ * 따라서 내역 추가는 반드시 이 저장소를 통해서만 수행해야 합니다.
+ * 내역은 {@link PointWriteAheadLog} 에 먼저 기록한 뒤 테이블에 추가해 재기동 시 복구할 수 있도록 합니다.
+ * WAL 을 사용하면 WAL 기록이 커밋 지점이며, 재기동 전후로 같은 id 를 갖도록 lsn 을 내역 id 로 사용합니다.
+ * 추가되거나 복구된 내역은 {@link PointRollup} 의 시간 구간별 집계에도 반영합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryRepository.class);
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+    private final PointWriteAheadLog pointWriteAheadLog;
+    private final PointRollup pointRollup;
+
+    private final ConcurrentHashMap<Long, UserHistoryLog> userHistories = new ConcurrentHashMap<>();
+
+    // 설정되면 사용자별 조회(전체, 요약, 페이지)는 인덱스 대신 이 저장소에서 읽는다.
+    private volatile LongFunction<List<PointHistory>> historySource;
+
+    // WAL 에서 내역을 복구하는 동안 아직 복구되지 않은 사용자별로 마지막 내역의 lsn 과 복구 완료를 알릴 future 를 보관한다.
+    private final ConcurrentHashMap<Long, PendingRestore> pendingRestores = new ConcurrentHashMap<>();
+
+    /**
+     * WAL 기록이 실패하면 테이블과 인덱스에는 아무것도 추가하지 않고 예외를 던집니다.
+     */
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        awaitRestored(userId);
+        PointHistory pointHistory = write(userId, amount, type, updateMillis);
+        userHistories.computeIfAbsent(userId, UserHistoryLog::new).append(pointHistory);
+        pointRollup.record(type, amount, updateMillis);
+        return pointHistory;
+    }
+
+    /**
+     * 이미 저장소에 기록된 내역을 다시 기록하지 않고 인덱스와 시간 구간별 집계에만 반영합니다. 사용자별로 id 순서대로 호출해야 합니다.
+     */
+    public void index(PointHistory pointHistory) {
+        userHistories.computeIfAbsent(pointHistory.userId(), UserHistoryLog::new).append(pointHistory);
+        pointRollup.record(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis());
+    }
+
+    /**
+     * 다른 노드에서 옮겨 온 내역을 순서대로 추가합니다. id 는 이 노드에서 새로 발급되며, 시간 구간별 집계에는 반영하지 않습니다.
+     */
+    public void importHistories(long userId, List<PointHistory> histories) {
+        awaitRestored(userId);
+        UserHistoryLog userHistoryLog = userHistories.computeIfAbsent(userId, UserHistoryLog::new);
+        for (PointHistory history : histories) {
+            userHistoryLog.append(write(userId, history.amount(), history.type(), history.updateMillis()));
+        }
+    }
+
+    /**
+     * WAL 에 먼저 기록한 뒤 테이블에 추가합니다.
+     * WAL 에 기록된 내역은 이미 커밋된 것이므로, 이후 테이블 추가가 실패해도 예외를 던지지 않고 lsn 을 id 로 한 내역을 반환합니다.
+     * 조회는 테이블을 사용하지 않으므로 누락된 테이블 행은 조회 결과에 영향이 없습니다.
+     */
+    private PointHistory write(long userId, long amount, TransactionType type, long updateMillis) {
+        long lsn = pointMetrics.recordTable(PointMetrics.TableCall.WAL_APPEND,
+                () -> pointWriteAheadLog.append(userId, amount, type, updateMillis));
+        if (lsn == PointWriteAheadLog.NO_LSN) {
+            return pointMetrics.recordTable(PointMetrics.TableCall.POINT_HISTORY_INSERT,
+                    () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+        }
+
+        try {
+            pointMetrics.recordTable(PointMetrics.TableCall.POINT_HISTORY_INSERT,
+                    () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+        } catch (RuntimeException e) {
+            log.error("WAL 에 기록된 포인트 내역을 테이블에 추가하지 못했습니다. lsn={}", lsn, e);
+        }
+        return new PointHistory(lsn, userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 다른 노드로 옮긴 사용자의 인덱스를 제거하고, 옮긴 사실을 WAL 에 기록해 재기동 후에도 잔고와 내역이 되살아나지 않도록 합니다.
+     * 테이블의 내역은 삭제할 수 없으므로 남지만 더 이상 조회되지 않습니다.
+     *
+     * @param point 옮긴 잔고
+     */
+    public void moveOut(long userId, long point, long updateMillis) {
+        awaitRestored(userId);
+        pointMetrics.recordTable(PointMetrics.TableCall.WAL_APPEND,
+                () -> pointWriteAheadLog.appendMoveOut(userId, point, updateMillis));
+        userHistories.remove(userId);
+    }
+
+    /**
+     * 내역이 있는 사용자 ID 를 반환합니다.
+     */
+    public Set<Long> userIds() {
+        return Set.copyOf(userHistories.keySet());
+    }
+
+    /**
+     * WAL 에서 내역 복구를 시작합니다. 복구가 끝날 때까지 각 사용자의 내역 조회와 추가는
+     * 그 사용자의 마지막 내역이 복구될 때까지 기다리므로, 복구된 내역 뒤에 새 내역이 추가되는 순서가 유지됩니다.
+     *
+     * @param targets 사용자별 마지막 내역의 lsn
+     */
+    void beginRestore(Map<Long, Long> targets) {
+        targets.forEach((userId, lastLsn) -> pendingRestores.put(userId, new PendingRestore(lastLsn, new CompletableFuture<>())));
+    }
+
+    /**
+     * WAL 에서 읽은 내역을 다시 기록하지 않고 인덱스와 시간 구간별 집계에만 복구합니다. lsn 순서대로 호출해야 합니다.
+     * 조회는 테이블을 사용하지 않으므로, 300ms 가 걸리는 테이블 추가를 건너뛰어 복구 시간이 WAL 을 읽는 시간에 비례하도록 합니다.
+     * 다른 노드로 옮긴 기록을 만나면 그때까지 복구한 그 사용자의 내역을 제거합니다.
+     * 사용자의 마지막 기록이 복구되면 그 사용자를 기다리던 요청을 바로 깨웁니다.
+     */
+    void restore(PointWalRecord record) {
+        if (record.movedOut()) {
+            userHistories.remove(record.userId());
+        } else {
+            PointHistory pointHistory = new PointHistory(record.lsn(), record.userId(), record.amount(), record.type(), record.updateMillis());
+            userHistories.computeIfAbsent(record.userId(), UserHistoryLog::new).append(pointHistory);
+            pointRollup.record(record.type(), record.amount(), record.updateMillis());
+        }
+        PendingRestore pending = pendingRestores.get(record.userId());
+        if (pending != null && record.lsn() >= pending.lastLsn() && pendingRestores.remove(record.userId(), pending)) {
+            pending.restored().complete(null);
+        }
+    }
+
+    /**
+     * 복구가 끝나거나 실패하면 남은 사용자를 모두 깨웁니다.
+     */
+    void finishRestore() {
+        pendingRestores.keySet().forEach(userId -> {
+            PendingRestore pending = pendingRestores.remove(userId);
+            if (pending != null) {
+                pending.restored().complete(null);
+            }
+        });
+    }
+
+    /**
+     * 모니터 대신 future 로 기다려, 가상 스레드가 사용자 락을 잡은 채 기다려도 캐리어 스레드에 고정되지 않도록 합니다.
+     */
+    private void awaitRestored(long userId) {
+        PendingRestore pending = pendingRestores.get(userId);
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.restored().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역을 복구하는 중입니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("포인트 내역을 복구하지 못했습니다.", e.getCause());
+        }
+    }
+
+    /**
+     * 사용자별 조회(전체, 요약, 페이지)를 인덱스 대신 주어진 저장소에서 읽도록 합니다.
+     * 여러 노드가 같은 저장소에 기록해 이 노드의 인덱스에 없는 내역이 있을 때 사용하며, 조회 비용은 그 사용자의 내역 수에 비례합니다.
+     * 내보내기({@link #streamAll})와 시간 구간별 집계는 계속 이 노드의 인덱스를 사용합니다.
+     */
+    public void readHistoriesFrom(LongFunction<List<PointHistory>> historySource) {
+        this.historySource = historySource;
+    }
+
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistoryLog userHistoryLog = userHistoryLogOf(userId);
+        return userHistoryLog == null ? List.of() : userHistoryLog.snapshot();
+    }
+
+    /**
+     * 내역을 추가할 때 함께 갱신한 요약을 반환합니다. 재기동 시에는 WAL 에서 내역을 복구하면서 다시 계산됩니다.
+     */
+    public PointSummary findSummaryByUserId(long userId) {
+        UserHistoryLog userHistoryLog = userHistoryLogOf(userId);
+        return userHistoryLog == null ? PointSummary.empty(userId) : userHistoryLog.summary();
+    }
+
+    /**
+     * 커서와 시간 범위로 시작 위치를 이분 탐색한 뒤 페이지 크기만큼만 읽습니다. 비용은 페이지 크기에 비례합니다.
+     */
+    public PointHistoryPage findPageByUserId(long userId, PointHistoryPageRequest request) {
+        UserHistoryLog userHistoryLog = userHistoryLogOf(userId);
+        if (userHistoryLog == null) {
+            return new PointHistoryPage(List.of(), null);
+        }
+
+        int limit = userHistoryLog.size();
+        int start = 0;
+        if (request.cursor() != null) {
+            start = userHistoryLog.firstIndexAfterId(request.cursor(), limit);
+        }
+        if (request.from() != null) {
+            start = Math.max(start, userHistoryLog.firstIndexAtOrAfterMillis(request.from(), limit));
+        }
+
+        List<PointHistory> histories = new ArrayList<>(Math.min(request.size(), limit - start));
+        int index = start;
+        while (index < limit && histories.size() < request.size()) {
+            PointHistory pointHistory = userHistoryLog.get(index);
+            if (isAfterRange(pointHistory, request)) {
+                return new PointHistoryPage(histories, null);
+            }
+            histories.add(pointHistory);
+            index++;
+        }
+
+        boolean hasNext = index < limit && !isAfterRange(userHistoryLog.get(index), request);
+        Long nextCursor = hasNext ? histories.get(histories.size() - 1).id() : null;
+        return new PointHistoryPage(histories, nextCursor);
+    }
+
+    /**
+     * 사용자별 인덱스를 순서대로 읽는 지연 스트림을 반환합니다. 목록을 미리 만들지 않으므로 메모리 사용량이 내역 수와 무관합니다.
+     * 사용자 순서는 보장하지 않으며, 한 사용자의 내역은 추가된 순서대로 반환합니다.
+     *
+     * @param userIds 조회할 사용자 ID (비어 있으면 전체 사용자)
+     * @param from    updateMillis 하한 (포함, null 이면 제한 없음)
+     * @param to      updateMillis 상한 (미포함, null 이면 제한 없음)
+     */
+    public Stream<PointHistory> streamAll(Set<Long> userIds, Long from, Long to) {
+        Stream<Long> targetUserIds = userIds == null || userIds.isEmpty()
+                ? userHistories.keySet().stream()
+                : userIds.stream();
+        return targetUserIds.flatMap(userId -> streamByUserId(userId, from, to));
+    }
+
+    private UserHistoryLog userHistoryLogOf(long userId) {
+        LongFunction<List<PointHistory>> source = historySource;
+        if (source == null) {
+            awaitRestored(userId);
+            return userHistories.get(userId);
+        }
+
+        List<PointHistory> histories = source.apply(userId);
+        if (histories.isEmpty()) {
+            return null;
+        }
+        UserHistoryLog userHistoryLog = new UserHistoryLog(userId);
+        histories.forEach(userHistoryLog::append);
+        return userHistoryLog;
+    }
+
+    private Stream<PointHistory> streamByUserId(long userId, Long from, Long to) {
+        awaitRestored(userId);
+        UserHistoryLog userHistoryLog = userHistories.get(userId);
+        if (userHistoryLog == null) {
+            return Stream.empty();
+        }
+
+        int limit = userHistoryLog.size();
+        int start = from == null ? 0 : userHistoryLog.firstIndexAtOrAfterMillis(from, limit);
+        return IntStream.range(start, limit)
+                .mapToObj(userHistoryLog::get)
+                .takeWhile(pointHistory -> to == null || pointHistory.updateMillis() < to);
+    }
+
+    private boolean isAfterRange(PointHistory pointHistory, PointHistoryPageRequest request) {
+        return request.to() != null && pointHistory.updateMillis() >= request.to();
+    }
+
+    private record PendingRestore(long lastLsn, CompletableFuture<Void> restored) {
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@link JdbcPointStore} 설정
+ * - enabled : true 이면 잔고와 내역을 DataSource(spring.datasource.*) 의 테이블에 저장하고, 기동 시 내역 인덱스를 DB 에서 복구
+ * - batchWindow : 첫 쓰기가 도착한 뒤 같은 트랜잭션으로 묶을 쓰기를 기다리는 최대 시간 (group commit)
+ * - maxBatchSize : 한 트랜잭션에 묶을 최대 쓰기 수
+ * - maxRetries : optimistic 엔진에서 잔고 version 이 충돌했을 때 다시 시도할 최대 횟수
+ */
+@ConfigurationProperties("point.jdbc")
+public record PointJdbcProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2ms") Duration batchWindow,
+        @DefaultValue("512") int maxBatchSize,
+        @DefaultValue("10") int maxRetries
+) {
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * {@link PointWriteAheadLog} 설정
+ * - enabled : true 이면 포인트 내역을 WAL 에 기록하고, 기동 시 WAL 로 테이블을 복구
+ * - directory : 세그먼트 파일을 보관할 디렉터리
+ * - segmentSize : 세그먼트 파일 하나의 크기 (가득 차면 다음 세그먼트로 넘어감)
+ * - sync : true 이면 기록이 디스크에 반영(force)된 뒤 반환하며, 동시에 들어온 기록은 한 번의 force 로 함께 반영(group commit)
+ * - snapshotInterval : 사용자 잔고 스냅샷을 기록하는 주기 (기동 시 스냅샷 이후의 기록만 재생해 잔고를 복구)
+ * - archiveSegments : true 이면 스냅샷에 모두 담긴 세그먼트를 archive 디렉터리로 옮겨 내역 복구에 사용하고, false 이면 삭제 (그 이전 내역은 복구하지 않음)
+ */
+@ConfigurationProperties("point.wal")
+public record PointWalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/wal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("true") boolean sync,
+        @DefaultValue("1m") Duration snapshotInterval,
+        @DefaultValue("true") boolean archiveSegments
+) {
+}
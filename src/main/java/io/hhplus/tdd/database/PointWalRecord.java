@@ -0,0 +1,27 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * WAL 에 기록된 포인트 내역 한 건입니다. lsn 은 기록 순서대로 1씩 증가합니다.
+ * <p>
+ * {@code movedOut} 이면 내역이 아니라 사용자를 다른 노드로 옮긴 기록이며, amount 는 옮긴 잔고입니다.
+ * 이 기록 이후 그 사용자의 잔고는 0 이고 이전 내역은 복구하지 않습니다.
+ */
+public record PointWalRecord(
+        long lsn,
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis,
+        boolean movedOut
+) {
+
+    public PointWalRecord(long lsn, long userId, long amount, TransactionType type, long updateMillis) {
+        this(lsn, userId, amount, type, updateMillis, false);
+    }
+
+    static PointWalRecord moveOut(long lsn, long userId, long point, long updateMillis) {
+        return new PointWalRecord(lsn, userId, point, TransactionType.USE, updateMillis, true);
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.database;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기동 시 WAL 로 {@link UserPointTable} 과 {@link PointHistoryRepository} 를 복구합니다.
+ * <p>
+ * 잔고는 마지막 스냅샷에 그 이후의 기록만 재생해 계산하므로, 기동 시간은 전체 내역 수가 아닌 사용자 수에 비례합니다.
+ * 계산한 잔고는 테이블을 거치지 않고 캐시에 바로 적재합니다.
+ * 내역은 WAL 전체를 읽어 테이블을 거치지 않고 사용자별 인덱스와 집계에 바로 복구하며, 별도 스레드에서 수행합니다.
+ * 그동안 각 사용자의 내역 조회와 추가는 그 사용자의 마지막 내역이 복구될 때까지만 기다립니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PointWalRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWalRecovery.class);
+
+    private final MappedPointWriteAheadLog writeAheadLog;
+    private final PointBalanceSnapshotter pointBalanceSnapshotter;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointCache userPointCache;
+
+    @PostConstruct
+    public void recover() {
+        PointBalanceSnapshot snapshot = pointBalanceSnapshotter.load().orElse(PointBalanceSnapshot.EMPTY);
+        writeAheadLog.restoreBalances(snapshot);
+        long lastLsn = writeAheadLog.lastLsn();
+
+        List<PointBalanceSnapshot.Entry> balances = writeAheadLog.balances();
+        Map<Long, Long> restoreTargets = new HashMap<>();
+        for (PointBalanceSnapshot.Entry balance : balances) {
+            userPointCache.restore(balance.userId(), balance.point());
+            restoreTargets.put(balance.userId(), balance.lsn());
+        }
+        log.info("스냅샷(watermark={})과 이후 기록으로 사용자 {}명의 잔고를 복구했습니다.", snapshot.watermark(), balances.size());
+
+        pointHistoryRepository.beginRestore(restoreTargets);
+        Thread restorer = new Thread(() -> restoreHistories(lastLsn), "point-history-restorer");
+        restorer.setDaemon(true);
+        restorer.start();
+
+        pointBalanceSnapshotter.start();
+    }
+
+    private void restoreHistories(long lastLsn) {
+        long[] recordCount = new long[1];
+        try {
+            writeAheadLog.replay(1L, lastLsn, record -> {
+                pointHistoryRepository.restore(record);
+                recordCount[0]++;
+            });
+            log.info("WAL 에서 포인트 내역 {}건을 복구했습니다.", recordCount[0]);
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 복구에 실패했습니다. 복구한 내역 {}건", recordCount[0], e);
+        } finally {
+            pointHistoryRepository.finishRestore();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.function.Consumer;
+
+/**
+ * 포인트 내역을 재기동 후에도 복구할 수 있도록 순서대로 기록하는 로그입니다.
+ * 잔고는 내역의 합으로 다시 계산할 수 있으므로 내역만 기록합니다.
+ */
+public interface PointWriteAheadLog {
+
+    /**
+     * 기록하지 않는 구현이 반환하는 lsn 입니다. 실제 lsn 은 1 부터 시작합니다.
+     */
+    long NO_LSN = 0L;
+
+    /**
+     * 내역을 기록하고 부여된 lsn 을 반환합니다. 기록하지 않는 구현은 {@link #NO_LSN} 을 반환합니다.
+     */
+    long append(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 사용자를 다른 노드로 옮겼음을 기록하고 부여된 lsn 을 반환합니다. 재생하면 그 사용자의 잔고는 0 이 되고 이전 내역은 제외됩니다.
+     *
+     * @param point 옮긴 잔고
+     */
+    long appendMoveOut(long userId, long point, long updateMillis);
+
+    /**
+     * 기록된 내역을 lsn 순서대로 전달합니다.
+     */
+    void replay(Consumer<PointWalRecord> consumer);
+}
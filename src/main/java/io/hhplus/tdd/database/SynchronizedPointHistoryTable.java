@@ -0,0 +1,32 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기본 {@link PointHistoryTable} 의 공개 API 호출을 한 번에 하나씩만 수행합니다.
+ * <p>
+ * 기본 테이블은 id 커서 증가와 {@code ArrayList} 추가를 동기화 없이 수행하므로, 여러 사용자의 요청이 동시에 추가하면
+ * id 가 중복되거나 역전되고 목록이 손상될 수 있습니다. 인덱스의 커서 페이지 조회는 id 가 추가 순서대로 증가한다고 가정합니다.
+ * 스스로 동기화하는 저장소(columnar, jdbc)를 사용할 때는 등록하지 않습니다.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${point.history.store:table}' == 'table' and !${point.jdbc.enabled:false}")
+public class SynchronizedPointHistoryTable extends PointHistoryTable {
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return super.insert(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public synchronized List<PointHistory> selectAllByUserId(long userId) {
+        return super.selectAllByUserId(userId);
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기본 {@link UserPointTable} 의 공개 API 호출을 한 번에 하나씩만 수행합니다.
+ * <p>
+ * 기본 테이블은 동기화되지 않은 {@code HashMap} 을 사용하므로, 요청 스레드와 write-behind 기록 스레드가
+ * 동시에 읽고 쓰면 맵이 손상될 수 있습니다. 스스로 동기화하는 jdbc 저장소를 사용할 때는 등록하지 않습니다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "point.jdbc.enabled", havingValue = "false", matchIfMissing = true)
+public class SynchronizedUserPointTable extends UserPointTable {
+
+    @Override
+    public synchronized UserPoint selectById(Long id) {
+        return super.selectById(id);
+    }
+
+    @Override
+    public synchronized UserPoint insertOrUpdate(long id, long amount) {
+        return super.insertOrUpdate(id, amount);
+    }
+}
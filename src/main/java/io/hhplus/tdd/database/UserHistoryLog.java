@@ -0,0 +1,180 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 한 사용자의 포인트 내역을 추가 순서대로 보관하는 append-only 청크 배열입니다.
+ * <p>
+ * k 번째 청크의 크기는 {@code FIRST_CHUNK_SIZE << k} 이므로, 기존 원소를 복사하지 않고 늘어나며
+ * 내역이 적은 사용자는 작은 청크 하나만 사용합니다.
+ * 내역은 열(column)별 원시 타입 배열에 보관하고 조회할 때만 {@link PointHistory} 를 만듭니다. userId 는 로그마다 한 번만 보관합니다.
+ * 추가는 한 번에 한 스레드만 수행하고, 조회는 락 없이 {@code size} 를 먼저 읽어 그 이전까지만 접근합니다.
+ * 내역을 추가할 때마다 요약({@link PointSummary})도 함께 갱신하므로 요약 조회는 내역 수와 무관합니다.
+ */
+class UserHistoryLog {
+
+    private static final int FIRST_CHUNK_SHIFT = 3;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+
+    private volatile Chunk[] chunks = new Chunk[1];
+    private volatile int size;
+    private volatile PointSummary summary;
+
+    UserHistoryLog(long userId) {
+        this.userId = userId;
+        this.summary = PointSummary.empty(userId);
+    }
+
+    synchronized void append(PointHistory pointHistory) {
+        int index = size;
+        int chunkIndex = chunkIndex(index);
+
+        Chunk[] current = chunks;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+        }
+        if (current[chunkIndex] == null) {
+            current[chunkIndex] = new Chunk(FIRST_CHUNK_SIZE << chunkIndex);
+        }
+        current[chunkIndex].set(offset(index, chunkIndex), pointHistory);
+
+        // chunks, size 순서로 발행해야 size 를 읽은 조회 스레드가 원소를 볼 수 있다.
+        chunks = current;
+        size = index + 1;
+        summary = summary.add(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis());
+    }
+
+    int size() {
+        return size;
+    }
+
+    PointSummary summary() {
+        return summary;
+    }
+
+    PointHistory get(int index) {
+        int chunkIndex = chunkIndex(index);
+        int offset = offset(index, chunkIndex);
+        Chunk chunk = chunks[chunkIndex];
+        return new PointHistory(chunk.ids.get(offset), userId, chunk.amounts.get(offset), TYPES[chunk.types[offset]], chunk.updateMillis.get(offset));
+    }
+
+    long idAt(int index) {
+        int chunkIndex = chunkIndex(index);
+        return chunks[chunkIndex].ids.get(offset(index, chunkIndex));
+    }
+
+    long updateMillisAt(int index) {
+        int chunkIndex = chunkIndex(index);
+        return chunks[chunkIndex].updateMillis.get(offset(index, chunkIndex));
+    }
+
+    /**
+     * {@code [0, limit)} 범위에서 id 가 {@code historyId} 보다 큰 첫 위치를 반환합니다.
+     * 한 사용자의 내역은 락 안에서 순서대로 추가되므로 id 는 추가 순서대로 증가한다고 가정합니다.
+     */
+    int firstIndexAfterId(long historyId, int limit) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (idAt(mid) <= historyId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@code [0, limit)} 범위에서 updateMillis 가 {@code millis} 이상인 첫 위치를 반환합니다.
+     */
+    int firstIndexAtOrAfterMillis(long millis, int limit) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (updateMillisAt(mid) < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 호출 시점까지 추가된 내역에 대한 읽기 전용 뷰를 반환합니다. 이후 추가되는 내역은 포함하지 않습니다.
+     */
+    List<PointHistory> snapshot() {
+        int snapshotSize = size;
+        return new Snapshot(this, snapshotSize);
+    }
+
+    private static int chunkIndex(int index) {
+        int position = index + FIRST_CHUNK_SIZE;
+        return (31 - Integer.numberOfLeadingZeros(position)) - FIRST_CHUNK_SHIFT;
+    }
+
+    private static int offset(int index, int chunkIndex) {
+        return index + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunkIndex);
+    }
+
+    private static final class Chunk {
+
+        private final PackedLongArray ids;
+        private final PackedLongArray amounts;
+        private final PackedLongArray updateMillis;
+        private final byte[] types;
+
+        private Chunk(int capacity) {
+            this.ids = new PackedLongArray(capacity);
+            this.amounts = new PackedLongArray(capacity);
+            this.updateMillis = new PackedLongArray(capacity);
+            this.types = new byte[capacity];
+        }
+
+        private void set(int offset, PointHistory pointHistory) {
+            ids.set(offset, pointHistory.id());
+            amounts.set(offset, pointHistory.amount());
+            updateMillis.set(offset, pointHistory.updateMillis());
+            types[offset] = (byte) pointHistory.type().ordinal();
+        }
+    }
+
+    private static final class Snapshot extends AbstractList<PointHistory> implements RandomAccess {
+
+        private final UserHistoryLog log;
+        private final int size;
+
+        private Snapshot(UserHistoryLog log, int size) {
+            this.log = log;
+            this.size = size;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+            }
+            return log.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link UserPointTable} 앞단에 위치하는 read-through LRU 캐시입니다.
+ * <p>
+ * 변경은 반드시 사용자별 락을 잡은 상태에서 {@link #put(long, long)} 으로만 수행해야 캐시와 테이블의 일관성이 유지됩니다.
+ * write-behind 모드에서는 변경분을 메모리에 먼저 반영하고, 별도 스레드가 주기적으로 테이블에 기록합니다.
+ */
+@Component
+public class UserPointCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPointCache.class);
+
+    private final UserPointTable userPointTable;
+    private final UserPointCacheProperties properties;
+    private final PointMetrics pointMetrics;
+
+    private final Map<Long, UserPoint> entries;
+    private final ConcurrentHashMap<Long, UserPoint> pendingWrites = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final ScheduledExecutorService flusher;
+
+    public UserPointCache(UserPointTable userPointTable, UserPointCacheProperties properties, PointMetrics pointMetrics) {
+        this.userPointTable = userPointTable;
+        this.properties = properties;
+        this.pointMetrics = pointMetrics;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                boolean evict = size() > properties.maxSize();
+                if (evict) {
+                    evictionCount.increment();
+                }
+                return evict;
+            }
+        };
+        this.flusher = properties.writeBehind() ? startFlusher(properties) : null;
+    }
+
+    /**
+     * 캐시에 있는 경우에만 반환하고, 없으면 null 을 반환합니다. 테이블을 조회하지 않습니다.
+     */
+    public UserPoint getIfPresent(long userId) {
+        UserPoint userPoint;
+        synchronized (entries) {
+            userPoint = entries.get(userId);
+        }
+        if (userPoint != null) {
+            hitCount.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 캐시에 없으면 테이블에서 읽어 캐시에 적재한 뒤 반환합니다.
+     */
+    public UserPoint get(long userId) {
+        UserPoint userPoint = getIfPresent(userId);
+        if (userPoint != null) {
+            return userPoint;
+        }
+        missCount.increment();
+
+        UserPoint pending = pendingWrites.get(userId);
+        UserPoint loaded = pending != null ? pending : selectFromTable(userId);
+
+        synchronized (entries) {
+            UserPoint current = entries.putIfAbsent(userId, loaded);
+            return current != null ? current : loaded;
+        }
+    }
+
+    /**
+     * 포인트를 기록합니다. write-through 모드에서는 테이블 반영이 끝난 뒤 반환합니다.
+     */
+    public UserPoint put(long userId, long point) {
+        UserPoint userPoint;
+        if (flusher == null) {
+            userPoint = writeToTable(userId, point);
+            // 복구한 뒤 아직 기록하지 않은 값이 남아 있다면 테이블에 기록했으므로 지운다.
+            pendingWrites.remove(userId);
+        } else {
+            userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+            pendingWrites.put(userId, userPoint);
+        }
+
+        synchronized (entries) {
+            entries.put(userId, userPoint);
+        }
+        return userPoint;
+    }
+
+    /**
+     * 기동 시 복구한 포인트를 테이블에 기록하지 않고 적재합니다.
+     * write-behind 모드에서는 다음 주기에 테이블에 기록하고, write-through 모드에서는 다음 {@link #put(long, long)} 전까지 메모리에서 읽습니다.
+     */
+    public void restore(long userId, long point) {
+        UserPoint userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+        pendingWrites.put(userId, userPoint);
+        synchronized (entries) {
+            entries.put(userId, userPoint);
+        }
+    }
+
+    public void evict(long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    /**
+     * write-behind 모드에서 아직 테이블에 반영되지 않은 변경분을 모두 기록합니다.
+     */
+    public void flush() {
+        for (Map.Entry<Long, UserPoint> entry : pendingWrites.entrySet()) {
+            UserPoint userPoint = entry.getValue();
+            writeToTable(userPoint.id(), userPoint.point());
+            // 기록하는 사이 더 최신 값이 들어왔다면 다음 주기에 다시 기록되도록 남겨둔다.
+            pendingWrites.remove(entry.getKey(), userPoint);
+        }
+    }
+
+    public UserPointCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new UserPointCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size, pendingWrites.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(properties.flushInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private UserPoint selectFromTable(long userId) {
+        return pointMetrics.recordTable(PointMetrics.TableCall.USER_POINT_SELECT, () -> userPointTable.selectById(userId));
+    }
+
+    private UserPoint writeToTable(long userId, long point) {
+        return pointMetrics.recordTable(PointMetrics.TableCall.USER_POINT_UPSERT, () -> userPointTable.insertOrUpdate(userId, point));
+    }
+
+    private ScheduledExecutorService startFlusher(UserPointCacheProperties properties) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-cache-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.flushInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("포인트 write-behind 반영에 실패했습니다.", e);
+        }
+    }
+}
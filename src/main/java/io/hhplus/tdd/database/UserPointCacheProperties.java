@@ -0,0 +1,20 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@link UserPointCache} 설정
+ * - maxSize : 캐시에 보관할 최대 사용자 수 (초과 시 가장 오래 사용되지 않은 항목부터 제거)
+ * - writeBehind : true 이면 {@link UserPointTable} 반영을 비동기로 모아서 처리
+ * - flushInterval : write-behind 모드에서 변경분을 테이블에 반영하는 주기
+ */
+@ConfigurationProperties("point.cache")
+public record UserPointCacheProperties(
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("false") boolean writeBehind,
+        @DefaultValue("100ms") Duration flushInterval
+) {
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.database;
+
+public record UserPointCacheStats(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        int size,
+        int pendingWrites
+) {
+
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+}
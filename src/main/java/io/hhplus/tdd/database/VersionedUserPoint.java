@@ -0,0 +1,9 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 잔고와 잔고 행의 version 입니다. 아직 행이 없는 사용자는 version 0 입니다.
+ */
+public record VersionedUserPoint(UserPoint userPoint, long version) {
+}
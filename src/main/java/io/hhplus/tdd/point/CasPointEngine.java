@@ -0,0 +1,288 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 사용자별 잔고를 메모리의 원자적 셀에 보관하고, 충전/사용을 compare-and-set 으로 반영하는 엔진입니다.
+ * <p>
+ * 검증은 CAS 루프 안에서 셀의 현재 값으로 수행하므로 락 없이도 한도와 잔액 규칙이 지켜집니다.
+ * 내역과 잔고의 테이블 기록은 사용자별로 반영 순서(version)대로 비동기 처리하며, 연속된 변경은 잔고 기록 한 번으로 합칩니다.
+ * 기록에 실패하면 {@code persistRetryBackoff} 부터 두 배씩 늘린 간격으로 다시 기록하고, {@code persistMaxRetries} 번 연속 실패한 사용자는
+ * 기록될 때까지 충전/사용을 429 로 거절해 기록되지 않은 변경이 더 쌓이지 않게 합니다.
+ * 기록할 변경이 남지 않은 셀은 제거해 사용자 수만큼 쌓이지 않게 합니다.
+ * 셀은 사용자마다 따로 있어 두 사용자의 잔고를 한 번에 바꿀 수 없으므로 포인트 이전은 지원하지 않습니다(501).
+ * 예약도 예약 합계와 셀의 잔고를 한 번의 compare-and-set 으로 함께 검증할 수 없어 지원하지 않습니다(501).
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.type", havingValue = "cas")
+public class CasPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CasPointEngine.class);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000L;
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointMetrics pointMetrics;
+    private final ExecutorService persister;
+    private final ScheduledExecutorService retryScheduler;
+    private final long retryBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxRetries;
+    private final Duration retryAfter;
+
+    private final ConcurrentHashMap<Long, BalanceCell> cells = new ConcurrentHashMap<>();
+    private final AtomicInteger suspendedUsers = new AtomicInteger();
+
+    public CasPointEngine(UserPointCache userPointCache, PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                          PointEngineProperties properties, PointExecutors pointExecutors) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointMetrics = pointMetrics;
+        this.persister = pointExecutors.newExecutor("point-cas-persister", properties.persistThreads());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-cas-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retryBackoffMillis = properties.persistRetryBackoff().toMillis();
+        this.maxBackoffMillis = properties.persistMaxBackoff().toMillis();
+        this.maxRetries = properties.persistMaxRetries();
+        this.retryAfter = properties.persistMaxBackoff();
+        pointMetrics.registerPersistSuspended(suspendedUsers::get);
+    }
+
+    @Override
+    public UserPoint read(long userId) {
+        // 조회만 하는 사용자의 셀은 만들지 않는다. 셀이 없으면 저장된 값이 최신이다.
+        BalanceCell cell = cells.get(userId);
+        return cell != null ? cell.state.get().userPoint() : userPointCache.get(userId);
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return apply(userId, TransactionType.CHARGE, amount);
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return apply(userId, TransactionType.USE, amount);
+    }
+
+    @Override
+    public List<PointOperationResult> applyAll(long userId, List<PointOperation> operations) {
+        List<PointOperationResult> results = new ArrayList<>(operations.size());
+        for (PointOperation operation : operations) {
+            try {
+                UserPoint userPoint = apply(userId, operation.type(), operation.amount());
+                results.add(PointOperationResult.success(operation, userPoint.point()));
+            } catch (IllegalArgumentException | IllegalStateException | PointBusyException e) {
+                results.add(PointOperationResult.failure(operation, e));
+            }
+        }
+        return results;
+    }
+
+    private UserPoint apply(long userId, TransactionType type, long amount) {
+        while (true) {
+            BalanceCell cell = cellOf(userId);
+            if (cell.suspended) {
+                throw new PointBusyException("포인트 기록이 지연되고 있습니다. 잠시 후 다시 시도해 주세요.", retryAfter);
+            }
+
+            CellState current = cell.state.get();
+            if (current.retired()) {
+                // 제거하는 중인 셀이면 새 셀을 만들어 다시 시도한다.
+                cells.remove(userId, cell);
+                continue;
+            }
+            UserPointValidator.validateOperation(type, current.userPoint().point(), amount);
+            long updateMillis = System.currentTimeMillis();
+            CellState next = new CellState(new UserPoint(userId, type.apply(current.userPoint().point(), amount), updateMillis), current.version() + 1);
+            if (cell.state.compareAndSet(current, next)) {
+                cell.pending.put(next.version(), new PendingHistory(type, amount, next.userPoint()));
+                schedule(cell);
+                return next.userPoint();
+            }
+        }
+    }
+
+    private BalanceCell cellOf(long userId) {
+        BalanceCell cell = cells.get(userId);
+        if (cell != null) {
+            return cell;
+        }
+
+        // 셀이 없으면 아직 메모리에서 변경된 적이 없거나 모두 기록된 뒤 제거되었으므로 저장된 값이 최신이다.
+        BalanceCell loaded = new BalanceCell(userId, userPointCache.get(userId));
+        BalanceCell existing = cells.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void schedule(BalanceCell cell) {
+        if (cell.draining.compareAndSet(false, true)) {
+            persister.execute(() -> drain(cell));
+        }
+    }
+
+    /**
+     * 사용자별로 한 스레드만 실행하며, 다음 version 이 도착한 만큼 내역을 순서대로 기록한 뒤 잔고를 한 번 기록합니다.
+     * 실패하면 간격을 늘려 가며 다시 예약하고, 그사이 반영된 변경 없이 모두 기록했으면 셀을 제거합니다.
+     */
+    private void drain(BalanceCell cell) {
+        boolean failed = false;
+        try {
+            // 내역은 기록했지만 잔고 기록에 실패했던 변경도 다시 기록한다.
+            UserPoint latest = cell.unsavedBalance;
+            Map.Entry<Long, PendingHistory> entry;
+            while ((entry = cell.pending.firstEntry()) != null && entry.getKey() == cell.persistedVersion + 1) {
+                PendingHistory history = entry.getValue();
+                pointHistoryRepository.insert(cell.userId, history.amount(), history.type(), history.userPoint().updateMillis());
+                latest = history.userPoint();
+                cell.unsavedBalance = latest;
+                cell.pending.remove(entry.getKey());
+                cell.persistedVersion++;
+            }
+            if (latest != null) {
+                userPointCache.put(cell.userId, latest.point());
+                cell.unsavedBalance = null;
+            }
+            recordRecovery(cell);
+            // 처리 중 표시를 풀기 전에 제거해야, 제거된 셀을 보고 기록할 변경이 없다고 판단하는 일이 없다.
+            retire(cell);
+        } catch (RuntimeException e) {
+            failed = true;
+            recordFailure(cell, e);
+        } finally {
+            cell.draining.set(false);
+        }
+
+        if (failed) {
+            long backoff = Math.min(maxBackoffMillis, retryBackoffMillis << Math.min(cell.failures - 1, 20));
+            retryScheduler.schedule(() -> schedule(cell), backoff, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        // 기록하는 사이 새 변경이 들어왔다면 다시 예약한다.
+        Map.Entry<Long, PendingHistory> next = cell.pending.firstEntry();
+        if (next != null && next.getKey() == cell.persistedVersion + 1) {
+            schedule(cell);
+        }
+    }
+
+    private void recordFailure(BalanceCell cell, RuntimeException e) {
+        int failures = ++cell.failures;
+        pointMetrics.recordPersistFailure();
+        if (failures < maxRetries) {
+            log.warn("포인트 기록에 실패해 다시 시도합니다. userId={}, failures={}", cell.userId, failures, e);
+        } else if (failures == maxRetries) {
+            cell.suspended = true;
+            suspendedUsers.incrementAndGet();
+            log.error("포인트 기록이 계속 실패해 기록될 때까지 충전/사용을 거절합니다. userId={}, failures={}", cell.userId, failures, e);
+        } else {
+            log.debug("포인트 기록에 다시 실패했습니다. userId={}, failures={}", cell.userId, failures, e);
+        }
+    }
+
+    private void recordRecovery(BalanceCell cell) {
+        cell.failures = 0;
+        if (cell.suspended) {
+            cell.suspended = false;
+            suspendedUsers.decrementAndGet();
+            log.info("포인트 기록이 회복되어 충전/사용을 다시 받습니다. userId={}", cell.userId);
+        }
+    }
+
+    /**
+     * 기록할 변경이 남지 않은 셀을 제거합니다. 제거 표시는 잔고와 같은 compare-and-set 으로 남기므로,
+     * 그사이 반영된 변경이 있으면 제거하지 않고, 제거 표시 이후의 변경은 저장된 값으로 새 셀을 만들어 반영합니다.
+     */
+    private void retire(BalanceCell cell) {
+        CellState current = cell.state.get();
+        if (current.retired() || current.version() != cell.persistedVersion || cell.unsavedBalance != null) {
+            return;
+        }
+        if (cell.state.compareAndSet(current, current.retire())) {
+            cells.remove(cell.userId, cell);
+        }
+    }
+
+    /**
+     * 남은 변경을 모두 기록할 때까지(최대 {@code CLOSE_TIMEOUT_MILLIS}) 기다린 뒤 종료합니다.
+     */
+    @PreDestroy
+    public void close() {
+        long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        try {
+            while (hasPendingWrites() && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (hasPendingWrites()) {
+            log.warn("기록되지 않은 포인트 변경이 남은 상태로 종료합니다.");
+        }
+        persister.shutdown();
+        retryScheduler.shutdown();
+    }
+
+    boolean hasPendingWrites() {
+        return cells.values().stream().anyMatch(cell -> !cell.pending.isEmpty() || cell.draining.get());
+    }
+
+    private record CellState(UserPoint userPoint, long version) {
+
+        private static final long RETIRED = -1L;
+
+        private boolean retired() {
+            return version == RETIRED;
+        }
+
+        private CellState retire() {
+            return new CellState(userPoint, RETIRED);
+        }
+    }
+
+    private record PendingHistory(TransactionType type, long amount, UserPoint userPoint) {
+    }
+
+    private static final class BalanceCell {
+
+        private final long userId;
+        private final AtomicReference<CellState> state;
+        private final ConcurrentSkipListMap<Long, PendingHistory> pending = new ConcurrentSkipListMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // drain 은 사용자별로 한 스레드만 실행하므로 draining 플래그로 보호된다. 셀 제거 여부는 다른 스레드에서도 확인한다.
+        private volatile long persistedVersion;
+        private volatile UserPoint unsavedBalance;
+        private volatile int failures;
+        private volatile boolean suspended;
+
+        private BalanceCell(long userId, UserPoint userPoint) {
+            this.userId = userId;
+            this.state = new AtomicReference<>(new CellState(userPoint, 0));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 금액이나 거래 종류처럼 요청 자체가 올바르지 않아 거절했음을 나타냅니다.
+ */
+public class InvalidPointRequestException extends IllegalArgumentException {
+
+    private final PointRejection rejection;
+
+    public InvalidPointRequestException(PointRejection rejection) {
+        super(rejection.message());
+        this.rejection = rejection;
+    }
+
+    public PointRejection rejection() {
+        return rejection;
+    }
+}
@@ -0,0 +1,203 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 공정(fair) {@link ReentrantLock} 으로 조회-검증-기록 전체를 직렬화하는 기본 엔진입니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.type", havingValue = "lock", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LockPointEngine implements PointEngine {
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockRegistry userLockRegistry;
+    private final PointMutationWriter pointMutationWriter;
+    private final PointHolds pointHolds;
+
+    @Override
+    public UserPoint read(long userId) {
+        UserPoint cached = userPointCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 캐시 적재는 변경과 같은 락 안에서 수행해야 오래된 값이 캐시에 들어가지 않는다.
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            return userPointCache.get(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            UserPointValidator.validateChargeAmount(amount);
+
+            UserPoint userPoint = userPointCache.get(userId);
+
+            UserPointValidator.validateTotalPoints(userPoint.point(), amount);
+
+            return pointMutationWriter.write(userId, userPoint.point(), TransactionType.CHARGE, amount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            UserPoint userPoint = userPointCache.get(userId);
+
+            UserPointValidator.isNotEnoughPoints(userPoint.point() - pointHolds.heldPoint(userId), amount);
+
+            return pointMutationWriter.write(userId, userPoint.point(), TransactionType.USE, amount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 두 사용자의 락을 정해진 순서로 잡고 양쪽을 검증한 뒤, 보낸 쪽 사용 내역과 받은 쪽 충전 내역을 기록합니다.
+     */
+    @Override
+    public PointTransfer transfer(long senderId, long receiverId, long amount) {
+        ReentrantLock[] locks = userLockRegistry.acquireAll(senderId, receiverId);
+
+        try {
+            UserPoint sender = userPointCache.get(senderId);
+            UserPoint receiver = userPointCache.get(receiverId);
+
+            // 보내는 쪽은 예약된 포인트를 제외한 사용 가능한 포인트로 검증한다.
+            UserPointValidator.validateTransfer(senderId, receiverId, sender.point() - pointHolds.heldPoint(senderId), receiver.point(), amount);
+
+            UserPoint sent = pointMutationWriter.write(senderId, sender.point(), TransactionType.USE, amount);
+            try {
+                return new PointTransfer(sent, pointMutationWriter.write(receiverId, receiver.point(), TransactionType.CHARGE, amount));
+            } catch (RuntimeException e) {
+                // 받는 쪽 기록이 실패하면 보낸 쪽에 반대 거래를 기록해 되돌린다.
+                pointMutationWriter.write(senderId, sent.point(), TransactionType.CHARGE, amount);
+                throw e;
+            }
+        } finally {
+            UserLockRegistry.releaseAll(locks);
+        }
+    }
+
+    /**
+     * 잔고 조회와 같은 락 안에서 예약하므로, 예약된 포인트의 합계가 잔고를 넘지 않습니다.
+     */
+    @Override
+    public PointHold hold(long userId, long amount, Duration ttl) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            UserPoint userPoint = userPointCache.get(userId);
+
+            return pointHolds.hold(userId, userPoint.point(), amount, ttl);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 예약을 꺼낸 뒤 사용 내역과 잔고를 기록합니다. 기록에 실패하면 예약을 되돌립니다.
+     */
+    @Override
+    public UserPoint capture(long userId, long holdId) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            PointHold hold = pointHolds.take(userId, holdId);
+            UserPoint userPoint = userPointCache.get(userId);
+
+            try {
+                return pointMutationWriter.write(userId, userPoint.point(), TransactionType.USE, hold.amount());
+            } catch (RuntimeException e) {
+                pointHolds.restore(hold);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 취소는 사용 가능한 포인트를 늘리기만 하므로 사용자 락을 잡지 않습니다.
+     */
+    @Override
+    public PointHold release(long userId, long holdId) {
+        return pointHolds.release(userId, holdId);
+    }
+
+    /**
+     * 락 한 번, 잔고 조회 한 번, 잔고 기록 한 번으로 모든 요청을 처리합니다.
+     * 내역 기록이 실패하면 그 요청과 이후 요청은 실패로 반환하고, 앞서 내역을 기록한 요청의 잔고는 기록합니다.
+     * 잔고 기록이 끝내 실패하면 내역만 남은 요청도 실패로 반환합니다.
+     */
+    @Override
+    public List<PointOperationResult> applyAll(long userId, List<PointOperation> operations) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            UserPoint userPoint = userPointCache.get(userId);
+
+            long point = userPoint.point();
+            boolean changed = false;
+            List<PointOperationResult> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                PointOperation operation = operations.get(i);
+                try {
+                    UserPointValidator.validateOperation(operation.type(), point, pointHolds.heldPoint(userId), operation.amount());
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    results.add(PointOperationResult.failure(operation, e));
+                    continue;
+                }
+
+                try {
+                    pointHistoryRepository.insert(userId, operation.amount(), operation.type(), System.currentTimeMillis());
+                } catch (RuntimeException e) {
+                    // 이후 요청은 기록되지 않은 잔고를 기준으로 검증했을 수 있으므로 함께 실패시킨다.
+                    operations.subList(i, operations.size())
+                            .forEach(remaining -> results.add(PointOperationResult.failure(remaining, e)));
+                    break;
+                }
+                point = operation.type().apply(point, operation.amount());
+                changed = true;
+                results.add(PointOperationResult.success(operation, point));
+            }
+
+            if (changed) {
+                try {
+                    pointMutationWriter.writeBalance(userId, point);
+                } catch (RuntimeException e) {
+                    for (int i = 0; i < results.size(); i++) {
+                        if (results.get(i).success()) {
+                            results.set(i, PointOperationResult.failure(operations.get(i), e));
+                        }
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
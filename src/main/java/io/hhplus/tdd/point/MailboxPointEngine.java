@@ -0,0 +1,334 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 큐(mailbox)에 요청을 쌓고, 사용자마다 한 스레드만 큐를 비우며 처리하는 엔진입니다.
+ * <p>
+ * 요청 스레드는 큐에 넣고 바로 {@link CompletableFuture} 를 돌려받으므로 락을 기다리며 점유되지 않습니다.
+ * 큐에 연속으로 쌓인 요청은 잔고 조회 한 번, 잔고 기록 한 번으로 합쳐 처리하고 내역은 요청마다 기록합니다.
+ * 다른 엔진 경로(조회 캐시 적재 등)와의 일관성을 위해 처리하는 동안 사용자 락도 함께 잡습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.type", havingValue = "mailbox")
+public class MailboxPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(MailboxPointEngine.class);
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockRegistry userLockRegistry;
+    private final PointHolds pointHolds;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public MailboxPointEngine(UserPointCache userPointCache, PointHistoryRepository pointHistoryRepository,
+                              UserLockRegistry userLockRegistry, PointHolds pointHolds, PointEngineProperties properties,
+                              PointExecutors pointExecutors) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userLockRegistry = userLockRegistry;
+        this.pointHolds = pointHolds;
+        this.batchSize = properties.mailboxBatchSize();
+        this.workers = pointExecutors.newExecutor("point-mailbox", properties.mailboxThreads());
+    }
+
+    @Override
+    public UserPoint read(long userId) {
+        UserPoint cached = userPointCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            return userPointCache.get(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return await(chargeAsync(userId, amount));
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return await(useAsync(userId, amount));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> chargeAsync(long userId, long amount) {
+        return enqueue(userId, TransactionType.CHARGE, amount);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> useAsync(long userId, long amount) {
+        return enqueue(userId, TransactionType.USE, amount);
+    }
+
+    @Override
+    public List<PointOperationResult> applyAll(long userId, List<PointOperation> operations) {
+        List<CompletableFuture<UserPoint>> futures = operations.stream()
+                .map(operation -> enqueue(userId, operation.type(), operation.amount()))
+                .toList();
+
+        List<PointOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            PointOperation operation = operations.get(i);
+            try {
+                results.add(PointOperationResult.success(operation, await(futures.get(i)).point()));
+            } catch (IllegalArgumentException | IllegalStateException | PointBusyException e) {
+                results.add(PointOperationResult.failure(operation, e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 이전은 두 사용자의 큐에 걸치므로 큐를 거치지 않고, 큐를 처리할 때와 같은 사용자 락을 정해진 순서로 잡아 처리합니다.
+     */
+    @Override
+    public PointTransfer transfer(long senderId, long receiverId, long amount) {
+        ReentrantLock[] locks = userLockRegistry.acquireAll(senderId, receiverId);
+
+        try {
+            UserPoint sender = userPointCache.get(senderId);
+            UserPoint receiver = userPointCache.get(receiverId);
+
+            UserPointValidator.validateTransfer(senderId, receiverId, sender.point() - pointHolds.heldPoint(senderId), receiver.point(), amount);
+
+            UserPoint sent = write(senderId, sender.point(), TransactionType.USE, amount);
+            try {
+                return new PointTransfer(sent, write(receiverId, receiver.point(), TransactionType.CHARGE, amount));
+            } catch (RuntimeException e) {
+                write(senderId, sent.point(), TransactionType.CHARGE, amount);
+                throw e;
+            }
+        } finally {
+            UserLockRegistry.releaseAll(locks);
+        }
+    }
+
+    /**
+     * 예약도 큐를 거치지 않고, 큐를 처리할 때와 같은 사용자 락 안에서 잔고를 읽어 예약합니다.
+     */
+    @Override
+    public PointHold hold(long userId, long amount, Duration ttl) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            return pointHolds.hold(userId, userPointCache.get(userId).point(), amount, ttl);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint capture(long userId, long holdId) {
+        ReentrantLock lock = userLockRegistry.acquire(userId);
+
+        try {
+            PointHold hold = pointHolds.take(userId, holdId);
+            try {
+                return write(userId, userPointCache.get(userId).point(), TransactionType.USE, hold.amount());
+            } catch (RuntimeException e) {
+                pointHolds.restore(hold);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public PointHold release(long userId, long holdId) {
+        return pointHolds.release(userId, holdId);
+    }
+
+    private UserPoint write(long userId, long point, TransactionType type, long amount) {
+        pointHistoryRepository.insert(userId, amount, type, System.currentTimeMillis());
+        return userPointCache.put(userId, type.apply(point, amount));
+    }
+
+    private CompletableFuture<UserPoint> enqueue(long userId, TransactionType type, long amount) {
+        CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        Command command = new Command(type, amount, result);
+        // 비어 있는 큐를 제거하는 연산과 겹치지 않도록 같은 원자 연산 안에서 요청을 넣는다.
+        Mailbox mailbox = mailboxes.compute(userId, (id, current) -> {
+            Mailbox target = current == null ? new Mailbox(id) : current;
+            target.commands.add(command);
+            return target;
+        });
+        schedule(mailbox);
+        return result;
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (mailbox.scheduled.compareAndSet(false, true)) {
+            workers.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        try {
+            List<Command> commands = new ArrayList<>();
+            Command command;
+            while (commands.size() < batchSize && (command = mailbox.commands.poll()) != null) {
+                commands.add(command);
+            }
+            if (!commands.isEmpty()) {
+                process(mailbox.userId, commands);
+            }
+        } finally {
+            // 처리 중 예외가 나더라도 예약 상태를 풀어야 이후 요청이 처리된다.
+            // 비어 있는 큐는 제거해 사용자 수만큼 쌓이지 않게 한다.
+            // 요청 추가와 같은 원자 연산 안에서 비어 있을 때만 제거하므로 제거된 mailbox 에는 더 이상 요청이 들어오지 않고,
+            // 한 사용자의 mailbox 가 둘이 되어 두 스레드가 동시에 처리하는 일이 없다.
+            mailboxes.computeIfPresent(mailbox.userId,
+                    (userId, current) -> current == mailbox && current.commands.isEmpty() ? null : current);
+            mailbox.scheduled.set(false);
+            if (!mailbox.commands.isEmpty()) {
+                schedule(mailbox);
+            }
+        }
+    }
+
+    /**
+     * 꺼낸 요청을 순서대로 검증하고 내역을 기록한 뒤, 반영한 요청의 잔고를 한 번에 기록합니다.
+     * 내역 기록이 실패하면 그 요청과 이후 요청만 실패로 완료하고, 앞서 내역을 기록한 요청은 잔고까지 기록해 성공으로 완료합니다.
+     * 잔고 기록이 실패하면 {@link PointMutationWriter} 와 같이 같은 값으로 한 번 더 기록합니다.
+     */
+    private void process(long userId, List<Command> commands) {
+        UserPoint[] userPoints = new UserPoint[commands.size()];
+        RuntimeException[] errors = new RuntimeException[commands.size()];
+
+        ReentrantLock lock = null;
+
+        try {
+            // 락을 얻지 못하거나(PointBusyException) 잔고를 읽지 못하면 아무것도 기록하지 않았으므로 꺼낸 요청 모두 같은 예외로 완료한다.
+            long point;
+            try {
+                lock = userLockRegistry.acquire(userId);
+                point = userPointCache.get(userId).point();
+            } catch (RuntimeException e) {
+                Arrays.fill(errors, e);
+                return;
+            }
+
+            boolean changed = false;
+            for (int i = 0; i < commands.size(); i++) {
+                Command command = commands.get(i);
+                try {
+                    UserPointValidator.validateOperation(command.type(), point, pointHolds.heldPoint(userId), command.amount());
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    errors[i] = e;
+                    continue;
+                }
+
+                long updateMillis = System.currentTimeMillis();
+                try {
+                    pointHistoryRepository.insert(userId, command.amount(), command.type(), updateMillis);
+                } catch (RuntimeException e) {
+                    // 이후 요청은 기록되지 않은 잔고를 기준으로 검증했을 수 있으므로 함께 실패시킨다.
+                    Arrays.fill(errors, i, commands.size(), e);
+                    break;
+                }
+                point = command.type().apply(point, command.amount());
+                changed = true;
+                userPoints[i] = new UserPoint(userId, point, updateMillis);
+            }
+
+            if (changed) {
+                writeBalance(userId, point, userPoints, errors);
+            }
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+            // 완료 콜백이 락을 잡은 채로 실행되지 않도록 락을 푼 뒤 결과를 전달한다.
+            for (int i = 0; i < commands.size(); i++) {
+                if (errors[i] != null) {
+                    commands.get(i).result().completeExceptionally(errors[i]);
+                } else {
+                    commands.get(i).result().complete(userPoints[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 내역을 기록한 요청의 잔고를 기록합니다. 잔고 기록은 같은 값을 덮어쓰므로 실패하면 한 번 더 시도하고,
+     * 그래도 실패하면 내역만 남은 요청을 실패로 완료합니다.
+     */
+    private void writeBalance(long userId, long point, UserPoint[] userPoints, RuntimeException[] errors) {
+        try {
+            userPointCache.put(userId, point);
+        } catch (RuntimeException e) {
+            try {
+                userPointCache.put(userId, point);
+            } catch (RuntimeException retryFailure) {
+                log.error("포인트 내역은 기록되었으나 잔고 기록에 실패했습니다. userId={}, point={}", userId, point, retryFailure);
+                e.addSuppressed(retryFailure);
+                for (int i = 0; i < userPoints.length; i++) {
+                    if (userPoints[i] != null) {
+                        userPoints[i] = null;
+                        errors[i] = e;
+                    }
+                }
+            }
+        }
+    }
+
+    private UserPoint await(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdown();
+    }
+
+    private record Command(TransactionType type, long amount, CompletableFuture<UserPoint> result) {
+    }
+
+    private static final class Mailbox {
+
+        private final long userId;
+        private final ConcurrentLinkedQueue<Command> commands = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(long userId) {
+            this.userId = userId;
+        }
+    }
+}
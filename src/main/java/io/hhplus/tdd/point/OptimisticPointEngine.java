@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BalanceChange;
+import io.hhplus.tdd.database.JdbcPointStore;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointJdbcProperties;
+import io.hhplus.tdd.database.VersionedUserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM 의 사용자 락 없이 DB 잔고 행의 version 으로 동시 변경을 막는 엔진입니다.
+ * <p>
+ * 잔고와 version 을 읽어 검증한 뒤, version 이 그대로일 때만 잔고와 내역을 한 트랜잭션으로 반영하고,
+ * 그사이 다른 요청이나 다른 노드가 먼저 반영했으면 다시 읽어 처음부터 시도합니다.
+ * 같은 DB 를 쓰는 여러 노드가 같은 사용자를 동시에 변경해도 잔고가 유실되지 않습니다.
+ * 사용자별 내역과 요약은 DB 에서 읽으므로 다른 노드가 반영한 내역도 바로 조회됩니다.
+ * 이 노드가 반영한 내역은 커밋 순서대로 내역 인덱스에도 추가해 내보내기와 시간 구간별 집계에 사용합니다.
+ * 예약은 노드의 메모리에만 있어 다른 노드의 사용을 막지 못하므로 지원하지 않습니다(501).
+ * 모든 노드가 같은 DB 를 공유하므로 사용자를 노드 사이로 옮기는 샤딩({@code point.shard.enabled})과는 함께 사용할 수 없습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.type", havingValue = "optimistic")
+public class OptimisticPointEngine implements PointEngine {
+
+    private final JdbcPointStore jdbcPointStore;
+    private final PointMetrics pointMetrics;
+    private final int maxRetries;
+    private final Duration retryAfter;
+
+    public OptimisticPointEngine(JdbcPointStore jdbcPointStore, PointHistoryRepository pointHistoryRepository,
+                                 PointMetrics pointMetrics, PointJdbcProperties jdbcProperties, UserLockProperties lockProperties) {
+        this.jdbcPointStore = jdbcPointStore;
+        this.pointMetrics = pointMetrics;
+        this.maxRetries = jdbcProperties.maxRetries();
+        this.retryAfter = lockProperties.retryAfter();
+        jdbcPointStore.onCompareAndSetCommitted(pointHistoryRepository::index);
+        pointHistoryRepository.readHistoriesFrom(jdbcPointStore::selectHistories);
+    }
+
+    @Override
+    public UserPoint read(long userId) {
+        return jdbcPointStore.selectBalance(userId).userPoint();
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return apply(userId, TransactionType.CHARGE, amount);
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return apply(userId, TransactionType.USE, amount);
+    }
+
+    /**
+     * 두 사용자의 잔고 행을 함께 비교하므로, 한쪽이라도 그사이 바뀌었으면 양쪽 모두 반영하지 않고 다시 시도합니다.
+     */
+    @Override
+    public PointTransfer transfer(long senderId, long receiverId, long amount) {
+        for (int attempt = 0; attempt < maxRetries; attempt++) {
+            VersionedUserPoint sender = jdbcPointStore.selectBalance(senderId);
+            VersionedUserPoint receiver = jdbcPointStore.selectBalance(receiverId);
+
+            UserPointValidator.validateTransfer(senderId, receiverId, sender.userPoint().point(), receiver.userPoint().point(), amount);
+
+            long updateMillis = System.currentTimeMillis();
+            BalanceChange sent = BalanceChange.of(sender, TransactionType.USE, amount, updateMillis);
+            BalanceChange received = BalanceChange.of(receiver, TransactionType.CHARGE, amount, updateMillis);
+            if (jdbcPointStore.compareAndSet(List.of(sent, received))) {
+                return new PointTransfer(sent.userPoint(), received.userPoint());
+            }
+        }
+        throw reject();
+    }
+
+    @Override
+    public List<PointOperationResult> applyAll(long userId, List<PointOperation> operations) {
+        List<PointOperationResult> results = new ArrayList<>(operations.size());
+        for (PointOperation operation : operations) {
+            try {
+                UserPoint userPoint = apply(userId, operation.type(), operation.amount());
+                results.add(PointOperationResult.success(operation, userPoint.point()));
+            } catch (IllegalArgumentException | IllegalStateException | PointBusyException e) {
+                results.add(PointOperationResult.failure(operation, e));
+            }
+        }
+        return results;
+    }
+
+    private UserPoint apply(long userId, TransactionType type, long amount) {
+        for (int attempt = 0; attempt < maxRetries; attempt++) {
+            VersionedUserPoint current = jdbcPointStore.selectBalance(userId);
+
+            UserPointValidator.validateOperation(type, current.userPoint().point(), amount);
+
+            BalanceChange change = BalanceChange.of(current, type, amount, System.currentTimeMillis());
+            if (jdbcPointStore.compareAndSet(List.of(change))) {
+                return change.userPoint();
+            }
+        }
+        throw reject();
+    }
+
+    private PointBusyException reject() {
+        pointMetrics.recordLockRejected("version-conflict");
+        return new PointBusyException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", retryAfter);
+    }
+}
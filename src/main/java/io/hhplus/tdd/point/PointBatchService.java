@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 여러 사용자의 포인트 충전/사용 요청을 사용자별로 묶어 처리합니다.
+ * 같은 사용자의 요청은 요청 순서대로 한 번의 락 안에서 처리하고, 서로 다른 사용자는 병렬로 처리합니다.
+ */
+@Service
+public class PointBatchService {
+
+    private final PointService pointService;
+    private final PointBatchProperties properties;
+    private final ExecutorService executor;
+
+    public PointBatchService(PointService pointService, PointBatchProperties properties, PointExecutors pointExecutors) {
+        this.pointService = pointService;
+        this.properties = properties;
+        this.executor = pointExecutors.newExecutor("point-batch", properties.parallelism());
+    }
+
+    /**
+     * 요청 순서와 같은 순서로 각 요청의 처리 결과를 반환합니다.
+     * 한 사용자의 묶음이 예외로 끝나도 다른 사용자의 결과는 그대로 반환하고, 그 사용자의 요청만 실패 결과로 반환합니다.
+     */
+    public List<PointOperationResult> apply(List<PointOperation> operations) {
+        if (operations.size() > properties.maxOperations()) {
+            throw new IllegalArgumentException("일괄 처리는 한 번에 최대 " + properties.maxOperations() + "건까지 요청할 수 있습니다.");
+        }
+
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), key -> new ArrayList<>()).add(i);
+        }
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) -> {
+            List<PointOperation> userOperations = indexes.stream().map(operations::get).toList();
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> pointService.applyOperations(userId, userOperations), executor)
+                    .exceptionally(error -> failures(userOperations, error))
+                    .thenAccept(userResults -> {
+                        for (int i = 0; i < indexes.size(); i++) {
+                            results[indexes.get(i)] = userResults.get(i);
+                        }
+                    }));
+        });
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return Arrays.asList(results);
+    }
+
+    private static List<PointOperationResult> failures(List<PointOperation> operations, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        RuntimeException failure = cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        return operations.stream().map(operation -> PointOperationResult.failure(operation, failure)).toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+}
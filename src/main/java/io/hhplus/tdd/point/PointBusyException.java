@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+/**
+ * 사용자 락을 기다리는 요청이 너무 많거나 대기 시간을 넘겨 요청을 처리하지 않고 거절했음을 나타냅니다.
+ * 잔고와 내역은 변경되지 않았으므로 {@link #retryAfter()} 이후 같은 요청을 다시 보낼 수 있습니다.
+ */
+public class PointBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PointBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
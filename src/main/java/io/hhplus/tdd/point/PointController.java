@@ -1,11 +1,20 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
@@ -14,7 +23,14 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    /**
+     * 충전/사용 요청에 이 헤더로 키를 보내면, 재시도한 요청은 다시 처리하지 않고 처음 요청의 결과를 반환합니다.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final ObjectMapper objectMapper;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
@@ -27,34 +43,129 @@ public class PointController {
     }
 
     /**
-     * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 페이지 단위 조회합니다.
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 전달하면 이어서 조회할 수 있습니다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public PointHistoryPage history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + PointHistoryPageRequest.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return pointService.getPointHistoryPage(id, new PointHistoryPageRequest(cursor, size, from, to));
+    }
+
+    /**
+     * 특정 유저의 충전/사용 합계와 내역 수, 첫/마지막 내역 시각을 조회합니다. 내역 수와 관계없이 일정한 비용으로 조회합니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return pointService.getPointHistoriesByUserId(id);
+        return pointService.getPointSummary(id);
+    }
+
+    /**
+     * 포인트 내역을 한 줄에 하나씩 JSON 으로(NDJSON) 스트리밍합니다.
+     * 응답은 비동기 작업 스레드에서 작성되므로 내보내는 동안 서블릿 스레드를 점유하지 않습니다.
+     */
+    @GetMapping(value = "histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportHistories(
+            @RequestParam(required = false) Set<Long> userIds,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class);
+        return outputStream -> {
+            BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+            try (Stream<PointHistory> histories = pointService.streamPointHistories(userIds, from, to)) {
+                Iterator<PointHistory> iterator = histories.iterator();
+                while (iterator.hasNext()) {
+                    bufferedOutputStream.write(writer.writeValueAsBytes(iterator.next()));
+                    bufferedOutputStream.write('\n');
+                }
+            }
+            bufferedOutputStream.flush();
+        };
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(id, amount);
+        return pointService.chargeUserPointAsync(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return pointService.usePointAsync(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 한 사용자의 포인트를 다른 사용자에게 이전합니다. 두 사용자의 내역이 함께 기록되며 한쪽만 반영되지 않습니다.
+     */
+    @PostMapping("transfer")
+    public PointTransfer transfer(
+            @RequestBody PointTransferRequest request
+    ) {
+        return pointService.transfer(request.senderId(), request.receiverId(), request.amount());
+    }
+
+    /**
+     * 결제처럼 나중에 확정할 사용을 위해 포인트를 예약합니다. 예약한 포인트는 바로 사용 가능한 포인트에서 빠지며,
+     * 만료 시간까지 확정하지 않으면 자동으로 취소됩니다.
+     */
+    @PostMapping("{id}/holds")
+    public PointHold hold(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody PointHoldRequest request
+    ) {
+        return pointService.holdPoint(id, request.amount(), request.ttl());
+    }
+
+    /**
+     * 예약을 확정해 예약한 포인트를 사용합니다.
+     */
+    @PostMapping("{id}/holds/{holdId}/capture")
+    public UserPoint capture(
+            @PathVariable long id,
+            @PathVariable long holdId
+    ) {
+        return pointService.capturePoint(id, holdId);
+    }
+
+    /**
+     * 예약을 취소해 예약한 포인트를 다시 사용할 수 있게 합니다.
+     */
+    @PostMapping("{id}/holds/{holdId}/release")
+    public PointHold release(
+            @PathVariable long id,
+            @PathVariable long holdId
+    ) {
+        return pointService.releasePoint(id, holdId);
+    }
+
+    /**
+     * 여러 사용자의 포인트 충전/사용을 한 번에 처리합니다. 요청 순서대로 건별 성공 여부와 실패 사유를 반환합니다.
+     */
+    @PostMapping("batch")
+    public List<PointOperationResult> batch(
+            @RequestBody List<PointOperation> operations
     ) {
-        return pointService.usePoint(id, amount);
+        return pointBatchService.apply(operations);
     }
 }
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 사용자 포인트의 조회와 충전/사용을 수행하는 동시성 제어 엔진입니다.
+ * {@code point.engine.type} 설정으로 구현체를 선택하며, 구현체와 관계없이 검증 규칙과 결과는 같아야 합니다.
+ */
+public interface PointEngine {
+
+    UserPoint read(long userId);
+
+    UserPoint charge(long userId, long amount);
+
+    UserPoint use(long userId, long amount);
+
+    /**
+     * 충전 결과를 비동기로 반환합니다. 기본 구현은 호출한 스레드에서 바로 처리합니다.
+     */
+    default CompletableFuture<UserPoint> chargeAsync(long userId, long amount) {
+        try {
+            return CompletableFuture.completedFuture(charge(userId, amount));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 사용 결과를 비동기로 반환합니다. 기본 구현은 호출한 스레드에서 바로 처리합니다.
+     */
+    default CompletableFuture<UserPoint> useAsync(long userId, long amount) {
+        try {
+            return CompletableFuture.completedFuture(use(userId, amount));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 보내는 사용자의 포인트를 받는 사용자에게 옮깁니다. 두 사용자의 사용/충전 내역이 함께 기록되며, 한쪽만 반영되지 않습니다.
+     * 기본 구현은 지원하지 않습니다.
+     *
+     * @throws PointUnsupportedOperationException 두 사용자의 잔고를 함께 반영할 수 없는 엔진인 경우
+     */
+    default PointTransfer transfer(long senderId, long receiverId, long amount) {
+        throw new PointUnsupportedOperationException("현재 포인트 엔진은 포인트 이전을 지원하지 않습니다.");
+    }
+
+    /**
+     * 사용 가능한 포인트(잔고 - 예약된 포인트)에서 예약합니다. 잔고와 내역은 확정할 때 반영됩니다. 기본 구현은 지원하지 않습니다.
+     *
+     * @param ttl 만료 시간 (null 이면 기본 만료 시간)
+     * @throws PointUnsupportedOperationException 예약 합계를 잔고와 함께 검증할 수 없는 엔진인 경우
+     */
+    default PointHold hold(long userId, long amount, Duration ttl) {
+        throw new PointUnsupportedOperationException("현재 포인트 엔진은 포인트 예약을 지원하지 않습니다.");
+    }
+
+    /**
+     * 예약을 확정해 예약한 포인트의 사용 내역과 잔고를 기록합니다. 기본 구현은 지원하지 않습니다.
+     *
+     * @throws PointUnsupportedOperationException 예약을 지원하지 않는 엔진인 경우
+     */
+    default UserPoint capture(long userId, long holdId) {
+        throw new PointUnsupportedOperationException("현재 포인트 엔진은 포인트 예약을 지원하지 않습니다.");
+    }
+
+    /**
+     * 예약을 취소합니다. 기본 구현은 지원하지 않습니다.
+     *
+     * @throws PointUnsupportedOperationException 예약을 지원하지 않는 엔진인 경우
+     */
+    default PointHold release(long userId, long holdId) {
+        throw new PointUnsupportedOperationException("현재 포인트 엔진은 포인트 예약을 지원하지 않습니다.");
+    }
+
+    /**
+     * 한 사용자의 여러 요청을 순서대로 처리하고, 요청마다 성공 여부와 실패 사유를 반환합니다.
+     */
+    List<PointOperationResult> applyAll(long userId, List<PointOperation> operations);
+}
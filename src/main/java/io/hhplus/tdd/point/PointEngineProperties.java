@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 엔진 설정
+ * - type : lock (사용자별 ReentrantLock), cas (메모리 잔고 CAS + 비동기 기록), mailbox (사용자별 큐 + 단일 처리 스레드),
+ *          optimistic (DB 잔고 행의 version 비교, point.jdbc.enabled 필요)
+ * - persistThreads : cas 엔진에서 테이블 기록을 수행할 스레드 수
+ * - persistRetryBackoff / persistMaxBackoff : cas 엔진에서 기록에 실패한 사용자를 다시 기록하기까지 기다리는 시간의 시작값과 최댓값 (실패할 때마다 두 배)
+ * - persistMaxRetries : cas 엔진에서 이 횟수만큼 연속으로 기록에 실패하면 기록될 때까지 그 사용자의 충전/사용을 거절
+ * - mailboxThreads : mailbox 엔진에서 사용자별 큐를 처리할 스레드 수
+ * - mailboxBatchSize : mailbox 엔진에서 한 번에 합쳐 처리할 최대 요청 수
+ */
+@ConfigurationProperties("point.engine")
+public record PointEngineProperties(
+        @DefaultValue("lock") Type type,
+        @DefaultValue("8") int persistThreads,
+        @DefaultValue("100ms") Duration persistRetryBackoff,
+        @DefaultValue("10s") Duration persistMaxBackoff,
+        @DefaultValue("5") int persistMaxRetries,
+        @DefaultValue("16") int mailboxThreads,
+        @DefaultValue("100") int mailboxBatchSize
+) {
+
+    public enum Type {
+        LOCK, CAS, MAILBOX, OPTIMISTIC
+    }
+}
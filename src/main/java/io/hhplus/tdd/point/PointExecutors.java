@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 포인트 처리에 사용하는 실행기를 만듭니다.
+ * {@code spring.threads.virtual.enabled=true} 이면 작업마다 가상 스레드를, 아니면 고정 크기의 플랫폼 스레드 풀을 사용합니다.
+ */
+@Component
+public class PointExecutors {
+
+    private final boolean virtual;
+
+    @Autowired
+    public PointExecutors(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+    }
+
+    public PointExecutors(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    /**
+     * @param name            스레드 이름 접두어
+     * @param platformThreads 플랫폼 스레드 모드에서의 스레드 수 (가상 스레드 모드에서는 사용하지 않음)
+     */
+    public ExecutorService newExecutor(String name, int platformThreads) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 한 페이지와, 다음 페이지 조회에 사용할 커서입니다. 다음 페이지가 없으면 nextCursor 는 null 입니다.
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 페이지 조회 조건
+ * - cursor : 이전 페이지의 마지막 내역 ID (해당 ID 이후부터 조회, null 이면 처음부터)
+ * - size : 페이지 크기
+ * - from : 조회할 updateMillis 하한 (포함, null 이면 제한 없음)
+ * - to : 조회할 updateMillis 상한 (미포함, null 이면 제한 없음)
+ */
+public record PointHistoryPageRequest(
+        Long cursor,
+        int size,
+        Long from,
+        Long to
+) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public PointHistoryPageRequest {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_SIZE + " 이하여야 합니다.");
+        }
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+        }
+    }
+
+    public static PointHistoryPageRequest first(int size) {
+        return new PointHistoryPageRequest(null, size, null, null);
+    }
+}
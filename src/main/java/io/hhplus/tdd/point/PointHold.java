@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 예약입니다. 예약한 포인트는 확정(capture)하거나 취소(release)하기 전까지 사용할 수 없고,
+ * {@code expiresAtMillis} 까지 확정하지 않으면 자동으로 취소됩니다.
+ */
+public record PointHold(
+        long id,
+        long userId,
+        long amount,
+        long expiresAtMillis,
+        Status status
+) {
+
+    public enum Status {
+        HELD, CAPTURED, RELEASED, EXPIRED
+    }
+
+    public PointHold withStatus(Status status) {
+        return new PointHold(id, userId, amount, expiresAtMillis, status);
+    }
+}
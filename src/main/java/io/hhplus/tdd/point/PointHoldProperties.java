@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 예약(hold) 설정
+ * - defaultTtl : 만료 시간을 지정하지 않은 예약의 만료 시간
+ * - maxTtl : 지정할 수 있는 최대 만료 시간
+ * - tick : 만료된 예약을 확인하는 주기 (timer wheel 의 슬롯 하나가 담당하는 시간)
+ * - wheelSize : timer wheel 의 슬롯 수 (tick * wheelSize 보다 먼 만료는 다음 바퀴에서 처리)
+ */
+@ConfigurationProperties("point.hold")
+public record PointHoldProperties(
+        @DefaultValue("5m") Duration defaultTtl,
+        @DefaultValue("30m") Duration maxTtl,
+        @DefaultValue("100ms") Duration tick,
+        @DefaultValue("512") int wheelSize
+) {
+}
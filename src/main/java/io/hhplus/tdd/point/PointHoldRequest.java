@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+/**
+ * 포인트 예약 요청입니다. {@code ttlSeconds} 를 생략하면 기본 만료 시간을 사용합니다.
+ */
+public record PointHoldRequest(
+        long amount,
+        Long ttlSeconds
+) {
+
+    public Duration ttl() {
+        return ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds);
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 예약의 만료 시각을 tick 단위 슬롯에 나눠 담는 hashed timer wheel 입니다.
+ * <p>
+ * 등록은 만료 시각이 속한 슬롯에 넣기만 하므로 O(1) 이고, 한 tick 에는 그 슬롯에 담긴 항목만 확인합니다.
+ * 취소는 따로 하지 않고, 만료 시 예약이 이미 확정/취소되어 없으면 건너뜁니다.
+ * 한 바퀴({@code tick * size})보다 먼 만료 시각은 슬롯에 남겨 두었다가 다음 바퀴에서 다시 확인합니다.
+ * <p>
+ * 등록과 슬롯 확인은 같은 락으로 보호해, 확인 중인 슬롯에 등록되어 한 바퀴 늦게 만료되는 일이 없도록 합니다.
+ * 만료된 항목은 락을 놓은 뒤 전달하므로 전달받은 쪽에서 다시 등록할 수 있습니다.
+ */
+final class PointHoldTimerWheel {
+
+    private final long tickMillis;
+    private final List<ArrayDeque<Entry>> slots;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // lock 으로 보호된다.
+    private long lastTick;
+
+    PointHoldTimerWheel(long tickMillis, int size, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.lastTick = nowMillis / tickMillis;
+    }
+
+    void schedule(long deadlineMillis, long userId, long holdId) {
+        lock.lock();
+        try {
+            // 이미 지나간 tick 의 슬롯에 넣으면 한 바퀴 뒤에야 확인되므로 다음 tick 으로 당긴다.
+            long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, lastTick + 1);
+            slotOf(tick).add(new Entry(deadlineMillis, userId, holdId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지난 호출 이후 지나간 tick 의 슬롯을 확인해 만료 시각이 지난 항목을 전달합니다.
+     * 한 바퀴 이상 늦었더라도 모든 슬롯을 한 번씩만 확인합니다.
+     */
+    void advance(long nowMillis, Consumer<Entry> expired) {
+        List<Entry> expiredEntries = new ArrayList<>();
+        lock.lock();
+        try {
+            long currentTick = nowMillis / tickMillis;
+            long from = Math.max(lastTick + 1, currentTick - slots.size() + 1);
+            for (long tick = from; tick <= currentTick; tick++) {
+                ArrayDeque<Entry> slot = slotOf(tick);
+                for (int i = slot.size(); i > 0; i--) {
+                    Entry candidate = slot.poll();
+                    if (candidate.deadlineMillis() <= nowMillis) {
+                        expiredEntries.add(candidate);
+                    } else {
+                        slot.add(candidate);
+                    }
+                }
+            }
+            lastTick = Math.max(lastTick, currentTick);
+        } finally {
+            lock.unlock();
+        }
+        expiredEntries.forEach(expired);
+    }
+
+    private ArrayDeque<Entry> slotOf(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    record Entry(long deadlineMillis, long userId, long holdId) {
+    }
+}
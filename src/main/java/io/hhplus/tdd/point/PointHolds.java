@@ -0,0 +1,239 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 포인트 예약(hold)을 메모리에 보관합니다.
+ * <p>
+ * 사용자마다 예약 목록과 예약 합계를 함께 두므로, 사용 가능한 포인트(잔고 - 예약 합계)는 예약 수와 관계없이 O(1) 로 확인합니다.
+ * 예약 합계가 잔고를 넘지 않도록 예약과 확정은 사용자 락을 잡은 상태에서 호출해야 하며,
+ * 취소와 만료는 사용 가능한 포인트를 늘리기만 하므로 사용자 락 없이 수행합니다.
+ * 확정하지 않은 예약은 {@link PointHoldTimerWheel} 로 {@code tick} 마다 확인해 자동으로 취소합니다.
+ */
+@Component
+public class PointHolds {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHolds.class);
+
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final LongSupplier clock;
+    private final PointHoldTimerWheel timerWheel;
+    private final ScheduledExecutorService expirer;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, UserHolds> users = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PointHolds(PointHoldProperties properties) {
+        this(properties, System::currentTimeMillis, true);
+    }
+
+    PointHolds(PointHoldProperties properties, LongSupplier clock) {
+        this(properties, clock, false);
+    }
+
+    private PointHolds(PointHoldProperties properties, LongSupplier clock, boolean startExpirer) {
+        this.defaultTtl = properties.defaultTtl();
+        this.maxTtl = properties.maxTtl();
+        this.clock = clock;
+        this.timerWheel = new PointHoldTimerWheel(properties.tick().toMillis(), properties.wheelSize(), clock.getAsLong());
+        this.expirer = startExpirer ? startExpirer(properties.tick()) : null;
+    }
+
+    /**
+     * 확정하지 않은 예약의 포인트 합계를 반환합니다.
+     */
+    public long heldPoint(long userId) {
+        UserHolds holds = users.get(userId);
+        return holds == null ? 0L : holds.heldPoint;
+    }
+
+    /**
+     * 사용 가능한 포인트 안에서 예약합니다. 사용자 락을 잡은 상태에서 호출해야 합니다.
+     *
+     * @param point 현재 잔고
+     * @param ttl   만료 시간 (null 이면 기본 만료 시간)
+     */
+    public PointHold hold(long userId, long point, long amount, Duration ttl) {
+        Duration expiresIn = ttl == null ? defaultTtl : ttl;
+        if (expiresIn.isNegative() || expiresIn.isZero() || expiresIn.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("예약 만료 시간은 0 보다 크고 " + maxTtl + " 이하여야 합니다.");
+        }
+
+        PointHold hold = new PointHold(sequence.incrementAndGet(), userId, amount,
+                clock.getAsLong() + expiresIn.toMillis(), PointHold.Status.HELD);
+        add(hold, point);
+        timerWheel.schedule(hold.expiresAtMillis(), userId, hold.id());
+        return hold;
+    }
+
+    /**
+     * 확정할 예약을 꺼냅니다. 사용자 락을 잡은 상태에서 호출해야 하며, 잔고 기록에 실패하면 {@link #restore(PointHold)} 로 되돌립니다.
+     *
+     * @throws IllegalStateException 예약이 없거나 이미 확정/취소/만료된 경우
+     */
+    public PointHold take(long userId, long holdId) {
+        PointHold hold = remove(userId, holdId);
+        if (hold == null || hold.expiresAtMillis() <= clock.getAsLong()) {
+            throw PointRejection.HOLD_NOT_FOUND.exception();
+        }
+        return hold;
+    }
+
+    /**
+     * {@link #take(long, long)} 로 꺼낸 예약을 다시 넣습니다. 만료 시각은 그대로 유지합니다.
+     */
+    public void restore(PointHold hold) {
+        add(hold, Long.MAX_VALUE);
+        timerWheel.schedule(hold.expiresAtMillis(), hold.userId(), hold.id());
+    }
+
+    /**
+     * 예약을 취소해 예약한 포인트를 다시 사용할 수 있게 합니다.
+     *
+     * @throws IllegalStateException 예약이 없거나 이미 확정/취소/만료된 경우
+     */
+    public PointHold release(long userId, long holdId) {
+        PointHold hold = remove(userId, holdId);
+        if (hold == null) {
+            throw PointRejection.HOLD_NOT_FOUND.exception();
+        }
+        return hold.withStatus(PointHold.Status.RELEASED);
+    }
+
+    /**
+     * 다른 노드로 옮길 사용자의 예약을 모두 꺼냅니다. 사용자 락을 잡은 상태에서 호출해야 합니다.
+     * 꺼낸 뒤에는 이 노드에서 확정하거나 취소할 수 없고, 옮기지 못하면 {@link #moveIn(List)} 로 되돌립니다.
+     */
+    public List<PointHold> moveOut(long userId) {
+        UserHolds holds = users.get(userId);
+        if (holds == null) {
+            return List.of();
+        }
+        synchronized (holds) {
+            List<PointHold> moved = List.copyOf(holds.holds.values());
+            holds.holds.clear();
+            holds.heldPoint = 0L;
+            holds.removed = true;
+            users.remove(userId, holds);
+            return moved;
+        }
+    }
+
+    /**
+     * 다른 노드에서 옮겨 온 예약을 ID 와 만료 시각 그대로 넣습니다. 이미 만료된 예약은 버립니다.
+     * 이후 새로 만드는 예약의 ID 가 옮겨 온 예약과 겹치지 않도록 ID 순번을 앞당깁니다.
+     */
+    public void moveIn(List<PointHold> holds) {
+        long now = clock.getAsLong();
+        for (PointHold hold : holds) {
+            sequence.accumulateAndGet(hold.id(), Math::max);
+            if (hold.expiresAtMillis() > now) {
+                restore(hold);
+            }
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 예약을 취소합니다. {@code tick} 마다 호출됩니다.
+     *
+     * @return 취소한 예약 수
+     */
+    int expire() {
+        int[] expired = new int[1];
+        timerWheel.advance(clock.getAsLong(), entry -> {
+            if (remove(entry.userId(), entry.holdId()) != null) {
+                expired[0]++;
+            }
+        });
+        return expired[0];
+    }
+
+    @PreDestroy
+    public void close() {
+        if (expirer != null) {
+            expirer.shutdown();
+        }
+    }
+
+    private void add(PointHold hold, long point) {
+        while (true) {
+            UserHolds holds = users.computeIfAbsent(hold.userId(), userId -> new UserHolds());
+            synchronized (holds) {
+                // 비어서 제거된 목록을 받았다면 새 목록을 다시 만든다.
+                if (holds.removed) {
+                    continue;
+                }
+                UserPointValidator.validateHold(point, holds.heldPoint, hold.amount());
+                holds.holds.put(hold.id(), hold);
+                holds.heldPoint += hold.amount();
+                return;
+            }
+        }
+    }
+
+    private PointHold remove(long userId, long holdId) {
+        UserHolds holds = users.get(userId);
+        if (holds == null) {
+            return null;
+        }
+        synchronized (holds) {
+            PointHold hold = holds.holds.remove(holdId);
+            if (hold == null) {
+                return null;
+            }
+            holds.heldPoint -= hold.amount();
+            // 비어 있는 목록은 제거해 사용자 수만큼 쌓이지 않게 한다.
+            if (holds.holds.isEmpty()) {
+                holds.removed = true;
+                users.remove(userId, holds);
+            }
+            return hold;
+        }
+    }
+
+    private ScheduledExecutorService startExpirer(Duration tick) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-hold-expirer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = tick.toMillis();
+        executor.scheduleWithFixedDelay(this::expireQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private void expireQuietly() {
+        try {
+            int expired = expire();
+            if (expired > 0) {
+                log.debug("만료된 포인트 예약 {}건을 취소했습니다.", expired);
+            }
+        } catch (RuntimeException e) {
+            log.error("포인트 예약 만료 처리에 실패했습니다.", e);
+        }
+    }
+
+    private static final class UserHolds {
+
+        private final Map<Long, PointHold> holds = new HashMap<>();
+        private volatile long heldPoint;
+        private boolean removed;
+    }
+}
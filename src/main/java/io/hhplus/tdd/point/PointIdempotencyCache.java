@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 멱등 키로 충전/사용 결과를 일정 시간 보관합니다.
+ * <p>
+ * 같은 키로 다시 요청하면 락과 테이블을 거치지 않고 보관된 결과를 반환하며,
+ * 처리 중인 요청과 같은 키로 동시에 요청하면 다시 실행하지 않고 처리 중인 결과를 함께 기다립니다.
+ * 실패한 요청은 보관하지 않으므로 같은 키로 다시 시도할 수 있습니다.
+ */
+@Component
+public class PointIdempotencyCache {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final PointIdempotencyProperties properties;
+    private final LongSupplier nanoClock;
+
+    // 보관 시간이 모두 같으므로 추가 순서가 곧 만료 순서다.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    public PointIdempotencyCache(PointIdempotencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    PointIdempotencyCache(PointIdempotencyProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 같은 사용자, 같은 키의 결과가 있으면 그 결과를, 없으면 {@code action} 을 실행한 결과를 반환합니다.
+     *
+     * @throws IllegalArgumentException 키가 올바르지 않거나, 같은 키로 다른 거래를 요청한 경우
+     */
+    public CompletableFuture<UserPoint> execute(long userId, String idempotencyKey, TransactionType type, long amount,
+                                                Supplier<CompletableFuture<UserPoint>> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("멱등 키는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        Key key = new Key(userId, idempotencyKey);
+        Entry entry;
+        synchronized (entries) {
+            long now = nanoClock.getAsLong();
+            evictExpired(now);
+
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (existing.type() != type || existing.amount() != amount) {
+                    throw new IllegalArgumentException("같은 멱등 키로 다른 거래를 요청할 수 없습니다.");
+                }
+                return existing.result().copy();
+            }
+
+            entry = new Entry(type, amount, new CompletableFuture<>(), now + properties.ttl().toNanos());
+            entries.put(key, entry);
+            if (entries.size() > properties.maxSize()) {
+                Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, error) -> {
+            if (error != null) {
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.result().completeExceptionally(error);
+            } else {
+                entry.result().complete(userPoint);
+            }
+        });
+        return entry.result().copy();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAtNanos() - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(TransactionType type, long amount, CompletableFuture<UserPoint> result, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 멱등 키(Idempotency-Key) 결과 보관 설정
+ * - maxSize : 보관할 최대 결과 수 (초과 시 가장 먼저 보관한 결과부터 제거)
+ * - ttl : 결과를 보관하는 시간 (이후 같은 키로 요청하면 새 요청으로 처리)
+ */
+@ConfigurationProperties("point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
@@ -0,0 +1,191 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 처리 구간별 지표를 기록합니다. actuator 의 {@code /actuator/prometheus} 로 노출됩니다.
+ * <ul>
+ *     <li>point.lock.wait / point.lock.hold : 사용자 락 획득 대기 시간과 점유 시간</li>
+ *     <li>point.table : 테이블 호출 시간 (table, operation 태그)</li>
+ *     <li>point.mutation : 거래 종류별 처리 결과 (type, outcome 태그 - success, rejected, shed, error)</li>
+ *     <li>point.rejection : 검증 거절 사유별 횟수 (type, reason 태그)</li>
+ *     <li>point.lock.rejected : 락 대기 제한으로 거절한 횟수 (reason 태그)</li>
+ *     <li>point.lock.queued.total / point.lock.queued.max : 전체 락 대기 스레드 수와 가장 붐비는 stripe 의 대기 스레드 수</li>
+ *     <li>point.lock.queued.user : 락 대기 스레드가 가장 많은 사용자 10명의 대기 스레드 수 (user 태그)</li>
+ *     <li>point.cas.persist.failure / point.cas.suspended : cas 엔진의 기록 실패 횟수와 기록이 계속 실패해 충전/사용을 거절 중인 사용자 수</li>
+ * </ul>
+ */
+@Component
+public class PointMetrics {
+
+    private static final int HOT_USER_LIMIT = 10;
+
+    // 한 번의 scrape 에서 읽는 락 게이지들이 stripe 를 한 번만 훑도록 통계를 이 시간 동안 재사용한다.
+    private static final long LOCK_STATS_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final Map<TableCall, Timer> tableTimers = new EnumMap<>(TableCall.class);
+    private final Map<TransactionType, Counter> successCounters = new EnumMap<>(TransactionType.class);
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWait = Timer.builder("point.lock.wait")
+                .description("사용자 락 획득까지 기다린 시간")
+                .register(meterRegistry);
+        this.lockHold = Timer.builder("point.lock.hold")
+                .description("사용자 락을 점유한 시간")
+                .register(meterRegistry);
+        for (TableCall call : TableCall.values()) {
+            tableTimers.put(call, Timer.builder("point.table")
+                    .tag("table", call.table)
+                    .tag("operation", call.operation)
+                    .register(meterRegistry));
+        }
+        for (TransactionType type : TransactionType.values()) {
+            successCounters.put(type, mutationCounter(type, "success"));
+        }
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(long nanos) {
+        lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param reason queue_full (대기 스레드 수 제한), timeout (대기 시간 초과), interrupted
+     */
+    public void recordLockRejected(String reason) {
+        meterRegistry.counter("point.lock.rejected", "reason", reason).increment();
+    }
+
+    public <T> T recordTable(TableCall call, Supplier<T> supplier) {
+        return tableTimers.get(call).record(supplier);
+    }
+
+    /**
+     * 거래 결과를 집계합니다. 검증 거절은 예외에 담긴 거절 사유별로, 그 밖의 실패는 error 로 집계합니다.
+     *
+     * @param error 실패 원인 (성공이면 null)
+     */
+    public void recordMutation(TransactionType type, Throwable error) {
+        if (type == null) {
+            return;
+        }
+        if (error == null) {
+            successCounters.get(type).increment();
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof PointBusyException) {
+            mutationCounter(type, "shed").increment();
+            return;
+        }
+        if (!(cause instanceof IllegalArgumentException) && !(cause instanceof IllegalStateException)) {
+            mutationCounter(type, "error").increment();
+            return;
+        }
+        mutationCounter(type, "rejected").increment();
+        String reason = PointRejection.of(cause)
+                .map(rejection -> rejection.name().toLowerCase(Locale.ROOT))
+                .orElse("unknown");
+        meterRegistry.counter("point.rejection", "type", tagOf(type), "reason", reason).increment();
+    }
+
+    public void registerLockStats(UserLockRegistry userLockRegistry) {
+        MultiGauge hotUsers = MultiGauge.builder("point.lock.queued.user")
+                .description("락 대기 스레드가 가장 많은 사용자의 대기 스레드 수")
+                .register(meterRegistry);
+        LockStatsCache lockStats = new LockStatsCache(userLockRegistry, hotUsers);
+        Gauge.builder("point.lock.queued.total", lockStats, stats -> stats.get().queuedThreads())
+                .description("전체 락 대기 스레드 수")
+                .register(meterRegistry);
+        Gauge.builder("point.lock.queued.max", lockStats, stats -> stats.get().maxQueuedThreads())
+                .description("대기 스레드가 가장 많은 stripe 의 대기 스레드 수")
+                .register(meterRegistry);
+        Gauge.builder("point.lock.locked", lockStats, stats -> stats.get().lockedStripes())
+                .description("잠겨 있는 stripe 수")
+                .register(meterRegistry);
+    }
+
+    public void recordPersistFailure() {
+        meterRegistry.counter("point.cas.persist.failure").increment();
+    }
+
+    public void registerPersistSuspended(Supplier<Number> suspendedUsers) {
+        Gauge.builder("point.cas.suspended", suspendedUsers)
+                .description("기록이 계속 실패해 충전/사용을 거절 중인 사용자 수")
+                .register(meterRegistry);
+    }
+
+    private Counter mutationCounter(TransactionType type, String outcome) {
+        return meterRegistry.counter("point.mutation", "type", tagOf(type), "outcome", outcome);
+    }
+
+    private static String tagOf(TransactionType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 락 통계를 잠시 보관하고, 새로 읽을 때 사용자별 대기 스레드 수 게이지도 함께 갱신합니다.
+     * 사용자별 게이지는 마지막으로 통계를 읽은 시점에 대기 중이던 사용자만 남깁니다.
+     */
+    private static final class LockStatsCache {
+
+        private final UserLockRegistry userLockRegistry;
+        private final MultiGauge hotUsers;
+
+        // this 로 보호된다.
+        private UserLockStats stats;
+        private long refreshedNanos;
+
+        private LockStatsCache(UserLockRegistry userLockRegistry, MultiGauge hotUsers) {
+            this.userLockRegistry = userLockRegistry;
+            this.hotUsers = hotUsers;
+        }
+
+        synchronized UserLockStats get() {
+            long now = System.nanoTime();
+            if (stats == null || now - refreshedNanos >= LOCK_STATS_TTL_NANOS) {
+                stats = userLockRegistry.stats();
+                refreshedNanos = now;
+                hotUsers.register(userLockRegistry.hotUsers(HOT_USER_LIMIT).entrySet().stream()
+                        .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(Tags.of("user", String.valueOf(entry.getKey())), entry.getValue()))
+                        .toList(), true);
+            }
+            return stats;
+        }
+    }
+
+    public enum TableCall {
+        USER_POINT_SELECT("user_point", "select"),
+        USER_POINT_UPSERT("user_point", "upsert"),
+        POINT_HISTORY_INSERT("point_history", "insert"),
+        WAL_APPEND("point_wal", "append");
+
+        private final String table;
+        private final String operation;
+
+        TableCall(String table, String operation) {
+            this.table = table;
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 충전/사용 기록 설정
+ * - parallelWrites : true 이면 내역 기록과 잔고 기록을 동시에 수행
+ * - writeThreads : 내역 기록을 수행할 스레드 수
+ */
+@ConfigurationProperties("point.mutation")
+public record PointMutationProperties(
+        @DefaultValue("true") boolean parallelWrites,
+        @DefaultValue("16") int writeThreads
+) {
+}
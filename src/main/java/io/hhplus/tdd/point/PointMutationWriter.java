@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 충전/사용 한 건의 내역 기록과 잔고 기록을 수행합니다.
+ * <p>
+ * 두 기록은 서로 의존하지 않으므로 동시에 수행해 사용자 락을 잡고 있는 시간을 줄입니다.
+ * 호출한 쪽에서는 둘 다 반영되었거나 둘 다 반영되지 않은 것으로 볼 수 있도록 한쪽만 실패하면 다음과 같이 보정합니다.
+ * <ul>
+ *     <li>내역 기록이 실패하면 잔고를 거래 전 포인트로 되돌린 뒤 예외를 던집니다.</li>
+ *     <li>잔고 기록만 실패하면 내역은 삭제할 수 없으므로 잔고 기록을 한 번 더 시도해 거래를 마저 반영합니다.
+ *     잔고 기록은 같은 값을 덮어쓰므로 다시 시도해도 안전합니다.</li>
+ * </ul>
+ * 실제로 일어나지 않은 거래의 내역을 추가해 상쇄하지 않습니다.
+ */
+@Component
+public class PointMutationWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointMutationWriter.class);
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final ExecutorService historyWriter;
+
+    public PointMutationWriter(UserPointCache userPointCache, PointHistoryRepository pointHistoryRepository,
+                               PointMutationProperties properties, PointExecutors pointExecutors) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.historyWriter = properties.parallelWrites()
+                ? pointExecutors.newExecutor("point-history-writer", properties.writeThreads())
+                : null;
+    }
+
+    /**
+     * 사용자 락을 잡은 상태에서 호출해야 합니다.
+     *
+     * @param originalPoint 거래 전 포인트 (잔고 기록을 되돌릴 때 사용)
+     */
+    public UserPoint write(long userId, long originalPoint, TransactionType type, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        long point = type.apply(originalPoint, amount);
+
+        if (historyWriter == null) {
+            // 잔고를 먼저 기록해, 잔고 기록이 실패한 거래의 내역이 남지 않게 한다.
+            UserPoint userPoint = userPointCache.put(userId, point);
+            try {
+                pointHistoryRepository.insert(userId, amount, type, updateMillis);
+            } catch (RuntimeException e) {
+                restoreBalance(userId, originalPoint, e);
+                throw e;
+            }
+            return userPoint;
+        }
+
+        CompletableFuture<Void> history = CompletableFuture.runAsync(
+                () -> pointHistoryRepository.insert(userId, amount, type, updateMillis), historyWriter);
+
+        UserPoint userPoint;
+        try {
+            userPoint = userPointCache.put(userId, point);
+        } catch (RuntimeException e) {
+            return retryBalance(userId, point, history, e);
+        }
+
+        try {
+            history.join();
+        } catch (CompletionException e) {
+            RuntimeException cause = e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            restoreBalance(userId, originalPoint, cause);
+            throw cause;
+        }
+        return userPoint;
+    }
+
+    /**
+     * 내역을 먼저 기록한 여러 거래의 잔고를 한 번에 기록합니다. 사용자 락을 잡은 상태에서 호출해야 합니다.
+     * 내역은 삭제할 수 없으므로 잔고 기록이 실패하면 한 번 더 시도합니다.
+     */
+    public UserPoint writeBalance(long userId, long point) {
+        try {
+            return userPointCache.put(userId, point);
+        } catch (RuntimeException balanceFailure) {
+            try {
+                return userPointCache.put(userId, point);
+            } catch (RuntimeException retryFailure) {
+                log.error("포인트 내역은 기록되었으나 잔고 기록에 실패했습니다. userId={}, point={}", userId, point, retryFailure);
+                balanceFailure.addSuppressed(retryFailure);
+                throw balanceFailure;
+            }
+        }
+    }
+
+    /**
+     * 잔고 기록이 실패했을 때 호출합니다.
+     * 내역 기록도 실패했다면 아무것도 반영되지 않았으므로 그대로 예외를 던지고, 내역이 기록되었다면 잔고 기록을 다시 시도합니다.
+     */
+    private UserPoint retryBalance(long userId, long point, CompletableFuture<Void> history, RuntimeException balanceFailure) {
+        try {
+            history.join();
+        } catch (CompletionException e) {
+            balanceFailure.addSuppressed(e.getCause());
+            throw balanceFailure;
+        }
+
+        try {
+            return userPointCache.put(userId, point);
+        } catch (RuntimeException retryFailure) {
+            log.error("포인트 내역은 기록되었으나 잔고 기록에 실패했습니다. userId={}, point={}", userId, point, retryFailure);
+            balanceFailure.addSuppressed(retryFailure);
+            throw balanceFailure;
+        }
+    }
+
+    private void restoreBalance(long userId, long originalPoint, RuntimeException cause) {
+        try {
+            userPointCache.put(userId, originalPoint);
+        } catch (RuntimeException restoreFailure) {
+            cause.addSuppressed(restoreFailure);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (historyWriter != null) {
+            historyWriter.shutdown();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리에서 한 건의 포인트 충전/사용 요청입니다.
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
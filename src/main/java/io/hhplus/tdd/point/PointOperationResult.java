@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 일괄 처리에서 한 건의 처리 결과입니다.
+ * 성공하면 point 에 처리 직후의 잔고가, 실패하면 reason 에 실패 사유가 담깁니다.
+ * error 는 지표 집계에만 사용하며 응답에는 포함하지 않습니다.
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String reason,
+        @JsonIgnore RuntimeException error
+) {
+
+    public static PointOperationResult success(PointOperation operation, long point) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, point, null, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, RuntimeException error) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null, error.getMessage(), error);
+    }
+}
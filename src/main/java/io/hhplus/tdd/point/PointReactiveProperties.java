@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 논블로킹 포인트 API(/reactive/point) 설정
+ * - threads : 테이블 접근처럼 블로킹되는 작업을 실행할 최대 스레드 수
+ * - queueCapacity : 스레드가 모두 사용 중일 때 대기할 수 있는 최대 작업 수 (초과 시 요청을 거절)
+ */
+@ConfigurationProperties("point.reactive")
+public record PointReactiveProperties(
+        @DefaultValue("16") int threads,
+        @DefaultValue("100000") int queueCapacity
+) {
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 같은 사용자의 잔고 조회가 동시에 들어오면 먼저 시작한 조회 하나의 결과를 함께 사용합니다(single-flight).
+ * <p>
+ * 사용자별 쓰기 버전을 두고, 충전/사용이 끝날 때마다 버전을 올립니다.
+ * 조회는 자신이 도착했을 때의 버전 이상에서 시작한 조회에만 합류하므로, 자신이 완료한 쓰기보다 오래된 잔고를 받지 않습니다.
+ * 버전은 고정 개수의 stripe 로 나눠 보관하며, 다른 사용자와 stripe 를 공유하면 합류가 줄어들 뿐 결과는 달라지지 않습니다.
+ */
+@Component
+public class PointReadCoalescer {
+
+    private static final int STRIPES = 4096;
+
+    private final AtomicLongArray writeVersions = new AtomicLongArray(STRIPES);
+    private final ConcurrentHashMap<Long, Flight> flights = new ConcurrentHashMap<>();
+
+    public UserPoint read(long userId, Supplier<UserPoint> loader) {
+        long version = writeVersions.get(stripeOf(userId));
+
+        Flight flight = flights.get(userId);
+        if (flight != null && flight.version() >= version) {
+            return await(flight.result());
+        }
+
+        Flight mine = new Flight(version, new CompletableFuture<>());
+        Flight winner = flights.compute(userId, (key, current) -> current != null && current.version() >= version ? current : mine);
+        if (winner != mine) {
+            return await(winner.result());
+        }
+
+        try {
+            UserPoint userPoint = loader.get();
+            mine.result().complete(userPoint);
+            return userPoint;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(userId, mine);
+        }
+    }
+
+    /**
+     * 쓰기가 끝난 뒤 호출합니다. 이후 도착한 조회는 그 전에 시작한 조회에 합류하지 않습니다.
+     */
+    public void markWritten(long userId) {
+        writeVersions.incrementAndGet(stripeOf(userId));
+    }
+
+    int inFlight() {
+        return flights.size();
+    }
+
+    private UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int stripeOf(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (STRIPES - 1);
+    }
+
+    private record Flight(long version, CompletableFuture<UserPoint> result) {
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 요청은 올바르지만 현재 잔고나 예약 상태로는 처리할 수 없어 거절했음을 나타냅니다.
+ */
+public class PointRejectedException extends IllegalStateException {
+
+    private final PointRejection rejection;
+
+    public PointRejectedException(PointRejection rejection) {
+        super(rejection.message());
+        this.rejection = rejection;
+    }
+
+    public PointRejection rejection() {
+        return rejection;
+    }
+}
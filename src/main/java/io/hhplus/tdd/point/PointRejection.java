@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import java.util.Optional;
+
+import static io.hhplus.tdd.point.UserPointValidator.*;
+
+/**
+ * {@link UserPointValidator} 가 요청을 거절하는 사유입니다. 거절 시 {@link #exception()} 으로 만든 예외를 던지며, 예외 메시지로 {@link #message()} 를 사용합니다.
+ * 지표는 메시지가 아닌 예외에 담긴 사유로 거절을 구분하므로 메시지를 바꿔도 집계에 영향이 없습니다.
+ */
+public enum PointRejection {
+
+    TYPE_REQUIRED("포인트 거래 종류는 필수입니다.", true),
+    CHARGE_AMOUNT_TOO_LARGE("포인트는 한 번에 최대 " + MAX_AMOUNT + "까지 충전할 수 있습니다.", true),
+    CHARGE_AMOUNT_TOO_SMALL("포인트는 최소 " + MIN_AMOUNT + "부터 충전할 수 있습니다.", true),
+    CHARGE_AMOUNT_UNIT("포인트는 " + AMOUNT_UNIT + " 단위로 충전할 수 있습니다.", true),
+    MAX_TOTAL_POINTS_EXCEEDED("최대 포인트는 " + MAX_TOTAL_POINTS + "입니다.", false),
+    NOT_ENOUGH_POINTS("포인트가 부족하여 사용할 수 없습니다.", false),
+    SELF_TRANSFER("자기 자신에게 포인트를 이전할 수 없습니다.", true),
+    HOLD_AMOUNT_NOT_POSITIVE("예약할 포인트는 0보다 커야 합니다.", true),
+    HOLD_NOT_FOUND("존재하지 않거나 이미 확정, 취소 또는 만료된 포인트 예약입니다.", false);
+
+    private final String message;
+    private final boolean invalidRequest;
+
+    /**
+     * @param invalidRequest true 면 요청 자체가 올바르지 않은 경우({@link InvalidPointRequestException}),
+     *                       false 면 현재 상태로 처리할 수 없는 경우({@link PointRejectedException})
+     */
+    PointRejection(String message, boolean invalidRequest) {
+        this.message = message;
+        this.invalidRequest = invalidRequest;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public RuntimeException exception() {
+        return invalidRequest ? new InvalidPointRequestException(this) : new PointRejectedException(this);
+    }
+
+    /**
+     * 거절 예외에 담긴 사유를 반환합니다. 거절 예외가 아니면 비어 있습니다.
+     */
+    public static Optional<PointRejection> of(Throwable error) {
+        if (error instanceof InvalidPointRequestException invalid) {
+            return Optional.of(invalid.rejection());
+        }
+        if (error instanceof PointRejectedException rejected) {
+            return Optional.of(rejected.rejection());
+        }
+        return Optional.empty();
+    }
+}
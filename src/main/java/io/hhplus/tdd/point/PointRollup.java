@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 포인트 내역이 추가될 때마다 전체 사용자의 충전/사용 금액과 건수를 분/시간 구간별로 집계합니다.
+ * <p>
+ * 단위마다 보관 기간만큼의 구간을 링 버퍼로 두고, 각 구간은 거래 종류별 {@link LongAdder} 로 집계하므로 기록에 락이 없습니다.
+ * 링의 자리가 새 구간으로 바뀌면 구간 객체를 CAS 로 교체하며, 보관 기간보다 오래된 내역은 집계하지 않습니다.
+ */
+@Component
+public class PointRollup {
+
+    public enum Unit {
+        MINUTE(Duration.ofMinutes(1)), HOUR(Duration.ofHours(1));
+
+        private final long millis;
+
+        Unit(Duration duration) {
+            this.millis = duration.toMillis();
+        }
+    }
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Ring minutes;
+    private final Ring hours;
+    private final LongSupplier clock;
+
+    @Autowired
+    public PointRollup(PointRollupProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    PointRollup(PointRollupProperties properties, LongSupplier clock) {
+        this.minutes = new Ring(Unit.MINUTE, properties.minuteRetention());
+        this.hours = new Ring(Unit.HOUR, properties.hourRetention());
+        this.clock = clock;
+    }
+
+    public void record(TransactionType type, long amount, long updateMillis) {
+        minutes.record(type, amount, updateMillis);
+        hours.record(type, amount, updateMillis);
+    }
+
+    /**
+     * 현재 구간을 포함한 최근 {@code limit} 개 구간을 오래된 순서로 반환합니다. 내역이 없는 구간은 0 으로 채웁니다.
+     * {@code limit} 은 보관 기간의 구간 수를 넘을 수 없습니다.
+     */
+    public List<PointRollupBucket> recent(Unit unit, int limit) {
+        Ring ring = unit == Unit.MINUTE ? minutes : hours;
+        if (limit < 1 || limit > ring.capacity()) {
+            throw new IllegalArgumentException("조회할 구간 수는 1 이상 " + ring.capacity() + " 이하여야 합니다.");
+        }
+        return ring.recent(clock.getAsLong() / unit.millis, limit);
+    }
+
+    private static final class Ring {
+
+        private final Unit unit;
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        private Ring(Unit unit, Duration retention) {
+            this.unit = unit;
+            this.buckets = new AtomicReferenceArray<>((int) Math.max(1, retention.toMillis() / unit.millis));
+        }
+
+        private int capacity() {
+            return buckets.length();
+        }
+
+        private void record(TransactionType type, long amount, long updateMillis) {
+            long epoch = updateMillis / unit.millis;
+            int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+
+            Bucket bucket = buckets.get(slot);
+            while (bucket == null || bucket.epoch < epoch) {
+                Bucket next = new Bucket(epoch);
+                if (buckets.compareAndSet(slot, bucket, next)) {
+                    bucket = next;
+                } else {
+                    bucket = buckets.get(slot);
+                }
+            }
+            // 이미 더 최근 구간이 자리를 차지했다면 보관 기간이 지난 내역이다.
+            if (bucket.epoch == epoch) {
+                bucket.add(type, amount);
+            }
+        }
+
+        private List<PointRollupBucket> recent(long currentEpoch, int limit) {
+            List<PointRollupBucket> result = new ArrayList<>(limit);
+            for (long epoch = currentEpoch - limit + 1; epoch <= currentEpoch; epoch++) {
+                Bucket bucket = buckets.get((int) Math.floorMod(epoch, (long) buckets.length()));
+                result.add(bucket != null && bucket.epoch == epoch
+                        ? bucket.toRollup(unit)
+                        : new PointRollupBucket(epoch * unit.millis, 0, 0, 0, 0));
+            }
+            return result;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long epoch;
+        private final LongAdder[] amounts = newAdders();
+        private final LongAdder[] counts = newAdders();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void add(TransactionType type, long amount) {
+            amounts[type.ordinal()].add(amount);
+            counts[type.ordinal()].increment();
+        }
+
+        private PointRollupBucket toRollup(Unit unit) {
+            int charge = TransactionType.CHARGE.ordinal();
+            int use = TransactionType.USE.ordinal();
+            return new PointRollupBucket(epoch * unit.millis,
+                    amounts[charge].sum(), counts[charge].sum(), amounts[use].sum(), counts[use].sum());
+        }
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[TYPES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
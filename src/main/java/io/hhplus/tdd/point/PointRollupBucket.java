@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 한 시간 구간의 전체 사용자 충전/사용 집계입니다.
+ *
+ * @param startMillis 구간 시작 시각 (포함)
+ */
+public record PointRollupBucket(
+        long startMillis,
+        long charged,
+        long chargeCount,
+        long used,
+        long useCount
+) {
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/point/rollups")
+@RequiredArgsConstructor
+public class PointRollupController {
+
+    private final PointRollup pointRollup;
+
+    /**
+     * 전체 사용자의 충전/사용 금액과 건수를 분 또는 시간 구간별로 최근 {@code limit} 개 조회합니다.
+     */
+    @GetMapping
+    public List<PointRollupBucket> rollups(
+            @RequestParam(defaultValue = "MINUTE") PointRollup.Unit unit,
+            @RequestParam(defaultValue = "60") int limit
+    ) {
+        return pointRollup.recent(unit, limit);
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 전체 사용자의 시간 구간별 충전/사용 집계 설정
+ * - minuteRetention : 분 단위 집계를 보관하는 기간
+ * - hourRetention : 시간 단위 집계를 보관하는 기간
+ */
+@ConfigurationProperties("point.rollup")
+public record PointRollupProperties(
+        @DefaultValue("3h") Duration minuteRetention,
+        @DefaultValue("7d") Duration hourRetention
+) {
+}
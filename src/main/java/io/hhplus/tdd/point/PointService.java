@@ -1,66 +1,159 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-
-    private final ConcurrentHashMap<Long, ReentrantLock> userLock = new ConcurrentHashMap<>();
+    private final PointEngine pointEngine;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointMetrics pointMetrics;
+    private final PointIdempotencyCache pointIdempotencyCache;
+    private final PointReadCoalescer pointReadCoalescer;
 
+    /**
+     * 같은 사용자의 조회가 동시에 들어오면 한 번만 조회해 결과를 나눠 가집니다.
+     */
     public UserPoint getUserPointByUserId(long userId) {
-        return userPointTable.selectById(userId);
+        return pointReadCoalescer.read(userId, () -> pointEngine.read(userId));
     }
 
     public List<PointHistory> getPointHistoriesByUserId(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        return pointHistoryRepository.findAllByUserId(userId);
+    }
+
+    public PointSummary getPointSummary(long userId) {
+        return pointHistoryRepository.findSummaryByUserId(userId);
+    }
+
+    public PointHistoryPage getPointHistoryPage(long userId, PointHistoryPageRequest request) {
+        return pointHistoryRepository.findPageByUserId(userId, request);
+    }
+
+    public Stream<PointHistory> streamPointHistories(Set<Long> userIds, Long from, Long to) {
+        return pointHistoryRepository.streamAll(userIds, from, to);
     }
 
     public UserPoint chargeUserPoint(long userId, long amount) {
-        ReentrantLock lock = userLock.computeIfAbsent(userId, key -> new ReentrantLock(true));
+        return recordMutation(userId, TransactionType.CHARGE, () -> pointEngine.charge(userId, amount));
+    }
 
-        lock.lock();
+    public UserPoint usePoint(long userId, long amount) {
+        return recordMutation(userId, TransactionType.USE, () -> pointEngine.use(userId, amount));
+    }
 
-        try {
-            UserPointValidator.validateChargeAmount(amount);
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long userId, long amount) {
+        return pointEngine.chargeAsync(userId, amount)
+                .whenComplete((userPoint, error) -> completeMutation(userId, TransactionType.CHARGE, error));
+    }
 
-            UserPoint userPoint = userPointTable.selectById(userId);
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long amount) {
+        return pointEngine.useAsync(userId, amount)
+                .whenComplete((userPoint, error) -> completeMutation(userId, TransactionType.USE, error));
+    }
 
-            UserPointValidator.validateTotalPoints(userPoint.point(), amount);
+    /**
+     * 멱등 키가 있으면 같은 사용자의 같은 키 요청은 한 번만 처리하고, 이후 요청에는 그 결과를 반환합니다.
+     */
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long userId, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return chargeUserPointAsync(userId, amount);
+        }
+        return pointIdempotencyCache.execute(userId, idempotencyKey, TransactionType.CHARGE, amount,
+                () -> chargeUserPointAsync(userId, amount));
+    }
 
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+    /**
+     * 멱등 키가 있으면 같은 사용자의 같은 키 요청은 한 번만 처리하고, 이후 요청에는 그 결과를 반환합니다.
+     */
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return usePointAsync(userId, amount);
+        }
+        return pointIdempotencyCache.execute(userId, idempotencyKey, TransactionType.USE, amount,
+                () -> usePointAsync(userId, amount));
+    }
 
-            return userPointTable.insertOrUpdate(userId, userPoint.point() + amount);
-        } finally {
-            lock.unlock();
+    /**
+     * 보내는 사용자의 포인트를 받는 사용자에게 옮깁니다.
+     */
+    public PointTransfer transfer(long senderId, long receiverId, long amount) {
+        try {
+            PointTransfer pointTransfer = pointEngine.transfer(senderId, receiverId, amount);
+            completeTransfer(senderId, receiverId, null);
+            return pointTransfer;
+        } catch (RuntimeException e) {
+            completeTransfer(senderId, receiverId, e);
+            throw e;
         }
     }
 
-    public UserPoint usePoint(long userId, long amount) {
-        ReentrantLock lock = userLock.computeIfAbsent(userId, key -> new ReentrantLock(true));
+    /**
+     * 사용 가능한 포인트에서 예약합니다. 예약한 포인트는 확정하거나 취소하기 전까지 사용할 수 없으며, 잔고와 내역은 확정할 때 반영됩니다.
+     */
+    public PointHold holdPoint(long userId, long amount, Duration ttl) {
+        return pointEngine.hold(userId, amount, ttl);
+    }
+
+    /**
+     * 예약을 확정해 예약한 포인트를 사용합니다.
+     */
+    public UserPoint capturePoint(long userId, long holdId) {
+        return recordMutation(userId, TransactionType.USE, () -> pointEngine.capture(userId, holdId));
+    }
 
-        lock.lock();
+    public PointHold releasePoint(long userId, long holdId) {
+        return pointEngine.release(userId, holdId);
+    }
 
+    /**
+     * 한 사용자의 여러 요청을 순서대로 처리합니다.
+     * 검증에 실패하거나 거절된 요청은 건너뛰고 실패 사유를 담아 반환하며, 나머지 요청은 계속 처리합니다.
+     * 사용자 락을 얻지 못해 묶음 전체가 거절되면 모든 요청을 같은 사유의 실패로 반환합니다.
+     */
+    public List<PointOperationResult> applyOperations(long userId, List<PointOperation> operations) {
+        List<PointOperationResult> results;
         try {
-            UserPoint userPoint = userPointTable.selectById(userId);
+            results = pointEngine.applyAll(userId, operations);
+        } catch (PointBusyException e) {
+            results = operations.stream().map(operation -> PointOperationResult.failure(operation, e)).toList();
+        }
+        pointReadCoalescer.markWritten(userId);
+        results.forEach(result -> pointMetrics.recordMutation(result.type(), result.error()));
+        return results;
+    }
 
-            UserPointValidator.isNotEnoughPoints(userPoint.point(), amount);
+    private UserPoint recordMutation(long userId, TransactionType type, Supplier<UserPoint> mutation) {
+        try {
+            UserPoint userPoint = mutation.get();
+            completeMutation(userId, type, null);
+            return userPoint;
+        } catch (RuntimeException e) {
+            completeMutation(userId, type, e);
+            throw e;
+        }
+    }
 
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+    private void completeTransfer(long senderId, long receiverId, Throwable error) {
+        completeMutation(senderId, TransactionType.USE, error);
+        completeMutation(receiverId, TransactionType.CHARGE, error);
+    }
 
-            return userPointTable.insertOrUpdate(userId, userPoint.point() - amount);
-        } finally {
-            lock.unlock();
-        }
+    /**
+     * 실패한 요청도 일부가 반영되었을 수 있으므로 결과와 관계없이 쓰기 버전을 올린다.
+     */
+    private void completeMutation(long userId, TransactionType type, Throwable error) {
+        pointReadCoalescer.markWritten(userId);
+        pointMetrics.recordMutation(type, error);
     }
 }
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자별 포인트 내역 요약입니다. 내역이 없으면 firstUpdateMillis, lastUpdateMillis 는 null 입니다.
+ *
+ * @param totalCharged 충전 금액 합계
+ * @param totalUsed    사용 금액 합계
+ * @param count        내역 수
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long count,
+        Long firstUpdateMillis,
+        Long lastUpdateMillis
+) {
+
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0, 0, 0, null, null);
+    }
+
+    /**
+     * 이 요약에 내역 하나를 더한 새 요약을 반환합니다.
+     */
+    public PointSummary add(TransactionType type, long amount, long updateMillis) {
+        return new PointSummary(
+                userId,
+                type == TransactionType.CHARGE ? totalCharged + amount : totalCharged,
+                type == TransactionType.USE ? totalUsed + amount : totalUsed,
+                count + 1,
+                firstUpdateMillis == null ? updateMillis : firstUpdateMillis,
+                updateMillis
+        );
+    }
+}
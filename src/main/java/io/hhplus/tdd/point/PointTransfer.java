@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이전 후 보낸 사용자와 받은 사용자의 포인트입니다.
+ */
+public record PointTransfer(
+        UserPoint sender,
+        UserPoint receiver
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이전 요청입니다.
+ */
+public record PointTransferRequest(
+        long senderId,
+        long receiverId,
+        long amount
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 현재 설정(포인트 엔진, 샤딩)에서 지원하지 않는 요청임을 나타냅니다. 잔고와 내역은 변경되지 않았습니다.
+ */
+public class PointUnsupportedOperationException extends UnsupportedOperationException {
+
+    public PointUnsupportedOperationException(String message) {
+        super(message);
+    }
+}
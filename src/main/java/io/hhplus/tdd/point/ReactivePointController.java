@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Set;
+
+/**
+ * {@link PointController} 와 같은 기능을 {@link Mono}/{@link Flux} 로 반환하는 논블로킹 API 입니다.
+ * <p>
+ * 요청 스레드는 작업을 예약한 뒤 바로 반환되고, 블로킹되는 테이블 접근은 크기가 제한된 스케줄러에서만 실행합니다.
+ * 충전/사용은 mailbox 엔진의 사용자별 큐에 넣고 결과만 기다리므로, 어떤 스레드도 사용자 락을 기다리지 않습니다.
+ * 다른 엔진은 비동기 경로가 호출한 스레드에서 락을 잡고 처리해 스케줄러 스레드가 블로킹되므로,
+ * {@code point.engine.type=mailbox} 일 때만 등록합니다.
+ */
+@RestController
+@ConditionalOnProperty(name = "point.engine.type", havingValue = "mailbox")
+@RequestMapping("/reactive/point")
+public class ReactivePointController {
+
+    private final PointService pointService;
+    private final Scheduler pointScheduler;
+
+    public ReactivePointController(PointService pointService, PointReactiveProperties properties) {
+        this.pointService = pointService;
+        this.pointScheduler = Schedulers.newBoundedElastic(properties.threads(), properties.queueCapacity(), "point-reactive");
+    }
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return Mono.fromCallable(() -> pointService.getUserPointByUserId(id))
+                .subscribeOn(pointScheduler);
+    }
+
+    /**
+     * 포인트 내역을 한 줄에 하나씩 JSON 으로(NDJSON) 스트리밍합니다.
+     * 클라이언트가 요청한 만큼만 인덱스에서 읽으므로 느린 클라이언트 때문에 내역이 메모리에 쌓이지 않습니다.
+     */
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PointHistory> histories(
+            @PathVariable long id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return Flux.fromStream(() -> pointService.streamPointHistories(Set.of(id), from, to))
+                .subscribeOn(pointScheduler);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(name = PointController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return Mono.fromFuture(() -> pointService.chargeUserPointAsync(id, amount, idempotencyKey))
+                .subscribeOn(pointScheduler);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(name = PointController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return Mono.fromFuture(() -> pointService.usePointAsync(id, amount, idempotencyKey))
+                .subscribeOn(pointScheduler);
+    }
+
+    @PreDestroy
+    public void close() {
+        pointScheduler.dispose();
+    }
+}
@@ -7,5 +7,12 @@ package io.hhplus.tdd.point;
  * - USE : 사용
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE, USE;
+
+    /**
+     * 기존 포인트에 이 거래를 반영한 포인트를 반환합니다.
+     */
+    public long apply(long point, long amount) {
+        return this == CHARGE ? point + amount : point - amount;
+    }
+}
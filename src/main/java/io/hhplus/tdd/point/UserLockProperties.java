@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 락 설정
+ * - stripes : 락 배열의 크기 (2의 거듭제곱으로 올림), 사용자 수와 관계없이 락 개수는 이 값으로 고정됩니다.
+ * - fair : 공정(fair) 락 사용 여부
+ * - waitTimeout : 락을 기다리는 최대 시간 (초과하면 요청을 거절)
+ * - maxWaiters : 한 락(stripe)을 기다릴 수 있는 최대 스레드 수 (초과하면 기다리지 않고 거절)
+ * - retryAfter : 거절한 요청에 Retry-After 로 안내할 재시도 간격
+ */
+@ConfigurationProperties("point.lock")
+public record UserLockProperties(
+        @DefaultValue("4096") int stripes,
+        @DefaultValue("true") boolean fair,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("100") int maxWaiters,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
@@ -0,0 +1,245 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자 ID 를 해시해 고정 크기의 락 배열(stripe)에 매핑합니다.
+ * <p>
+ * 사용자마다 락을 만들어 두면 사용자 수만큼 락이 쌓이므로, 락 개수를 stripe 수로 제한합니다.
+ * 같은 사용자는 항상 같은 락을 사용하므로 사용자별 상호 배제는 유지되고,
+ * 서로 다른 사용자가 같은 stripe 에 매핑되면 함께 직렬화될 수 있습니다.
+ * <p>
+ * 한 사용자에게 요청이 몰려도 요청 스레드가 끝없이 쌓이지 않도록, 대기 스레드 수가 {@code maxWaiters} 이상이면 기다리지 않고,
+ * {@code waitTimeout} 안에 획득하지 못하면 {@link PointBusyException} 으로 거절합니다.
+ * <p>
+ * 락이 stripe 단위로 공유되므로, 이미 잠긴 락을 기다리기 시작한 스레드 수는 사용자별로 따로 집계합니다.
+ * <p>
+ * 다른 노드로 옮기는 중이거나 옮긴 사용자는 {@link #fence(long)} 로 막아, 락을 기다리던 요청도 획득한 뒤 거절합니다.
+ */
+@Component
+public class UserLockRegistry {
+
+    private final PointMetrics pointMetrics;
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final long waitTimeoutNanos;
+    private final int maxWaiters;
+    private final Duration retryAfter;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder rejectedAcquisitions = new LongAdder();
+
+    private final Set<Long> fencedUsers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Integer> waitingUsers = new ConcurrentHashMap<>();
+
+    public UserLockRegistry(UserLockProperties properties, PointMetrics pointMetrics) {
+        int stripes = properties.stripes() <= 1 ? 1 : Integer.highestOneBit(properties.stripes() - 1) << 1;
+        this.pointMetrics = pointMetrics;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new TimedLock(properties.fair(), pointMetrics);
+        }
+        this.mask = stripes - 1;
+        this.waitTimeoutNanos = properties.waitTimeout().toNanos();
+        this.maxWaiters = properties.maxWaiters();
+        this.retryAfter = properties.retryAfter();
+        pointMetrics.registerLockStats(this);
+    }
+
+    /**
+     * 사용자의 락을 획득해 반환합니다. 호출한 쪽에서 반드시 {@code unlock()} 해야 합니다.
+     *
+     * @throws PointBusyException 대기 스레드가 너무 많거나 대기 시간 안에 획득하지 못한 경우, 또는 막아 둔 사용자인 경우
+     */
+    public ReentrantLock acquire(long userId) {
+        ReentrantLock lock = lockOf(userId);
+        boolean contended = lock.isLocked() && !lock.isHeldByCurrentThread();
+        if (contended) {
+            if (lock.getQueueLength() >= maxWaiters) {
+                throw reject("queue_full");
+            }
+            contendedAcquisitions.increment();
+            waitingUsers.merge(userId, 1, Integer::sum);
+        }
+
+        try {
+            if (!lock.tryLock(waitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw reject("timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted");
+        } finally {
+            if (contended) {
+                waitingUsers.computeIfPresent(userId, (id, waiting) -> waiting == 1 ? null : waiting - 1);
+            }
+        }
+        if (fencedUsers.contains(userId)) {
+            lock.unlock();
+            throw reject("fenced", "사용자를 다른 노드로 옮기는 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+        acquisitions.increment();
+        return lock;
+    }
+
+    /**
+     * 사용자의 요청을 더 이상 받지 않도록 막습니다. 이미 락을 기다리던 요청도 락을 획득한 뒤 거절됩니다.
+     * 막아 둔 사용자의 락은 {@link #lockOf(long)} 로 직접 획득해야 합니다.
+     */
+    public void fence(long userId) {
+        fencedUsers.add(userId);
+    }
+
+    public void unfence(long userId) {
+        fencedUsers.remove(userId);
+    }
+
+    public Set<Long> fencedUsers() {
+        return Set.copyOf(fencedUsers);
+    }
+
+    private PointBusyException reject(String reason) {
+        return reject(reason, "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private PointBusyException reject(String reason, String message) {
+        rejectedAcquisitions.increment();
+        pointMetrics.recordLockRejected(reason);
+        return new PointBusyException(message, retryAfter);
+    }
+
+    /**
+     * 두 사용자의 락을 stripe 순서대로 획득해 획득한 순서로 반환합니다. 호출한 쪽에서 반드시 역순으로 {@code unlock()} 해야 합니다.
+     * <p>
+     * 모든 호출이 같은 전역 순서로 획득하므로 서로 반대 방향의 요청이 동시에 들어와도 교착 상태가 생기지 않습니다.
+     * 사용자 ID 가 아닌 stripe 순서를 쓰는 이유는, 서로 다른 사용자가 같은 락을 공유하므로 ID 순서와 락 순서가 다를 수 있기 때문입니다.
+     * 두 사용자가 같은 stripe 에 매핑되면 락 하나만 반환합니다.
+     */
+    public ReentrantLock[] acquireAll(long firstUserId, long secondUserId) {
+        int firstStripe = stripeOf(firstUserId);
+        int secondStripe = stripeOf(secondUserId);
+        if (firstStripe == secondStripe) {
+            return new ReentrantLock[]{acquire(firstUserId)};
+        }
+
+        long lowerUserId = firstStripe < secondStripe ? firstUserId : secondUserId;
+        long upperUserId = firstStripe < secondStripe ? secondUserId : firstUserId;
+        ReentrantLock lower = acquire(lowerUserId);
+        try {
+            return new ReentrantLock[]{lower, acquire(upperUserId)};
+        } catch (RuntimeException e) {
+            lower.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * {@link #acquireAll(long, long)} 로 획득한 락을 역순으로 해제합니다.
+     */
+    public static void releaseAll(ReentrantLock[] locks) {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    public ReentrantLock lockOf(long userId) {
+        return locks[stripeOf(userId)];
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+
+    public UserLockStats stats() {
+        int lockedStripes = 0;
+        int queuedThreads = 0;
+        int maxQueuedThreads = 0;
+        for (ReentrantLock lock : locks) {
+            if (lock.isLocked()) {
+                lockedStripes++;
+            }
+            int queueLength = lock.getQueueLength();
+            queuedThreads += queueLength;
+            maxQueuedThreads = Math.max(maxQueuedThreads, queueLength);
+        }
+        return new UserLockStats(locks.length, acquisitions.sum(), contendedAcquisitions.sum(), lockedStripes, queuedThreads,
+                maxQueuedThreads, rejectedAcquisitions.sum());
+    }
+
+    /**
+     * 락을 기다리는 스레드가 가장 많은 사용자부터 limit 명까지 사용자별 대기 스레드 수를 반환합니다.
+     */
+    public Map<Long, Integer> hotUsers(int limit) {
+        Map<Long, Integer> hotUsers = new LinkedHashMap<>();
+        waitingUsers.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> hotUsers.put(entry.getKey(), entry.getValue()));
+        return hotUsers;
+    }
+
+    int stripeOf(long userId) {
+        // 연속된 사용자 ID 가 인접한 stripe 에 몰리지 않도록 비트를 섞는다.
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * 획득 대기 시간과 점유 시간을 기록하는 락입니다. 재진입한 획득과 해제는 기록하지 않습니다.
+     */
+    private static final class TimedLock extends ReentrantLock {
+
+        private final transient PointMetrics pointMetrics;
+
+        // 락을 가진 스레드만 읽고 쓴다.
+        private long acquiredNanos;
+
+        private TimedLock(boolean fair, PointMetrics pointMetrics) {
+            super(fair);
+            this.pointMetrics = pointMetrics;
+        }
+
+        @Override
+        public void lock() {
+            long start = System.nanoTime();
+            super.lock();
+            if (getHoldCount() == 1) {
+                acquiredNanos = System.nanoTime();
+                pointMetrics.recordLockWait(acquiredNanos - start);
+            }
+        }
+
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            long start = System.nanoTime();
+            if (!super.tryLock(timeout, unit)) {
+                pointMetrics.recordLockWait(System.nanoTime() - start);
+                return false;
+            }
+            if (getHoldCount() == 1) {
+                acquiredNanos = System.nanoTime();
+                pointMetrics.recordLockWait(acquiredNanos - start);
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if (isHeldByCurrentThread() && getHoldCount() == 1) {
+                pointMetrics.recordLockHold(System.nanoTime() - acquiredNanos);
+            }
+            super.unlock();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+/**
+ * @param maxQueuedThreads     대기 스레드가 가장 많은 stripe 의 대기 스레드 수
+ * @param rejectedAcquisitions 대기 스레드 수 제한이나 대기 시간 초과로 거절한 획득 수
+ */
+public record UserLockStats(
+        int stripes,
+        long acquisitions,
+        long contendedAcquisitions,
+        int lockedStripes,
+        int queuedThreads,
+        int maxQueuedThreads,
+        long rejectedAcquisitions
+) {
+}
@@ -8,25 +8,66 @@ public class UserPointValidator {
 
     public static void validateChargeAmount(long amount) {
         if (amount > MAX_AMOUNT) {
-            throw new IllegalArgumentException("포인트는 한 번에 최대 " + MAX_AMOUNT + "까지 충전할 수 있습니다.");
+            throw PointRejection.CHARGE_AMOUNT_TOO_LARGE.exception();
         }
         if (amount < MIN_AMOUNT) {
-            throw new IllegalArgumentException("포인트는 최소 " + MIN_AMOUNT + "부터 충전할 수 있습니다.");
+            throw PointRejection.CHARGE_AMOUNT_TOO_SMALL.exception();
         }
         if (amount % AMOUNT_UNIT != 0) {
-            throw new IllegalArgumentException("포인트는 " + AMOUNT_UNIT + " 단위로 충전할 수 있습니다.");
+            throw PointRejection.CHARGE_AMOUNT_UNIT.exception();
         }
     }
 
     public static void validateTotalPoints(long originalPoint, long amount) {
         if (originalPoint + amount > MAX_TOTAL_POINTS) {
-            throw new IllegalStateException("최대 포인트는 " + MAX_TOTAL_POINTS + "입니다.");
+            throw PointRejection.MAX_TOTAL_POINTS_EXCEEDED.exception();
         }
     }
 
     public static void isNotEnoughPoints(long originalPoint, long usePoint) {
         if (originalPoint < usePoint) {
-            throw new IllegalStateException("포인트가 부족하여 사용할 수 없습니다.");
+            throw PointRejection.NOT_ENOUGH_POINTS.exception();
         }
     }
+
+    /**
+     * 보내는 쪽은 사용, 받는 쪽은 충전과 같은 규칙으로 검증합니다.
+     */
+    public static void validateTransfer(long senderId, long receiverId, long senderPoint, long receiverPoint, long amount) {
+        if (senderId == receiverId) {
+            throw PointRejection.SELF_TRANSFER.exception();
+        }
+        validateOperation(TransactionType.USE, senderPoint, amount);
+        validateOperation(TransactionType.CHARGE, receiverPoint, amount);
+    }
+
+    public static void validateOperation(TransactionType type, long originalPoint, long amount) {
+        validateOperation(type, originalPoint, 0L, amount);
+    }
+
+    /**
+     * 사용은 예약된 포인트를 제외한 사용 가능한 포인트 안에서만 할 수 있고, 충전 한도는 예약된 포인트를 포함한 잔고로 검증합니다.
+     */
+    public static void validateOperation(TransactionType type, long originalPoint, long heldPoint, long amount) {
+        if (type == null) {
+            throw PointRejection.TYPE_REQUIRED.exception();
+        }
+        switch (type) {
+            case CHARGE -> {
+                validateChargeAmount(amount);
+                validateTotalPoints(originalPoint, amount);
+            }
+            case USE -> isNotEnoughPoints(originalPoint - heldPoint, amount);
+        }
+    }
+
+    /**
+     * 예약은 사용과 같이 사용 가능한 포인트(잔고 - 예약된 포인트) 안에서만 할 수 있습니다.
+     */
+    public static void validateHold(long originalPoint, long heldPoint, long amount) {
+        if (amount <= 0) {
+            throw PointRejection.HOLD_AMOUNT_NOT_POSITIVE.exception();
+        }
+        isNotEnoughPoints(originalPoint - heldPoint, amount);
+    }
 }
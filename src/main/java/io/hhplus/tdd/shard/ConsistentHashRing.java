@@ -0,0 +1,63 @@
+package io.hhplus.tdd.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 사용자 ID 를 노드에 배정하는 consistent hash 링입니다. 생성 후에는 변경되지 않습니다.
+ * <p>
+ * 노드마다 가상 노드를 여러 개 배치해 사용자가 고르게 나뉘도록 하며,
+ * 노드가 추가되거나 빠지면 그 노드가 담당하는(담당하던) 구간의 사용자만 담당 노드가 바뀝니다.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("링에는 노드가 하나 이상 필요합니다.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다.");
+        }
+
+        this.nodes = List.copyOf(nodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public String ownerOf(long userId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(userId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * FNV-1a 로 구한 값을 한 번 더 섞어 링 위에 고르게 흩어지도록 합니다.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 노드 사이에서만 사용하는 샤딩 관리 API({@code /internal/shard/**})는 {@link #SECRET_HEADER} 에
+ * 모든 노드가 공유하는 비밀값({@code point.shard.secret})을 담은 요청만 허용하고, 나머지는 401 로 거절합니다.
+ * 링을 바꾸거나 사용자를 밀어 넣는 요청이 외부에서 들어오지 않도록 하기 위함입니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class PointShardAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String SECRET_HEADER = "X-Point-Shard-Secret";
+
+    private static final String INTERNAL_PATH = "/internal/shard/";
+
+    private final byte[] secret;
+    private final ObjectMapper objectMapper;
+
+    public PointShardAuthenticationFilter(PointShardProperties properties, ObjectMapper objectMapper) {
+        if (properties.secret() == null || properties.secret().isBlank()) {
+            throw new IllegalStateException("샤딩을 사용하려면 point.shard.secret 을 설정해야 합니다.");
+        }
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(INTERNAL_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!matches(secret, request)) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("401", "인증되지 않은 요청입니다."));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 요청의 {@link #SECRET_HEADER} 가 공유 비밀값과 같은지 확인합니다.
+     */
+    static boolean matches(byte[] secret, HttpServletRequest request) {
+        String provided = request.getHeader(SECRET_HEADER);
+        // 비밀값이 앞에서부터 얼마나 맞는지 응답 시간으로 드러나지 않도록 상수 시간으로 비교한다.
+        return provided != null && MessageDigest.isEqual(secret, provided.getBytes(StandardCharsets.UTF_8));
+    }
+}
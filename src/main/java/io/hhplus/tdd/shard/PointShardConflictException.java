@@ -0,0 +1,12 @@
+package io.hhplus.tdd.shard;
+
+/**
+ * 이 노드의 링과 맞지 않거나 이 노드의 데이터와 충돌해 옮겨 온 사용자를 받지 않았음을 나타냅니다.
+ * 보낸 노드는 사용자를 내보내지 않고 막아 둔 채 남겨 두므로, 링을 맞춘 뒤 다시 옮길 수 있습니다.
+ */
+public class PointShardConflictException extends RuntimeException {
+
+    public PointShardConflictException(String message) {
+        super(message);
+    }
+}
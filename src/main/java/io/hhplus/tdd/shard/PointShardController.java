@@ -0,0 +1,52 @@
+package io.hhplus.tdd.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 노드 사이에서만 사용하는 샤딩 관리 API 입니다.
+ */
+@RestController
+@RequestMapping("/internal/shard")
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PointShardController {
+
+    private final PointShardRouter pointShardRouter;
+    private final PointShardMigrator pointShardMigrator;
+
+    @GetMapping("ring")
+    public List<String> ring() {
+        return pointShardRouter.nodes();
+    }
+
+    /**
+     * 이 노드의 링을 교체합니다. 노드를 추가하거나 뺄 때는 모든 노드(빠지는 노드 포함)에 같은 목록으로 호출합니다.
+     */
+    @PutMapping("ring")
+    public PointShardRebalance updateRing(
+            @RequestBody List<String> nodes
+    ) {
+        return pointShardMigrator.rebalance(nodes);
+    }
+
+    @PostMapping("users")
+    public void accept(
+            @RequestBody PointShardTransfer transfer
+    ) {
+        pointShardMigrator.accept(transfer);
+    }
+
+    /**
+     * 다른 노드가 옮기기를 마쳤음을 기록해, 그 노드에서 옮겨 오는 사용자의 요청을 다시 받습니다.
+     */
+    @PostMapping("handoffs")
+    public void completeHandoff(
+            @RequestBody PointShardHandoff handoff
+    ) {
+        pointShardRouter.completeHandoff(handoff.from(), handoff.nodes());
+    }
+}
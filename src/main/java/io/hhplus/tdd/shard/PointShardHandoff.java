@@ -0,0 +1,12 @@
+package io.hhplus.tdd.shard;
+
+import java.util.List;
+
+/**
+ * 노드가 주어진 링으로 바뀐 뒤 더 이상 담당하지 않는 사용자를 모두 옮겼음을 알립니다.
+ */
+public record PointShardHandoff(
+        String from,
+        List<String> nodes
+) {
+}
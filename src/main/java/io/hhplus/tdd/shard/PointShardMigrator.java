@@ -0,0 +1,242 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointJdbcProperties;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.point.PointEngineProperties;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHold;
+import io.hhplus.tdd.point.PointHolds;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.UserLockRegistry;
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 노드가 추가되거나 빠질 때 담당 노드가 바뀐 사용자의 잔고와 내역을 새 담당 노드로 옮깁니다.
+ * <p>
+ * 외부 조정자 없이 각 노드에 새 노드 목록을 알리면, 노드마다 더 이상 담당하지 않는 사용자를 다음 순서로 내보냅니다.
+ * <ol>
+ *     <li>사용자 락 안에서 사용자를 막고({@link UserLockRegistry#fence(long)}) 잔고와 내역을 복사하고 예약을 꺼냅니다.
+ *     이후 요청은 429 로 거절되고, 사용자 락을 잡지 않는 예약 취소와 만료도 꺼낸 예약에는 닿지 않습니다.</li>
+ *     <li>락 밖에서 새 담당 노드로 보냅니다. 실패하면 예약을 되돌리고 사용자를 막아 둔 채 남기며, 다시 보낼 때 같은 옮기기 ID 를 사용합니다.</li>
+ *     <li>다시 락 안에서 옮긴 사실을 WAL 에 기록하고 잔고를 0 으로, 인덱스를 비웁니다.</li>
+ * </ol>
+ * 받는 노드는 받은 잔고를 현재 잔고에 더하고 옮기기 ID 로 중복을 걸러, 응답이 유실되어 다시 보내도 한 번만 반영합니다.
+ * 모든 사용자를 옮긴 노드는 다른 노드에 옮기기를 마쳤다고 알리며, 받는 노드는 그때까지 옮겨 오는 사용자의 요청을 거절합니다
+ * ({@link PointShardRouter#isHandoffPending(long)}).
+ * 받은 옮기기 ID 는 메모리에만 보관하므로 재기동 전에 받은 옮기기는 중복을 걸러내지 못합니다.
+ * 잔고를 사용자 락 밖의 메모리 셀에 보관하는 cas 엔진과, 모든 노드가 같은 DB 를 쓰는 JDBC 저장소는 지원하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class PointShardMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardMigrator.class);
+
+    // 옮기는 동안 이전 링으로 받아 둔 요청이 남긴 사용자는 다음 차례에 다시 옮긴다.
+    private static final int MAX_PASSES = 3;
+
+    private final PointShardRouter pointShardRouter;
+    private final UserPointCache userPointCache;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockRegistry userLockRegistry;
+    private final PointHolds pointHolds;
+    private final RestClient restClient;
+
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+    // 막아 두었지만 아직 내보내지 못한 사용자의 옮기기 ID
+    private final ConcurrentHashMap<Long, String> pendingMigrations = new ConcurrentHashMap<>();
+    private final Set<String> acceptedMigrations = ConcurrentHashMap.newKeySet();
+
+    public PointShardMigrator(PointShardRouter pointShardRouter, UserPointCache userPointCache,
+                              PointHistoryRepository pointHistoryRepository, UserLockRegistry userLockRegistry,
+                              PointHolds pointHolds, PointEngineProperties engineProperties, PointJdbcProperties jdbcProperties,
+                              PointShardProperties shardProperties, RestClient.Builder restClientBuilder) {
+        if (engineProperties.type() == PointEngineProperties.Type.CAS) {
+            throw new IllegalStateException("샤딩은 cas 엔진을 지원하지 않습니다.");
+        }
+        // 모든 노드가 같은 DB 를 쓰면 옮길 데이터가 없고, 옮기면 받는 노드가 같은 잔고와 내역을 한 번 더 기록한다.
+        if (engineProperties.type() == PointEngineProperties.Type.OPTIMISTIC || jdbcProperties.enabled()) {
+            throw new IllegalStateException("샤딩은 여러 노드가 공유하는 DB 저장소(point.jdbc.enabled, optimistic 엔진)와 함께 사용할 수 없습니다.");
+        }
+        this.pointShardRouter = pointShardRouter;
+        this.userPointCache = userPointCache;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userLockRegistry = userLockRegistry;
+        this.pointHolds = pointHolds;
+        this.restClient = restClientBuilder
+                .defaultHeader(PointShardAuthenticationFilter.SECRET_HEADER, shardProperties.secret())
+                .build();
+    }
+
+    /**
+     * 링을 새 노드 목록으로 교체하고, 더 이상 이 노드가 담당하지 않는 사용자를 새 담당 노드로 옮깁니다.
+     * 받는 노드의 링이 아직 바뀌지 않아 옮기지 못한 사용자는 막아 둔 채 남기므로, 모든 노드의 링을 바꾼 뒤 같은 목록으로 다시 호출합니다.
+     */
+    public PointShardRebalance rebalance(List<String> nodes) {
+        rebalanceLock.lock();
+        try {
+            pointShardRouter.update(nodes);
+            // 다시 이 노드가 담당하게 된 사용자는 막아 둘 필요가 없다. 내보내지 못한 사용자는 데이터가 그대로 남아 있다.
+            for (long userId : userLockRegistry.fencedUsers()) {
+                if (pointShardRouter.isLocal(userId)) {
+                    pendingMigrations.remove(userId);
+                    userLockRegistry.unfence(userId);
+                }
+            }
+
+            int migrated = 0;
+            Set<Long> failed = new HashSet<>();
+            for (int pass = 0; pass < MAX_PASSES; pass++) {
+                int moved = 0;
+                for (long userId : pointHistoryRepository.userIds()) {
+                    if (pointShardRouter.isLocal(userId) || failed.contains(userId)) {
+                        continue;
+                    }
+                    String owner = pointShardRouter.ownerOf(userId);
+                    try {
+                        migrate(userId, owner);
+                        moved++;
+                    } catch (RestClientException e) {
+                        log.warn("사용자를 새 담당 노드로 옮기지 못했습니다. userId={}, owner={}", userId, owner, e);
+                        failed.add(userId);
+                    }
+                }
+                migrated += moved;
+                if (moved == 0) {
+                    break;
+                }
+            }
+
+            if (failed.isEmpty()) {
+                notifyHandoff();
+            }
+
+            log.info("포인트 샤드 링을 교체했습니다. nodes={}, migratedUsers={}, pendingUsers={}", nodes, migrated, failed.size());
+            return new PointShardRebalance(pointShardRouter.nodes(), migrated, failed.size());
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드가 옮겨 온 사용자의 내역과 예약을 추가하고 잔고를 현재 잔고에 더합니다. 이미 반영한 옮기기 ID 는 무시합니다.
+     *
+     * @throws PointShardConflictException 현재 링에서 이 노드가 담당하지 않거나, 옮겨 오는 내역보다 늦은 내역이 이미 있거나,
+     *                                     예약을 옮겨 오는데 이 노드에도 예약이 있는 사용자인 경우
+     */
+    public void accept(PointShardTransfer transfer) {
+        long userId = transfer.userId();
+        // 이 노드에서 내보낸 뒤 다시 돌아오는 사용자는 막혀 있으므로 막힘과 관계없이 락을 획득한다.
+        ReentrantLock lock = userLockRegistry.lockOf(userId);
+        lock.lock();
+        try {
+            if (!pointShardRouter.isLocal(userId)) {
+                throw new PointShardConflictException("이 노드가 담당하지 않는 사용자입니다. userId=" + userId);
+            }
+            // 같은 사용자의 옮기기는 사용자 락으로 직렬화되므로 확인과 추가 사이에 다른 요청이 끼어들지 않는다.
+            if (acceptedMigrations.contains(transfer.migrationId())) {
+                log.info("이미 반영한 사용자 옮기기입니다. migrationId={}, userId={}", transfer.migrationId(), userId);
+                return;
+            }
+            // 인덱스는 내역이 시각 순서대로 추가된다고 가정하므로, 옮겨 오기 전에 이 노드에서 더 늦은 내역이 생긴 사용자는 받지 않는다.
+            PointSummary summary = pointHistoryRepository.findSummaryByUserId(userId);
+            if (summary.count() > 0 && !transfer.histories().isEmpty()
+                    && transfer.histories().get(0).updateMillis() < summary.lastUpdateMillis()) {
+                throw new PointShardConflictException("옮겨 오는 내역보다 늦은 내역이 이미 있는 사용자입니다. userId=" + userId);
+            }
+            // 예약 ID 는 노드마다 따로 매기므로, 이 노드에서 만든 예약과 옮겨 온 예약의 ID 가 겹칠 수 있다.
+            if (!transfer.holds().isEmpty() && pointHolds.heldPoint(userId) > 0) {
+                throw new PointShardConflictException("옮겨 오는 예약과 ID 가 겹칠 수 있는 예약이 이미 있는 사용자입니다. userId=" + userId);
+            }
+
+            acceptedMigrations.add(transfer.migrationId());
+            try {
+                UserPoint userPoint = userPointCache.get(userId);
+                pointHistoryRepository.importHistories(userId, transfer.histories());
+                userPointCache.put(userId, userPoint.point() + transfer.point());
+                pointHolds.moveIn(transfer.holds());
+            } catch (RuntimeException e) {
+                acceptedMigrations.remove(transfer.migrationId());
+                throw e;
+            }
+            pendingMigrations.remove(userId);
+            userLockRegistry.unfence(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드에 옮기기를 마쳤다고 알린다. 알리지 못한 노드는 handoffTimeout 이 지나면 요청을 다시 받는다.
+     */
+    private void notifyHandoff() {
+        PointShardHandoff handoff = new PointShardHandoff(pointShardRouter.self(), pointShardRouter.nodes());
+        for (String node : handoff.nodes()) {
+            if (node.equals(handoff.from())) {
+                continue;
+            }
+            try {
+                restClient.post()
+                        .uri(node + "/internal/shard/handoffs")
+                        .body(handoff)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                log.warn("옮기기를 마쳤다고 알리지 못했습니다. node={}", node, e);
+            }
+        }
+    }
+
+    private void migrate(long userId, String owner) {
+        ReentrantLock lock = userLockRegistry.lockOf(userId);
+
+        PointShardTransfer transfer;
+        lock.lock();
+        try {
+            userLockRegistry.fence(userId);
+            String migrationId = pendingMigrations.computeIfAbsent(userId, id -> UUID.randomUUID().toString());
+            UserPoint userPoint = userPointCache.get(userId);
+            List<PointHistory> histories = List.copyOf(pointHistoryRepository.findAllByUserId(userId));
+            List<PointHold> holds = pointHolds.moveOut(userId);
+            transfer = new PointShardTransfer(migrationId, userId, userPoint.point(), histories, holds);
+        } finally {
+            lock.unlock();
+        }
+
+        // 막아 둔 사용자는 바뀌지 않으므로, 느린 원격 호출 동안 같은 stripe 의 다른 사용자를 붙잡지 않도록 락 밖에서 보낸다.
+        try {
+            restClient.post()
+                    .uri(owner + "/internal/shard/users")
+                    .body(transfer)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            // 다시 보낼 때까지 만료는 이 노드에서 처리한다. 받는 노드가 이미 반영했다면 다시 보낼 때 옮기기 ID 로 걸러진다.
+            pointHolds.moveIn(transfer.holds());
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            pointHistoryRepository.moveOut(userId, transfer.point(), System.currentTimeMillis());
+            userPointCache.put(userId, 0L);
+            pendingMigrations.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
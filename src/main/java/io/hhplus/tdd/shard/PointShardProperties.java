@@ -0,0 +1,27 @@
+package io.hhplus.tdd.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 사용자별 샤딩 설정
+ * - enabled : true 이면 consistent hash 링으로 사용자의 담당 노드를 정하고, 다른 노드가 담당하는 요청은 그 노드로 전달
+ * - self : 이 노드의 주소 (예: http://localhost:8080), nodes 에 같은 값으로 포함되어야 함
+ * - nodes : 링을 구성하는 모든 노드의 주소 (실행 중에는 PUT /internal/shard/ring 으로 변경)
+ * - virtualNodes : 노드마다 링에 배치할 가상 노드 수
+ * - secret : 노드 사이 관리 API(/internal/shard/**)에 사용하는 공유 비밀값, 모든 노드에 같은 값으로 설정해야 함
+ * - handoffTimeout : 링을 바꾼 뒤 새로 담당하게 된 사용자의 요청을 이전 담당 노드가 옮기기를 마칠 때까지 거절하는 최대 시간
+ */
+@ConfigurationProperties("point.shard")
+public record PointShardProperties(
+        @DefaultValue("false") boolean enabled,
+        String self,
+        @DefaultValue List<String> nodes,
+        @DefaultValue("128") int virtualNodes,
+        String secret,
+        @DefaultValue("30s") Duration handoffTimeout
+) {
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.shard;
+
+import java.util.List;
+
+/**
+ * 링 교체 결과입니다.
+ *
+ * @param migratedUsers 다른 노드로 옮긴 사용자 수
+ * @param pendingUsers  옮기지 못해 막아 둔 채 남은 사용자 수 (같은 링으로 다시 호출하면 다시 옮긴다)
+ */
+public record PointShardRebalance(
+        List<String> nodes,
+        int migratedUsers,
+        int pendingUsers
+) {
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 링을 보관하고, 사용자의 담당 노드가 이 노드인지 판단합니다.
+ * <p>
+ * 링을 바꾸면 이전 담당 노드가 사용자를 옮겨 올 때까지 그 사용자의 요청을 받지 않도록,
+ * 이전 담당 노드가 옮기기를 마쳤다고 알리거나 {@code handoffTimeout} 이 지날 때까지 옮겨 오는 중인 사용자로 봅니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class PointShardRouter {
+
+    private final String self;
+    private final int virtualNodes;
+    private final long handoffTimeoutNanos;
+
+    // 노드별로 옮기기를 마쳤다고 알린 링의 노드 목록
+    private final ConcurrentHashMap<String, Set<String>> completedHandoffs = new ConcurrentHashMap<>();
+
+    private volatile RingState state;
+
+    public PointShardRouter(PointShardProperties properties) {
+        if (properties.self() == null || properties.self().isBlank()) {
+            throw new IllegalStateException("샤딩을 사용하려면 point.shard.self 를 설정해야 합니다.");
+        }
+        this.self = properties.self();
+        this.virtualNodes = properties.virtualNodes();
+        this.handoffTimeoutNanos = properties.handoffTimeout().toNanos();
+        ConsistentHashRing ring = new ConsistentHashRing(properties.nodes().isEmpty() ? List.of(self) : properties.nodes(), virtualNodes);
+        this.state = new RingState(ring, null, System.nanoTime());
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String ownerOf(long userId) {
+        return state.ring().ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        return self.equals(state.ring().ownerOf(userId));
+    }
+
+    public List<String> nodes() {
+        return state.ring().nodes();
+    }
+
+    /**
+     * 링을 바꾸면서 이 노드가 새로 담당하게 된 사용자를 이전 담당 노드가 아직 옮기는 중인지 반환합니다.
+     */
+    public boolean isHandoffPending(long userId) {
+        RingState current = state;
+        if (current.previous() == null || System.nanoTime() - current.handoffDeadlineNanos() >= 0) {
+            return false;
+        }
+        String previousOwner = current.previous().ownerOf(userId);
+        if (self.equals(previousOwner) || !self.equals(current.ring().ownerOf(userId))) {
+            return false;
+        }
+        return !Set.copyOf(current.ring().nodes()).equals(completedHandoffs.get(previousOwner));
+    }
+
+    /**
+     * 노드가 주어진 링으로 옮기기를 마쳤음을 기록합니다. 이 노드의 링이 바뀌기 전에 도착해도 링이 같으면 반영됩니다.
+     */
+    void completeHandoff(String node, List<String> nodes) {
+        completedHandoffs.put(node, Set.copyOf(nodes));
+    }
+
+    /**
+     * 링을 새 노드 목록으로 교체합니다. 이후 도착한 요청부터 새 링으로 전달됩니다.
+     * 옮기지 못한 사용자를 다시 옮기려고 같은 목록으로 호출하면 링과 옮겨 오는 중인 사용자는 그대로 둡니다.
+     */
+    void update(List<String> nodes) {
+        RingState current = state;
+        if (Set.copyOf(current.ring().nodes()).equals(Set.copyOf(nodes))) {
+            return;
+        }
+        this.state = new RingState(new ConsistentHashRing(nodes, virtualNodes), current.ring(), System.nanoTime() + handoffTimeoutNanos);
+    }
+
+    private record RingState(ConsistentHashRing ring, ConsistentHashRing previous, long handoffDeadlineNanos) {
+    }
+}
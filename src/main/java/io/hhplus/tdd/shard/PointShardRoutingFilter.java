@@ -0,0 +1,288 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointTransferRequest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 ID 가 경로에 있는 포인트 요청({@code /point/{id}/...}, {@code /reactive/point/{id}/...})을
+ * 그 사용자를 담당하는 노드로 전달하고, 받은 응답을 그대로 돌려줍니다.
+ * <p>
+ * 전달한 요청에는 {@link #FORWARDED_HEADER} 와 공유 비밀값({@link PointShardAuthenticationFilter#SECRET_HEADER})을 붙이며,
+ * 이 헤더가 있는 요청은 링과 관계없이 이 노드에서 처리해 링을 교체하는 동안 노드마다 링이 달라도 요청이 노드 사이를 돌지 않도록 합니다.
+ * 공유 비밀값이 맞지 않는 전달 요청은 담당하지 않는 사용자의 잔고를 이 노드에 만들 수 있으므로 401 로 거절합니다.
+ * 이 노드에서 처리할 요청이라도 이전 담당 노드가 그 사용자를 아직 옮기는 중이면, 0 인 잔고로 처리하지 않도록 429 로 거절합니다.
+ * <p>
+ * 포인트 이전({@code POST /point/transfer})과 일괄 처리({@code POST /point/batch})는 본문의 사용자를 모두 담당하는 노드로 전달하며,
+ * 담당 노드가 서로 다르면 한 노드에서 처리할 수 없으므로 501 로 거절합니다.
+ * 변경 없이 여러 사용자를 읽는 요청(내역 내보내기, 집계)은 전달하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class PointShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardRoutingFilter.class);
+
+    public static final String FORWARDED_HEADER = "X-Point-Shard-Forwarded";
+
+    private static final String TRANSFER_PATH = "/point/transfer";
+    private static final String BATCH_PATH = "/point/batch";
+    private static final TypeReference<List<PointOperation>> OPERATIONS = new TypeReference<>() {
+    };
+    private static final Pattern USER_PATH = Pattern.compile("^(?:/reactive)?/point/(\\d{1,18})(?:/.*)?$");
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, PointController.IDEMPOTENCY_KEY_HEADER
+    );
+    // 담당 노드가 429 로 거절한 경우 재시도 간격(Retry-After)도 그대로 전달한다.
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(HttpHeaders.RETRY_AFTER);
+    private static final String HANDOFF_RETRY_AFTER_SECONDS = "1";
+
+    private final PointShardRouter pointShardRouter;
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final RestClient restClient;
+
+    public PointShardRoutingFilter(PointShardRouter pointShardRouter, ObjectMapper objectMapper,
+                                   PointShardProperties properties, RestClient.Builder restClientBuilder) {
+        this.pointShardRouter = pointShardRouter;
+        this.objectMapper = objectMapper;
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+        this.restClient = restClientBuilder
+                .defaultHeader(PointShardAuthenticationFilter.SECRET_HEADER, properties.secret())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getHeader(FORWARDED_HEADER) != null && !PointShardAuthenticationFilter.matches(secret, request)) {
+            writeError(response, HttpStatus.UNAUTHORIZED, "인증되지 않은 요청입니다.");
+            return;
+        }
+
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            if (TRANSFER_PATH.equals(request.getRequestURI())) {
+                routeByOwner(request, response, filterChain, body -> {
+                    PointTransferRequest transfer = objectMapper.readValue(body, PointTransferRequest.class);
+                    return List.of(transfer.senderId(), transfer.receiverId());
+                }, "담당 노드가 다른 사용자 사이의 포인트 이전은 지원하지 않습니다.");
+                return;
+            }
+            if (BATCH_PATH.equals(request.getRequestURI())) {
+                routeByOwner(request, response, filterChain, body -> objectMapper.readValue(body, OPERATIONS).stream()
+                        .map(PointOperation::userId)
+                        .toList(), "담당 노드가 다른 사용자를 함께 담은 일괄 처리는 지원하지 않습니다.");
+                return;
+            }
+        }
+
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long userId = Long.parseLong(matcher.group(1));
+        boolean forwarded = request.getHeader(FORWARDED_HEADER) != null;
+        if (!forwarded && !pointShardRouter.isLocal(userId)) {
+            forward(request, response, pointShardRouter.ownerOf(userId), request.getInputStream().readAllBytes());
+            return;
+        }
+
+        if (pointShardRouter.isHandoffPending(userId)) {
+            rejectDuringHandoff(response);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 본문을 읽어 본문에 담긴 사용자들의 담당 노드를 확인한다. 읽은 본문은 이 노드에서 처리할 때 다시 전달한다.
+     */
+    private void routeByOwner(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                              UserIdsReader userIdsReader, String crossShardMessage) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        List<Long> userIds;
+        try {
+            userIds = userIdsReader.read(body);
+        } catch (IOException e) {
+            // 읽을 수 없는 본문은 이 노드의 컨트롤러가 거절하도록 그대로 넘긴다.
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        Set<String> owners = userIds.stream().map(pointShardRouter::ownerOf).collect(Collectors.toSet());
+        if (owners.size() > 1) {
+            writeError(response, HttpStatus.NOT_IMPLEMENTED, crossShardMessage);
+            return;
+        }
+        boolean forwarded = request.getHeader(FORWARDED_HEADER) != null;
+        String owner = owners.isEmpty() ? pointShardRouter.self() : owners.iterator().next();
+        if (!forwarded && !owner.equals(pointShardRouter.self())) {
+            forward(request, response, owner, body);
+            return;
+        }
+
+        if (userIds.stream().anyMatch(pointShardRouter::isHandoffPending)) {
+            rejectDuringHandoff(response);
+            return;
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private void rejectDuringHandoff(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, HANDOFF_RETRY_AFTER_SECONDS);
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "사용자를 다른 노드에서 옮겨 오는 중입니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(status.value()), message));
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String owner, byte[] body) throws IOException {
+        String query = request.getQueryString();
+        URI uri = URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query));
+
+        ResponseEntity<byte[]> forwarded;
+        try {
+            RestClient.RequestBodySpec spec = restClient.method(HttpMethod.valueOf(request.getMethod()))
+                    .uri(uri)
+                    .headers(headers -> {
+                        for (String name : FORWARDED_REQUEST_HEADERS) {
+                            String value = request.getHeader(name);
+                            if (value != null) {
+                                headers.set(name, value);
+                            }
+                        }
+                        headers.set(FORWARDED_HEADER, pointShardRouter.self());
+                    });
+            if (body.length > 0) {
+                spec.body(body);
+            }
+            forwarded = spec.retrieve()
+                    .onStatus(status -> true, (forwardedRequest, forwardedResponse) -> {
+                    })
+                    .toEntity(byte[].class);
+        } catch (RestClientException e) {
+            log.warn("담당 노드로 요청을 전달하지 못했습니다. owner={}, uri={}", owner, uri, e);
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "담당 노드에 연결할 수 없습니다.");
+            return;
+        }
+
+        response.setStatus(forwarded.getStatusCode().value());
+        MediaType contentType = forwarded.getHeaders().getContentType();
+        if (contentType != null) {
+            response.setContentType(contentType.toString());
+        }
+        for (String name : FORWARDED_RESPONSE_HEADERS) {
+            String value = forwarded.getHeaders().getFirst(name);
+            if (value != null) {
+                response.setHeader(name, value);
+            }
+        }
+        if (forwarded.getBody() != null) {
+            response.getOutputStream().write(forwarded.getBody());
+        }
+    }
+
+    @FunctionalInterface
+    private interface UserIdsReader {
+
+        List<Long> read(byte[] body) throws IOException;
+    }
+
+    /**
+     * 필터에서 이미 읽은 본문을 컨트롤러가 다시 읽을 수 있도록 감싼 요청입니다.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
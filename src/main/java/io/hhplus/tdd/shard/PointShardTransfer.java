@@ -0,0 +1,21 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHold;
+
+import java.util.List;
+
+/**
+ * 담당 노드가 바뀐 사용자의 잔고와 내역, 확정하지 않은 예약입니다.
+ *
+ * @param migrationId 보낸 노드가 사용자를 막아 둘 때 정한 ID 로, 응답을 받지 못해 다시 보내도 받는 노드는 한 번만 반영합니다.
+ * @param holds       보낸 노드에서 꺼낸 예약으로, 받는 노드는 ID 와 만료 시각을 그대로 유지합니다.
+ */
+public record PointShardTransfer(
+        String migrationId,
+        long userId,
+        long point,
+        List<PointHistory> histories,
+        List<PointHold> holds
+) {
+}
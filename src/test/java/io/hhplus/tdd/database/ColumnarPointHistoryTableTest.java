@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarPointHistoryTableTest {
+
+    /**
+     * 열별로 나눠 저장한 내역이 추가한 값 그대로 조회되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("추가한 순서대로 id 를 부여하고, 사용자 ID로 본인의 내역만 조회한다.")
+    void shouldSelectOwnHistoriesInInsertionOrder() {
+        // given
+        ColumnarPointHistoryTable table = new ColumnarPointHistoryTable();
+
+        // when
+        PointHistory first = table.insert(1L, 5_000L, CHARGE, 100L);
+        table.insert(2L, 3_000L, CHARGE, 200L);
+        table.insert(1L, 1_000L, USE, 300L);
+
+        // then
+        assertThat(first).isEqualTo(new PointHistory(1L, 1L, 5_000L, CHARGE, 100L));
+        assertThat(table.selectAllByUserId(1L)).containsExactly(
+                new PointHistory(1L, 1L, 5_000L, CHARGE, 100L),
+                new PointHistory(3L, 1L, 1_000L, USE, 300L)
+        );
+        assertThat(table.selectAllByUserId(3L)).isEmpty();
+    }
+
+    /**
+     * int 범위를 벗어나는 값과 청크 경계를 넘는 내역도 그대로 조회되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("값의 차이가 int 범위를 벗어나거나 청크를 넘어가도 추가한 값 그대로 조회한다.")
+    void shouldKeepValuesAcrossWideningAndChunks() {
+        // given
+        ColumnarPointHistoryTable table = new ColumnarPointHistoryTable();
+        int rows = ColumnarPointHistoryTable.CHUNK_SIZE + 10;
+
+        // when
+        for (int i = 0; i < rows; i++) {
+            table.insert(i % 2 == 0 ? 1L : Long.MAX_VALUE, i, CHARGE, i == 5 ? Long.MIN_VALUE : i);
+        }
+
+        // then
+        List<PointHistory> histories = table.selectAllByUserId(Long.MAX_VALUE);
+        assertThat(table.size()).isEqualTo(rows);
+        assertThat(histories).hasSize(rows / 2);
+        assertThat(histories.get(2)).isEqualTo(new PointHistory(6L, Long.MAX_VALUE, 5L, CHARGE, Long.MIN_VALUE));
+        assertThat(histories.get(histories.size() - 1).id()).isEqualTo(rows);
+    }
+}
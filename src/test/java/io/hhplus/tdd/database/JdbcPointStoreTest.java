@@ -0,0 +1,167 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class JdbcPointStoreTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcPointStore jdbcPointStore;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcPointStore = newStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcPointStore.close();
+        dataSource.shutdown();
+    }
+
+    /**
+     * 여러 스레드에서 동시에 쓴 잔고와 내역이 한 건도 빠지지 않고 커밋되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("동시에 들어온 잔고 기록과 내역 추가를 묶어 커밋하고, 내역마다 서로 다른 id 를 발급한다.")
+    void shouldCommitConcurrentWritesInGroups() throws Exception {
+        // given
+        int userCount = 50;
+        int historiesPerUser = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            long id = userId;
+            futures.add(executor.submit(() -> {
+                for (int i = 1; i <= historiesPerUser; i++) {
+                    jdbcPointStore.insertHistory(id, 1_000L, CHARGE, i);
+                    jdbcPointStore.upsertBalance(id, i * 1_000L);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        List<PointHistory> all = new ArrayList<>();
+        jdbcPointStore.forEachHistory(all::add);
+        assertThat(all).hasSize(userCount * historiesPerUser);
+        assertThat(all).extracting(PointHistory::id).doesNotHaveDuplicates();
+        assertThat(jdbcPointStore.selectHistories(7L)).extracting(PointHistory::updateMillis).isSorted();
+
+        VersionedUserPoint balance = jdbcPointStore.selectBalance(7L);
+        assertThat(balance.userPoint().point()).isEqualTo(historiesPerUser * 1_000L);
+        assertThat(balance.version()).isEqualTo(historiesPerUser);
+    }
+
+    /**
+     * 읽은 뒤 다른 쓰기가 있었던 잔고 변경은 반영되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("잔고 행의 version 이 읽은 시점과 다르면 잔고와 내역을 반영하지 않는다.")
+    void shouldRejectStaleVersion() {
+        // given
+        VersionedUserPoint empty = jdbcPointStore.selectBalance(1L);
+        List<PointHistory> committed = new ArrayList<>();
+        jdbcPointStore.onCompareAndSetCommitted(committed::add);
+
+        // when
+        boolean first = jdbcPointStore.compareAndSet(List.of(BalanceChange.of(empty, CHARGE, 5_000L, 100L)));
+        boolean stale = jdbcPointStore.compareAndSet(List.of(BalanceChange.of(empty, CHARGE, 3_000L, 200L)));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(stale).isFalse();
+        assertThat(jdbcPointStore.selectBalance(1L)).isEqualTo(new VersionedUserPoint(new UserPoint(1L, 5_000L, 100L), 1L));
+        assertThat(jdbcPointStore.selectHistories(1L)).extracting(PointHistory::amount).containsExactly(5_000L);
+        assertThat(committed).extracting(PointHistory::amount).containsExactly(5_000L);
+    }
+
+    /**
+     * 여러 잔고 행을 바꾸는 변경이 한 행이라도 충돌하면 모든 행이 반영되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("두 사용자의 잔고 변경 중 한쪽만 충돌해도 양쪽 모두 반영하지 않는다.")
+    void shouldApplyAllChangesOrNothing() {
+        // given
+        jdbcPointStore.compareAndSet(List.of(BalanceChange.of(jdbcPointStore.selectBalance(1L), CHARGE, 5_000L, 100L)));
+        VersionedUserPoint sender = jdbcPointStore.selectBalance(1L);
+        VersionedUserPoint staleReceiver = jdbcPointStore.selectBalance(2L);
+        jdbcPointStore.upsertBalance(2L, 1_000L);
+
+        // when
+        boolean applied = jdbcPointStore.compareAndSet(List.of(
+                BalanceChange.of(sender, USE, 2_000L, 200L),
+                BalanceChange.of(staleReceiver, CHARGE, 2_000L, 200L)
+        ));
+
+        // then
+        assertThat(applied).isFalse();
+        assertThat(jdbcPointStore.selectBalance(1L).userPoint().point()).isEqualTo(5_000L);
+        assertThat(jdbcPointStore.selectBalance(2L).userPoint().point()).isEqualTo(1_000L);
+        assertThat(jdbcPointStore.selectHistories(1L)).hasSize(1);
+        assertThat(jdbcPointStore.selectHistories(2L)).isEmpty();
+    }
+
+    /**
+     * 저장소를 다시 만들어도 커밋된 잔고와 내역이 그대로 조회되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("재기동한 저장소에서도 이전에 커밋한 잔고와 내역을 조회한다.")
+    void shouldKeepDataAcrossRestart() {
+        // given
+        jdbcPointStore.upsertBalance(1L, 3_000L);
+        PointHistory history = jdbcPointStore.insertHistory(1L, 3_000L, CHARGE, 100L);
+        jdbcPointStore.close();
+
+        // when
+        jdbcPointStore = newStore();
+
+        // then
+        assertThat(jdbcPointStore.selectBalance(1L).userPoint().point()).isEqualTo(3_000L);
+        assertThat(jdbcPointStore.selectHistories(1L)).containsExactly(history);
+    }
+
+    /**
+     * 종료한 저장소에는 더 이상 쓸 수 없는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("종료한 저장소에 쓰면 예외가 발생한다.")
+    void shouldRejectWritesAfterClose() {
+        // given
+        jdbcPointStore.close();
+
+        // when // then
+        assertThatThrownBy(() -> jdbcPointStore.upsertBalance(1L, 1_000L))
+                .hasMessage("포인트 저장소가 종료되었습니다.");
+    }
+
+    private JdbcPointStore newStore() {
+        return new JdbcPointStore(dataSource, new PointJdbcProperties(true, Duration.ofMillis(2), 512, 10));
+    }
+}
@@ -0,0 +1,165 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class MappedPointWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedPointWriteAheadLog open(int segmentRecords) {
+        DataSize segmentSize = DataSize.ofBytes((long) segmentRecords * MappedPointWriteAheadLog.RECORD_SIZE);
+        return new MappedPointWriteAheadLog(new PointWalProperties(true, directory, segmentSize, true, Duration.ofMinutes(1), true));
+    }
+
+    private List<PointWalRecord> replay(MappedPointWriteAheadLog wal) {
+        List<PointWalRecord> records = new ArrayList<>();
+        wal.replay(records::add);
+        return records;
+    }
+
+    /**
+     * 다시 열어도 기록한 내역이 순서대로 복구되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("WAL 을 다시 열면 기록한 내역을 lsn 순서대로 재생하고, 이어서 기록한다.")
+    void shouldReplayRecordsAfterReopen() {
+        // given
+        MappedPointWriteAheadLog wal = open(16);
+        wal.append(1L, 5_000L, CHARGE, 100L);
+        wal.append(2L, 3_000L, CHARGE, 200L);
+        wal.append(1L, 1_000L, USE, 300L);
+        wal.close();
+
+        // when
+        MappedPointWriteAheadLog reopened = open(16);
+        long lsn = reopened.append(2L, 500L, USE, 400L);
+
+        // then
+        assertThat(replay(reopened)).containsExactly(
+                new PointWalRecord(1L, 1L, 5_000L, CHARGE, 100L),
+                new PointWalRecord(2L, 2L, 3_000L, CHARGE, 200L),
+                new PointWalRecord(3L, 1L, 1_000L, USE, 300L),
+                new PointWalRecord(4L, 2L, 500L, USE, 400L)
+        );
+        assertThat(lsn).isEqualTo(4L);
+    }
+
+    /**
+     * 세그먼트가 가득 차면 다음 세그먼트 파일로 넘어가는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 세그먼트 파일에 이어서 기록한다.")
+    void shouldRollSegments() throws IOException {
+        // given
+        MappedPointWriteAheadLog wal = open(2);
+
+        // when
+        for (long i = 1; i <= 5; i++) {
+            wal.append(i, 1_000L, CHARGE, i);
+        }
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+        assertThat(replay(open(2))).extracting(PointWalRecord::userId).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    /**
+     * 다시 열지 않아도 기록 중에 새로 만든 세그먼트까지 재생하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("기록 중에 세그먼트가 넘어가도 같은 WAL 에서 모든 세그먼트를 순서대로 재생한다.")
+    void shouldReplayRolledSegmentsWithoutReopen() {
+        // given
+        MappedPointWriteAheadLog wal = open(2);
+        wal.append(1L, 1_000L, CHARGE, 1L);
+        replay(wal);
+
+        // when
+        for (long i = 2; i <= 5; i++) {
+            wal.append(i, 1_000L, CHARGE, i);
+        }
+
+        // then
+        assertThat(replay(wal)).extracting(PointWalRecord::userId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(wal.lastLsn()).isEqualTo(5L);
+    }
+
+    /**
+     * 일부만 기록된 마지막 레코드는 버리고 그 자리부터 다시 기록하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("체크섬이 맞지 않는 마지막 레코드는 재생하지 않고 다음 기록으로 덮어쓴다.")
+    void shouldDiscardTornRecord() throws IOException {
+        // given
+        MappedPointWriteAheadLog wal = open(16);
+        wal.append(1L, 5_000L, CHARGE, 100L);
+        wal.append(1L, 1_000L, USE, 200L);
+        wal.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(MappedPointWriteAheadLog.RECORD_SIZE + 8);
+            file.writeLong(9_999L);
+        }
+
+        // when
+        MappedPointWriteAheadLog reopened = open(16);
+        long lsn = reopened.append(1L, 2_000L, CHARGE, 300L);
+
+        // then
+        assertThat(lsn).isEqualTo(2L);
+        assertThat(replay(reopened)).containsExactly(
+                new PointWalRecord(1L, 1L, 5_000L, CHARGE, 100L),
+                new PointWalRecord(2L, 1L, 2_000L, CHARGE, 300L)
+        );
+    }
+
+    /**
+     * 다른 노드로 옮긴 기록이 재생되고, 다시 열었을 때 그 사용자의 잔고가 0 으로 복구되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자를 옮긴 기록을 재생하면 옮긴 기록으로 전달하고, 다시 열면 그 사용자의 잔고를 0 으로 복구한다.")
+    void shouldReplayMoveOutRecord() {
+        // given
+        MappedPointWriteAheadLog wal = open(16);
+        wal.append(1L, 5_000L, CHARGE, 100L);
+        wal.append(2L, 3_000L, CHARGE, 200L);
+        wal.appendMoveOut(1L, 5_000L, 300L);
+        wal.close();
+
+        // when
+        MappedPointWriteAheadLog reopened = open(16);
+        reopened.restoreBalances(PointBalanceSnapshot.EMPTY);
+
+        // then
+        assertThat(replay(reopened)).containsExactly(
+                new PointWalRecord(1L, 1L, 5_000L, CHARGE, 100L),
+                new PointWalRecord(2L, 2L, 3_000L, CHARGE, 200L),
+                new PointWalRecord(3L, 1L, 5_000L, USE, 300L, true)
+        );
+        assertThat(reopened.balances())
+                .extracting(PointBalanceSnapshot.Entry::userId, PointBalanceSnapshot.Entry::point)
+                .containsExactlyInAnyOrder(tuple(1L, 0L), tuple(2L, 3_000L));
+    }
+}
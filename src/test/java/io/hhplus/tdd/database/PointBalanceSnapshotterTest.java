@@ -0,0 +1,152 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class PointBalanceSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    private PointWalProperties properties() {
+        return properties(DataSize.ofKilobytes(4), true);
+    }
+
+    private PointWalProperties properties(DataSize segmentSize, boolean archiveSegments) {
+        return new PointWalProperties(true, directory, segmentSize, true, Duration.ofHours(1), archiveSegments);
+    }
+
+    private long countSegments(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(Files::isRegularFile).filter(file -> file.toString().endsWith(".wal")).count();
+        }
+    }
+
+    /**
+     * 스냅샷과 그 이후의 기록만으로 잔고가 복구되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("다시 기동하면 마지막 스냅샷에 그 이후의 기록만 재생해 잔고를 복구한다.")
+    void shouldRestoreBalancesFromSnapshotAndTail() {
+        // given
+        MappedPointWriteAheadLog wal = new MappedPointWriteAheadLog(properties());
+        PointBalanceSnapshotter snapshotter = new PointBalanceSnapshotter(wal, properties());
+        wal.append(1L, 5_000L, CHARGE, 100L);
+        wal.append(2L, 3_000L, CHARGE, 200L);
+        PointBalanceSnapshot snapshot = snapshotter.snapshot();
+        wal.append(1L, 1_000L, USE, 300L);
+        wal.close();
+
+        // when
+        MappedPointWriteAheadLog reopened = new MappedPointWriteAheadLog(properties());
+        PointBalanceSnapshot loaded = new PointBalanceSnapshotter(reopened, properties()).load().orElseThrow();
+        List<PointWalRecord> replayed = new ArrayList<>();
+        reopened.replay(loaded.watermark() + 1, reopened.lastLsn(), replayed::add);
+        reopened.restoreBalances(loaded);
+
+        // then
+        assertThat(loaded).isEqualTo(snapshot);
+        assertThat(replayed).extracting(PointWalRecord::lsn).containsExactly(3L);
+        assertThat(reopened.balances())
+                .extracting(PointBalanceSnapshot.Entry::userId, PointBalanceSnapshot.Entry::point)
+                .containsExactlyInAnyOrder(tuple(1L, 4_000L), tuple(2L, 3_000L));
+    }
+
+    /**
+     * 스냅샷을 만드는 동안 반영된 기록이 복구 시 두 번 반영되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("watermark 이후라도 스냅샷 항목에 이미 반영된 기록은 다시 반영하지 않는다.")
+    void shouldSkipRecordsAlreadyInSnapshotEntry() {
+        // given
+        MappedPointWriteAheadLog wal = new MappedPointWriteAheadLog(properties());
+        wal.append(1L, 5_000L, CHARGE, 100L);
+        wal.append(1L, 1_000L, CHARGE, 200L);
+        wal.append(1L, 500L, USE, 300L);
+        wal.close();
+        PointBalanceSnapshot fuzzy = new PointBalanceSnapshot(1L, List.of(new PointBalanceSnapshot.Entry(1L, 6_000L, 200L, 2L)));
+
+        // when
+        MappedPointWriteAheadLog reopened = new MappedPointWriteAheadLog(properties());
+        reopened.restoreBalances(fuzzy);
+
+        // then
+        assertThat(reopened.balances())
+                .extracting(PointBalanceSnapshot.Entry::point, PointBalanceSnapshot.Entry::lsn)
+                .containsExactly(tuple(5_500L, 3L));
+    }
+
+    /**
+     * 스냅샷에 모두 담긴 세그먼트를 archive 디렉터리로 옮기고, 옮긴 세그먼트의 내역도 재생하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("스냅샷을 기록하면 watermark 이하의 세그먼트를 archive 로 옮기고, 다시 기동해도 전체 내역을 재생한다.")
+    void shouldArchiveSegmentsCoveredBySnapshot() throws IOException {
+        // given
+        PointWalProperties properties = properties(DataSize.ofBytes(2L * MappedPointWriteAheadLog.RECORD_SIZE), true);
+        MappedPointWriteAheadLog wal = new MappedPointWriteAheadLog(properties);
+        for (long i = 1; i <= 5; i++) {
+            wal.append(i, 1_000L, CHARGE, i);
+        }
+
+        // when
+        PointBalanceSnapshot snapshot = new PointBalanceSnapshotter(wal, properties).snapshot();
+        wal.close();
+
+        // then
+        assertThat(countSegments(directory)).isEqualTo(1);
+        assertThat(countSegments(directory.resolve("archive"))).isEqualTo(2);
+
+        MappedPointWriteAheadLog reopened = new MappedPointWriteAheadLog(properties);
+        reopened.restoreBalances(snapshot);
+        List<PointWalRecord> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+        assertThat(replayed).extracting(PointWalRecord::lsn).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(reopened.balances()).hasSize(5);
+    }
+
+    /**
+     * archive 하지 않도록 설정하면 스냅샷에 모두 담긴 세그먼트를 삭제하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("archive 를 끄면 watermark 이하의 세그먼트를 삭제하고, 잔고는 스냅샷으로 복구한다.")
+    void shouldDeleteSegmentsCoveredBySnapshot() throws IOException {
+        // given
+        PointWalProperties properties = properties(DataSize.ofBytes(2L * MappedPointWriteAheadLog.RECORD_SIZE), false);
+        MappedPointWriteAheadLog wal = new MappedPointWriteAheadLog(properties);
+        for (long i = 1; i <= 5; i++) {
+            wal.append(i, 1_000L, CHARGE, i);
+        }
+
+        // when
+        PointBalanceSnapshot snapshot = new PointBalanceSnapshotter(wal, properties).snapshot();
+        wal.close();
+
+        // then
+        assertThat(countSegments(directory)).isEqualTo(1);
+        assertThat(countSegments(directory.resolve("archive"))).isZero();
+
+        MappedPointWriteAheadLog reopened = new MappedPointWriteAheadLog(properties);
+        reopened.restoreBalances(snapshot);
+        List<PointWalRecord> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+        assertThat(replayed).extracting(PointWalRecord::lsn).containsExactly(5L);
+        assertThat(reopened.balances()).hasSize(5);
+    }
+}
@@ -0,0 +1,291 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryPageRequest;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointRollup;
+import io.hhplus.tdd.point.PointRollupProperties;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointHistoryRepositoryTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private PointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong cursor = new AtomicLong(1);
+        lenient().when(pointHistoryTable.insert(anyLong(), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> new PointHistory(
+                        cursor.getAndIncrement(),
+                        invocation.getArgument(0),
+                        invocation.getArgument(1),
+                        invocation.getArgument(2),
+                        invocation.getArgument(3)
+                ));
+        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, new PointMetrics(new SimpleMeterRegistry()), new NoopPointWriteAheadLog(),
+                new PointRollup(new PointRollupProperties(Duration.ofHours(3), Duration.ofDays(7))));
+    }
+
+    /**
+     * 인덱스를 통해 본인의 내역만 조회되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자 ID로 본인의 포인트 내역만 추가된 순서대로 조회한다.")
+    void shouldFindOnlyOwnHistories() {
+        // given
+        pointHistoryRepository.insert(1L, 1_000L, CHARGE, 100000L);
+        pointHistoryRepository.insert(2L, 2_000L, CHARGE, 100000L);
+        pointHistoryRepository.insert(1L, 500L, USE, 100001L);
+
+        // when
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).extracting("id", "userId", "amount", "type")
+                .containsExactly(
+                        tuple(1L, 1L, 1_000L, CHARGE),
+                        tuple(3L, 1L, 500L, USE)
+                );
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+    }
+
+    /**
+     * 청크 경계를 넘어가도 모든 내역이 순서대로 보관되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("내역이 여러 청크에 걸쳐 저장되어도 순서대로 조회한다.")
+    void shouldKeepOrderAcrossChunks() {
+        // given
+        int count = 1_000;
+        for (int i = 0; i < count; i++) {
+            pointHistoryRepository.insert(1L, i, CHARGE, i);
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).hasSize(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(histories.get(i).amount()).isEqualTo(i);
+        }
+    }
+
+    /**
+     * 조회 이후에 추가된 내역은 이미 반환된 목록에 영향을 주지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("조회한 목록은 이후에 추가된 내역을 포함하지 않는다.")
+    void shouldReturnStableSnapshot() {
+        // given
+        pointHistoryRepository.insert(1L, 1_000L, CHARGE, 100000L);
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(1L);
+
+        // when
+        pointHistoryRepository.insert(1L, 2_000L, CHARGE, 100001L);
+
+        // then
+        assertThat(histories).hasSize(1);
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).hasSize(2);
+        assertThat(pointHistoryRepository.findAllByUserId(2L)).isEmpty();
+    }
+
+    /**
+     * 커서 이후의 내역을 페이지 크기만큼 조회하고 다음 커서를 반환하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("커서 이후의 내역을 페이지 크기만큼 조회하고 다음 커서를 반환한다.")
+    void shouldFindPageAfterCursor() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            pointHistoryRepository.insert(1L, 1_000L, CHARGE, 100000L + i);
+        }
+
+        // when
+        PointHistoryPage firstPage = pointHistoryRepository.findPageByUserId(1L, PointHistoryPageRequest.first(2));
+        PointHistoryPage secondPage = pointHistoryRepository.findPageByUserId(1L, new PointHistoryPageRequest(firstPage.nextCursor(), 2, null, null));
+        PointHistoryPage lastPage = pointHistoryRepository.findPageByUserId(1L, new PointHistoryPageRequest(secondPage.nextCursor(), 2, null, null));
+
+        // then
+        assertThat(firstPage.histories()).extracting("id").containsExactly(1L, 2L);
+        assertThat(firstPage.nextCursor()).isEqualTo(2L);
+        assertThat(secondPage.histories()).extracting("id").containsExactly(3L, 4L);
+        assertThat(lastPage.histories()).extracting("id").containsExactly(5L);
+        assertThat(lastPage.hasNext()).isFalse();
+    }
+
+    /**
+     * 조회 기간에 해당하는 내역만 조회하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("조회 기간(from 포함, to 미포함)에 해당하는 내역만 조회한다.")
+    void shouldFindPageWithinTimeRange() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            pointHistoryRepository.insert(1L, 1_000L, CHARGE, 100000L + i);
+        }
+
+        // when
+        PointHistoryPage page = pointHistoryRepository.findPageByUserId(1L, new PointHistoryPageRequest(null, 10, 100003L, 100006L));
+
+        // then
+        assertThat(page.histories()).extracting("updateMillis").containsExactly(100003L, 100004L, 100005L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    /**
+     * 허용하지 않는 페이지 크기에 대해 예외가 발생하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("페이지 크기는 " + PointHistoryPageRequest.MAX_SIZE + " 를 넘을 수 없다.")
+    void shouldThrowExceptionWhenPageSizeExceedsMax() {
+        // when // then
+        assertThatThrownBy(() -> PointHistoryPageRequest.first(PointHistoryPageRequest.MAX_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("페이지 크기는 1 이상 %d 이하여야 합니다.", PointHistoryPageRequest.MAX_SIZE);
+    }
+
+    /**
+     * 지정한 사용자와 기간에 해당하는 내역만 스트림으로 조회하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("지정한 사용자들의 기간 내 내역을 스트림으로 조회한다.")
+    void shouldStreamHistoriesOfUsersWithinTimeRange() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            pointHistoryRepository.insert(1L, 1_000L, CHARGE, 100000L + i);
+            pointHistoryRepository.insert(2L, 2_000L, CHARGE, 100000L + i);
+            pointHistoryRepository.insert(3L, 3_000L, CHARGE, 100000L + i);
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryRepository.streamAll(Set.of(1L, 2L), 100001L, 100003L).toList();
+
+        // then
+        assertThat(histories).extracting("userId", "updateMillis")
+                .containsExactlyInAnyOrder(
+                        tuple(1L, 100001L), tuple(1L, 100002L),
+                        tuple(2L, 100001L), tuple(2L, 100002L)
+                );
+        assertThat(pointHistoryRepository.streamAll(Set.of(), null, null)).hasSize(15);
+    }
+
+    /**
+     * 내역을 추가할 때마다 사용자별 요약이 갱신되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("내역을 추가하면 사용자별 충전/사용 합계와 내역 수, 첫/마지막 시각이 갱신된다.")
+    void shouldMaintainSummaryOnInsert() {
+        // given
+        pointHistoryRepository.insert(1L, 1_000L, CHARGE, 100000L);
+        pointHistoryRepository.insert(1L, 2_000L, CHARGE, 100001L);
+        pointHistoryRepository.insert(1L, 500L, USE, 100002L);
+        pointHistoryRepository.insert(2L, 9_000L, CHARGE, 100003L);
+
+        // when
+        PointSummary summary = pointHistoryRepository.findSummaryByUserId(1L);
+
+        // then
+        assertThat(summary).isEqualTo(new PointSummary(1L, 3_000L, 500L, 3L, 100000L, 100002L));
+        assertThat(pointHistoryRepository.findSummaryByUserId(3L)).isEqualTo(PointSummary.empty(3L));
+    }
+
+    /**
+     * WAL 에 먼저 기록하고 lsn 을 내역 id 로 사용하며, 이후 테이블 추가가 실패해도 내역이 커밋되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("WAL 을 사용하면 WAL 에 먼저 기록하고, 테이블 추가가 실패해도 lsn 을 id 로 한 내역이 조회된다.")
+    void shouldAppendToWalBeforeTable() {
+        // given
+        PointWriteAheadLog pointWriteAheadLog = mock(PointWriteAheadLog.class);
+        when(pointWriteAheadLog.append(1L, 1_000L, CHARGE, 100000L)).thenReturn(7L);
+        when(pointWriteAheadLog.append(1L, 500L, USE, 100001L)).thenReturn(8L);
+        when(pointHistoryTable.insert(1L, 500L, USE, 100001L)).thenThrow(new IllegalStateException("테이블 장애"));
+        PointHistoryRepository repository = new PointHistoryRepository(pointHistoryTable, new PointMetrics(new SimpleMeterRegistry()), pointWriteAheadLog,
+                new PointRollup(new PointRollupProperties(Duration.ofHours(3), Duration.ofDays(7))));
+
+        // when
+        PointHistory charged = repository.insert(1L, 1_000L, CHARGE, 100000L);
+        PointHistory used = repository.insert(1L, 500L, USE, 100001L);
+
+        // then
+        assertThat(charged.id()).isEqualTo(7L);
+        assertThat(used.id()).isEqualTo(8L);
+        assertThat(repository.findAllByUserId(1L)).extracting("id").containsExactly(7L, 8L);
+        InOrder inOrder = inOrder(pointWriteAheadLog, pointHistoryTable);
+        inOrder.verify(pointWriteAheadLog).append(1L, 1_000L, CHARGE, 100000L);
+        inOrder.verify(pointHistoryTable).insert(1L, 1_000L, CHARGE, 100000L);
+    }
+
+    /**
+     * WAL 기록이 실패하면 테이블과 인덱스에 내역이 남지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("WAL 기록이 실패하면 예외가 발생하고 테이블과 인덱스에는 내역이 추가되지 않는다.")
+    void shouldNotInsertWhenWalAppendFails() {
+        // given
+        PointWriteAheadLog pointWriteAheadLog = mock(PointWriteAheadLog.class);
+        when(pointWriteAheadLog.append(anyLong(), anyLong(), any(TransactionType.class), anyLong()))
+                .thenThrow(new IllegalStateException("WAL 장애"));
+        PointHistoryRepository repository = new PointHistoryRepository(pointHistoryTable, new PointMetrics(new SimpleMeterRegistry()), pointWriteAheadLog,
+                new PointRollup(new PointRollupProperties(Duration.ofHours(3), Duration.ofDays(7))));
+
+        // when // then
+        assertThatThrownBy(() -> repository.insert(1L, 1_000L, CHARGE, 100000L))
+                .isInstanceOf(IllegalStateException.class);
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(TransactionType.class), anyLong());
+        assertThat(repository.findAllByUserId(1L)).isEmpty();
+        assertThat(repository.findSummaryByUserId(1L)).isEqualTo(PointSummary.empty(1L));
+    }
+
+    /**
+     * WAL 에서 복구하는 내역은 테이블을 거치지 않고, 사용자의 마지막 내역이 복구되면 기다리던 조회가 바로 풀리는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("복구 중인 사용자의 조회는 마지막 내역이 복구될 때까지 기다리고, 복구된 내역은 테이블에 추가하지 않는다.")
+    void shouldWaitUntilUserHistoriesAreRestored() throws Exception {
+        // given
+        pointHistoryRepository.beginRestore(Map.of(1L, 2L, 2L, 3L));
+        CompletableFuture<List<PointHistory>> histories = CompletableFuture.supplyAsync(() -> pointHistoryRepository.findAllByUserId(1L));
+
+        // when
+        pointHistoryRepository.restore(new PointWalRecord(1L, 1L, 1_000L, CHARGE, 100000L));
+        assertThat(histories).isNotDone();
+        pointHistoryRepository.restore(new PointWalRecord(2L, 1L, 500L, USE, 100001L));
+
+        // then
+        assertThat(histories.get(5, TimeUnit.SECONDS)).extracting("id").containsExactly(1L, 2L);
+        assertThat(pointHistoryRepository.findAllByUserId(3L)).isEmpty();
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(TransactionType.class), anyLong());
+
+        pointHistoryRepository.finishRestore();
+        assertThat(pointHistoryRepository.findAllByUserId(2L)).isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class SynchronizedPointHistoryTableTest {
+
+    /**
+     * 여러 사용자의 내역을 동시에 추가해도 id 가 중복 없이 추가 순서대로 부여되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("여러 사용자가 동시에 내역을 추가해도 id 는 1 부터 중복 없이 부여되고 모든 내역이 조회된다.")
+    void shouldAssignUniqueIdsUnderConcurrentInserts() {
+        // given
+        SynchronizedPointHistoryTable table = new SynchronizedPointHistoryTable();
+        int users = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+
+        // when
+        List<PointHistory> inserted;
+        try {
+            List<CompletableFuture<List<PointHistory>>> futures = IntStream.rangeClosed(1, users)
+                    .mapToObj(userId -> CompletableFuture.supplyAsync(() -> List.of(
+                            table.insert(userId, 1_000L, CHARGE, 100L),
+                            table.insert(userId, 500L, USE, 200L)
+                    ), executor))
+                    .toList();
+            inserted = futures.stream().flatMap(future -> future.join().stream()).toList();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(inserted).extracting(PointHistory::id)
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, users * 2L).boxed().toList());
+        assertThat(IntStream.rangeClosed(1, users).map(userId -> table.selectAllByUserId(userId).size()).sum())
+                .isEqualTo(users * 2);
+    }
+}
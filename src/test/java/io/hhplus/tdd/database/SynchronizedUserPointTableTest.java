@@ -0,0 +1,40 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SynchronizedUserPointTableTest {
+
+    /**
+     * 여러 스레드가 동시에 잔고를 기록해도 모든 사용자의 마지막 잔고가 조회되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("여러 스레드가 서로 다른 사용자의 잔고를 동시에 기록해도 기록한 잔고가 모두 조회된다.")
+    void shouldKeepAllBalancesUnderConcurrentWrites() {
+        // given
+        SynchronizedUserPointTable table = new SynchronizedUserPointTable();
+        int users = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+
+        // when
+        try {
+            CompletableFuture.allOf(LongStream.rangeClosed(1, users)
+                            .mapToObj(userId -> CompletableFuture.runAsync(() -> table.insertOrUpdate(userId, userId * 1_000L), executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(LongStream.rangeClosed(1, users).map(userId -> table.selectById(userId).point()).toArray())
+                .containsExactly(LongStream.rangeClosed(1, users).map(userId -> userId * 1_000L).toArray());
+    }
+}
@@ -0,0 +1,122 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPointCacheTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    private UserPointCache createCache(int maxSize, boolean writeBehind) {
+        return new UserPointCache(userPointTable, new UserPointCacheProperties(maxSize, writeBehind, Duration.ofHours(1)), new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    /**
+     * 한 번 적재된 사용자 포인트는 테이블을 다시 조회하지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("캐시에 적재된 사용자 포인트는 테이블을 다시 조회하지 않는다.")
+    void shouldReadFromCacheAfterFirstLoad() {
+        // given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1_000L, 100000L));
+        UserPointCache cache = createCache(10, false);
+
+        // when
+        cache.get(USER_ID);
+        UserPoint userPoint = cache.get(USER_ID);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(1_000L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        verify(userPointTable, times(1)).selectById(USER_ID);
+    }
+
+    /**
+     * 최대 크기를 넘으면 가장 오래 사용되지 않은 사용자부터 제거되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("캐시 크기를 초과하면 가장 오래 사용되지 않은 사용자부터 제거한다.")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // given
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 100000L));
+        UserPointCache cache = createCache(2, false);
+
+        cache.put(1L, 1_000L);
+        cache.put(2L, 2_000L);
+        cache.getIfPresent(1L);
+
+        // when
+        cache.put(3L, 3_000L);
+
+        // then
+        assertThat(cache.getIfPresent(1L)).isNotNull();
+        assertThat(cache.getIfPresent(2L)).isNull();
+        assertThat(cache.getIfPresent(3L)).isNotNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    /**
+     * write-behind 모드에서는 flush 전까지 테이블에 기록하지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("write-behind 모드에서는 flush 시점에 마지막 포인트만 테이블에 기록한다.")
+    void shouldWriteBehindOnFlush() {
+        // given
+        UserPointCache cache = createCache(10, true);
+
+        // when
+        cache.put(USER_ID, 1_000L);
+        cache.put(USER_ID, 2_000L);
+        cache.evict(USER_ID);
+
+        // then
+        assertThat(cache.get(USER_ID).point()).isEqualTo(2_000L);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(userPointTable, never()).selectById(anyLong());
+
+        cache.flush();
+
+        verify(userPointTable, times(1)).insertOrUpdate(USER_ID, 2_000L);
+        assertThat(cache.stats().pendingWrites()).isZero();
+
+        cache.close();
+    }
+
+    /**
+     * 복구한 포인트는 테이블에 기록하지 않고, 캐시에서 제거되어도 복구한 값을 반환하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("기동 시 복구한 포인트는 테이블을 거치지 않고 적재되며, 캐시에서 제거되어도 복구한 값을 반환한다.")
+    void shouldRestoreWithoutWritingToTable() {
+        // given
+        UserPointCache cache = createCache(1, false);
+
+        // when
+        cache.restore(1L, 1_000L);
+        cache.restore(2L, 2_000L);
+
+        // then
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.get(1L).point()).isEqualTo(1_000L);
+        assertThat(cache.get(2L).point()).isEqualTo(2_000L);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(userPointTable, never()).selectById(anyLong());
+    }
+}
@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CasPointEngineTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private UserPointCache userPointCache;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private CasPointEngine casPointEngine;
+
+    @BeforeEach
+    void setUp() {
+        casPointEngine = new CasPointEngine(userPointCache, pointHistoryRepository, new PointMetrics(new SimpleMeterRegistry()), new PointEngineProperties(PointEngineProperties.Type.CAS, 2, Duration.ofMillis(10), Duration.ofMillis(40), 3, 16, 100), new PointExecutors(false));
+    }
+
+    /**
+     * 기록한 잔고를 다시 조회할 수 있도록 캐시를 흉내 낸다. 모두 기록한 셀은 제거되어 다음 변경 때 캐시에서 다시 읽는다.
+     */
+    private void stubStoredPoint(long point) {
+        AtomicReference<UserPoint> stored = new AtomicReference<>(new UserPoint(USER_ID, point, System.currentTimeMillis()));
+        when(userPointCache.get(USER_ID)).thenAnswer(invocation -> stored.get());
+        lenient().when(userPointCache.put(eq(USER_ID), anyLong())).thenAnswer(invocation -> {
+            UserPoint userPoint = new UserPoint(USER_ID, invocation.getArgument(1), System.currentTimeMillis());
+            stored.set(userPoint);
+            return userPoint;
+        });
+    }
+
+    private void awaitPersisted() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (casPointEngine.hasPendingWrites() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private void executeConcurrency(int threads, Runnable task) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+    }
+
+    /**
+     * 동시에 충전해도 CAS 로 모든 충전이 반영되고, 내역과 잔고가 순서대로 기록되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("한 명의 사용자가 동시에 충전하면 모든 충전이 반영되고 마지막 잔고가 기록된다.")
+    void shouldApplyConcurrentChargesWithoutLock() throws InterruptedException {
+        // given
+        int nThreads = 100;
+        long amount = 1_000L;
+        stubStoredPoint(0L);
+
+        // when
+        executeConcurrency(nThreads, () -> casPointEngine.charge(USER_ID, amount));
+        casPointEngine.close();
+
+        // then
+        assertThat(casPointEngine.read(USER_ID).point()).isEqualTo(nThreads * amount);
+        verify(pointHistoryRepository, times(nThreads)).insert(eq(USER_ID), eq(amount), eq(CHARGE), anyLong());
+        verify(userPointCache, atLeastOnce()).put(USER_ID, nThreads * amount);
+        assertThat(casPointEngine.hasPendingWrites()).isFalse();
+    }
+
+    /**
+     * 동시에 사용해도 CAS 루프 안의 검증으로 잔고가 음수가 되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("동시에 잔고보다 많이 사용하면 잔고만큼만 사용에 성공한다.")
+    void shouldNotOverdrawUnderContention() throws InterruptedException {
+        // given
+        stubStoredPoint(10_000L);
+        AtomicInteger failures = new AtomicInteger();
+
+        // when
+        executeConcurrency(20, () -> {
+            try {
+                casPointEngine.use(USER_ID, 1_000L);
+            } catch (IllegalStateException e) {
+                failures.incrementAndGet();
+            }
+        });
+        casPointEngine.close();
+
+        // then
+        assertThat(casPointEngine.read(USER_ID).point()).isZero();
+        assertThat(failures.get()).isEqualTo(10);
+        verify(pointHistoryRepository, times(10)).insert(eq(USER_ID), eq(1_000L), eq(USE), anyLong());
+    }
+
+    /**
+     * cas 엔진은 예약 요청을 지원하지 않는 요청으로 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("cas 엔진에서 예약, 확정, 취소를 요청하면 지원하지 않는 요청으로 거절한다.")
+    void shouldRejectHoldsAsUnsupported() {
+        // when // then
+        assertThatThrownBy(() -> casPointEngine.hold(USER_ID, 1_000L, null))
+                .isInstanceOf(PointUnsupportedOperationException.class);
+        assertThatThrownBy(() -> casPointEngine.capture(USER_ID, 1L))
+                .isInstanceOf(PointUnsupportedOperationException.class);
+        assertThatThrownBy(() -> casPointEngine.release(USER_ID, 1L))
+                .isInstanceOf(PointUnsupportedOperationException.class);
+        verifyNoInteractions(userPointCache, pointHistoryRepository);
+    }
+
+    /**
+     * 모두 기록한 사용자의 셀은 제거되고, 다음 변경은 기록된 잔고에서 이어지는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("기록할 변경이 남지 않은 사용자의 셀은 제거하고, 다음 변경 때 저장된 잔고를 다시 읽는다.")
+    void shouldEvictCellAfterPersisting() throws InterruptedException {
+        // given
+        stubStoredPoint(0L);
+        casPointEngine.charge(USER_ID, 1_000L);
+        awaitPersisted();
+
+        // when
+        UserPoint userPoint = casPointEngine.charge(USER_ID, 2_000L);
+        awaitPersisted();
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(3_000L);
+        assertThat(casPointEngine.read(USER_ID).point()).isEqualTo(3_000L);
+        verify(userPointCache, times(3)).get(USER_ID);
+    }
+
+    /**
+     * 기록이 계속 실패하면 간격을 늘려 다시 시도하다가 그 사용자의 변경을 거절하고, 기록되면 다시 받는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("기록이 persistMaxRetries 번 연속 실패하면 충전을 429 로 거절하고, 다시 기록되면 충전을 받는다.")
+    void shouldSuspendUserAfterRepeatedPersistFailures() throws InterruptedException {
+        // given
+        stubStoredPoint(0L);
+        AtomicBoolean storageDown = new AtomicBoolean(true);
+        AtomicInteger attempts = new AtomicInteger();
+        when(pointHistoryRepository.insert(eq(USER_ID), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    attempts.incrementAndGet();
+                    if (storageDown.get()) {
+                        throw new IllegalStateException("storage down");
+                    }
+                    return null;
+                });
+        casPointEngine.charge(USER_ID, 1_000L);
+
+        // when
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (attempts.get() < 3 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        int attemptsWhileDown = attempts.get();
+
+        // then
+        assertThat(attemptsWhileDown).isBetween(3, 8);
+        assertThatThrownBy(() -> casPointEngine.charge(USER_ID, 1_000L))
+                .isInstanceOf(PointBusyException.class);
+
+        storageDown.set(false);
+        awaitPersisted();
+        assertThat(casPointEngine.charge(USER_ID, 1_000L).point()).isEqualTo(2_000L);
+    }
+}
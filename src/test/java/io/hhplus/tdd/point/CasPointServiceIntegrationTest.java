@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * CAS 엔진에서도 lock 엔진과 같은 동시성 테스트를 통과하는 지 검증합니다.
+ * 잔고가 엔진 메모리에 남아 있으므로 테스트마다 컨텍스트를 새로 만듭니다.
+ */
+@SpringBootTest(properties = "point.engine.type=cas")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CasPointServiceIntegrationTest extends PointServiceIntegrationTest {
+}
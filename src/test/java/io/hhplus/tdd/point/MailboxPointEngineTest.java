@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailboxPointEngineTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private UserPointCache userPointCache;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private MailboxPointEngine mailboxPointEngine;
+
+    @BeforeEach
+    void setUp() {
+        mailboxPointEngine = new MailboxPointEngine(
+                userPointCache,
+                pointHistoryRepository,
+                new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), new PointMetrics(new SimpleMeterRegistry())),
+                new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 512), System::currentTimeMillis),
+                new PointEngineProperties(PointEngineProperties.Type.MAILBOX, 1, Duration.ofMillis(100), Duration.ofSeconds(10), 5, 2, 100),
+                new PointExecutors(false)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailboxPointEngine.close();
+    }
+
+    /**
+     * 처리 중에 쌓인 요청들을 잔고 조회/기록 한 번으로 합쳐 처리하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("큐에 쌓인 요청은 잔고를 한 번만 조회/기록하고 내역은 요청마다 기록한다.")
+    void shouldCoalesceQueuedOperations() throws Exception {
+        // given
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+        when(userPointCache.get(USER_ID))
+                .thenReturn(UserPoint.empty(USER_ID))
+                .thenReturn(new UserPoint(USER_ID, 1_000L, System.currentTimeMillis()));
+        when(pointHistoryRepository.insert(eq(USER_ID), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    firstInsertStarted.countDown();
+                    releaseFirstInsert.await();
+                    return null;
+                });
+
+        // when
+        CompletableFuture<UserPoint> first = mailboxPointEngine.chargeAsync(USER_ID, 1_000L);
+        firstInsertStarted.await();
+
+        List<CompletableFuture<UserPoint>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            queued.add(mailboxPointEngine.chargeAsync(USER_ID, 1_000L));
+        }
+        CompletableFuture<UserPoint> overdraw = mailboxPointEngine.useAsync(USER_ID, 100_000L);
+        releaseFirstInsert.countDown();
+
+        // then
+        assertThat(first.join().point()).isEqualTo(1_000L);
+        assertThat(queued).extracting(future -> future.join().point())
+                .containsExactly(2_000L, 3_000L, 4_000L, 5_000L, 6_000L);
+        assertThatThrownBy(overdraw::join).hasCauseInstanceOf(IllegalStateException.class);
+
+        verify(userPointCache, times(2)).get(USER_ID);
+        verify(userPointCache, times(1)).put(USER_ID, 1_000L);
+        verify(userPointCache, times(1)).put(USER_ID, 6_000L);
+        verify(pointHistoryRepository, times(6)).insert(eq(USER_ID), eq(1_000L), eq(CHARGE), anyLong());
+    }
+
+    /**
+     * 동기 호출에서는 검증 예외가 그대로 전달되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("동기 호출에서 검증에 실패하면 검증 예외를 그대로 던진다.")
+    void shouldThrowValidationExceptionOnSyncCall() {
+        // given
+        when(userPointCache.get(USER_ID)).thenReturn(UserPoint.empty(USER_ID));
+
+        // when // then
+        assertThatThrownBy(() -> mailboxPointEngine.charge(USER_ID, 999L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("포인트는 최소 %d부터 충전할 수 있습니다.", UserPointValidator.MIN_AMOUNT);
+    }
+
+    /**
+     * 사용자 락을 대기 시간 안에 얻지 못하면 꺼낸 요청을 모두 거절하고, 이후 요청은 정상 처리하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("락 대기 시간을 넘기면 큐의 요청을 PointBusyException 으로 완료하고 다음 요청은 처리한다.")
+    void shouldFailQueuedOperationsWhenLockWaitTimesOut() throws Exception {
+        // given
+        UserLockRegistry userLockRegistry = new UserLockRegistry(
+                new UserLockProperties(16, true, Duration.ofMillis(100), 100, Duration.ofSeconds(1)), new PointMetrics(new SimpleMeterRegistry()));
+        MailboxPointEngine engine = new MailboxPointEngine(
+                userPointCache,
+                pointHistoryRepository,
+                userLockRegistry,
+                new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 512), System::currentTimeMillis),
+                new PointEngineProperties(PointEngineProperties.Type.MAILBOX, 1, Duration.ofMillis(100), Duration.ofSeconds(10), 5, 2, 100),
+                new PointExecutors(false)
+        );
+        when(userPointCache.get(USER_ID)).thenReturn(UserPoint.empty(USER_ID));
+
+        try {
+            // when
+            ReentrantLock lock = userLockRegistry.acquire(USER_ID);
+            try {
+                CompletableFuture<UserPoint> rejected = engine.chargeAsync(USER_ID, 1_000L);
+                assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(PointBusyException.class);
+            } finally {
+                lock.unlock();
+            }
+
+            // then
+            assertThat(engine.chargeAsync(USER_ID, 1_000L).get(5, TimeUnit.SECONDS).point()).isEqualTo(1_000L);
+            verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(1_000L), eq(CHARGE), anyLong());
+        } finally {
+            engine.close();
+        }
+    }
+
+    /**
+     * 내역 기록이 중간에 실패하면 앞서 기록한 요청은 잔고까지 반영해 성공하고, 실패한 요청과 이후 요청만 실패하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("합쳐 처리하던 중 내역 기록이 실패하면 이미 기록한 요청의 잔고는 기록하고, 실패한 요청부터만 실패한다.")
+    void shouldCompleteRecordedOperationsWhenInsertFailsMidBatch() throws Exception {
+        // given
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+        RuntimeException storageFailure = new RuntimeException("storage failure");
+        when(userPointCache.get(USER_ID))
+                .thenReturn(UserPoint.empty(USER_ID))
+                .thenReturn(new UserPoint(USER_ID, 1_000L, System.currentTimeMillis()));
+        when(pointHistoryRepository.insert(eq(USER_ID), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    firstInsertStarted.countDown();
+                    releaseFirstInsert.await();
+                    return null;
+                })
+                .thenReturn(null)
+                .thenThrow(storageFailure);
+
+        // when
+        CompletableFuture<UserPoint> first = mailboxPointEngine.chargeAsync(USER_ID, 1_000L);
+        firstInsertStarted.await();
+
+        CompletableFuture<UserPoint> recorded = mailboxPointEngine.chargeAsync(USER_ID, 1_000L);
+        CompletableFuture<UserPoint> failed = mailboxPointEngine.chargeAsync(USER_ID, 1_000L);
+        CompletableFuture<UserPoint> following = mailboxPointEngine.chargeAsync(USER_ID, 1_000L);
+        releaseFirstInsert.countDown();
+
+        // then
+        assertThat(first.join().point()).isEqualTo(1_000L);
+        assertThat(recorded.join().point()).isEqualTo(2_000L);
+        assertThatThrownBy(failed::join).hasCause(storageFailure);
+        assertThatThrownBy(following::join).hasCause(storageFailure);
+
+        verify(userPointCache, times(1)).put(USER_ID, 2_000L);
+        verify(pointHistoryRepository, times(3)).insert(eq(USER_ID), eq(1_000L), eq(CHARGE), anyLong());
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * mailbox 엔진에서도 lock 엔진과 같은 동시성 테스트를 통과하는 지 검증합니다.
+ */
+@SpringBootTest(properties = "point.engine.type=mailbox")
+class MailboxPointServiceIntegrationTest extends PointServiceIntegrationTest {
+}
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.JdbcPointStore;
+import io.hhplus.tdd.database.NoopPointWriteAheadLog;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointJdbcProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OptimisticPointEngineTest {
+
+    private EmbeddedDatabase dataSource;
+    private final List<JdbcPointStore> stores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(JdbcPointStore::close);
+        dataSource.shutdown();
+    }
+
+    /**
+     * 같은 DB 를 쓰는 두 노드가 같은 사용자를 동시에 충전해도 잔고가 유실되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("두 노드에서 같은 사용자를 동시에 충전해도 모든 충전이 잔고와 내역에 반영되고, 어느 노드에서든 모든 내역이 조회된다.")
+    void shouldNotLoseUpdatesAcrossNodes() throws Exception {
+        // given
+        PointHistoryRepository firstHistories = newHistoryRepository();
+        PointHistoryRepository secondHistories = newHistoryRepository();
+        OptimisticPointEngine first = newEngine(firstHistories);
+        OptimisticPointEngine second = newEngine(secondHistories);
+        int requestsPerNode = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < requestsPerNode; i++) {
+            futures.add(executor.submit(() -> first.charge(1L, 1_000L)));
+            futures.add(executor.submit(() -> second.charge(1L, 1_000L)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(first.read(1L).point()).isEqualTo(requestsPerNode * 2 * 1_000L);
+        assertThat(firstHistories.findAllByUserId(1L)).hasSize(requestsPerNode * 2)
+                .extracting(PointHistory::id).isSorted();
+        assertThat(secondHistories.findAllByUserId(1L)).hasSize(requestsPerNode * 2);
+        assertThat(secondHistories.findSummaryByUserId(1L).totalCharged()).isEqualTo(requestsPerNode * 2 * 1_000L);
+    }
+
+    /**
+     * 검증에 실패한 요청은 잔고와 내역에 반영되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("잔고보다 많이 사용하면 예외가 발생하고 잔고는 변하지 않는다.")
+    void shouldRejectUseOverBalance() {
+        // given
+        PointHistoryRepository pointHistoryRepository = newHistoryRepository();
+        OptimisticPointEngine engine = newEngine(pointHistoryRepository);
+        engine.charge(1L, 5_000L);
+
+        // when // then
+        assertThatThrownBy(() -> engine.use(1L, 6_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.NOT_ENOUGH_POINTS.message());
+        assertThat(engine.read(1L).point()).isEqualTo(5_000L);
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).hasSize(1);
+    }
+
+    /**
+     * 이전이 두 사용자의 잔고와 내역에 함께 반영되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("포인트를 이전하면 보낸 사용자의 사용 내역과 받은 사용자의 충전 내역이 함께 기록된다.")
+    void shouldTransferBetweenUsers() {
+        // given
+        PointHistoryRepository pointHistoryRepository = newHistoryRepository();
+        OptimisticPointEngine engine = newEngine(pointHistoryRepository);
+        engine.charge(1L, 5_000L);
+
+        // when
+        PointTransfer pointTransfer = engine.transfer(1L, 2L, 2_000L);
+
+        // then
+        assertThat(pointTransfer.sender().point()).isEqualTo(3_000L);
+        assertThat(pointTransfer.receiver().point()).isEqualTo(2_000L);
+        assertThat(engine.read(2L).point()).isEqualTo(2_000L);
+        assertThat(pointHistoryRepository.findAllByUserId(2L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE);
+    }
+
+    private PointHistoryRepository newHistoryRepository() {
+        return new PointHistoryRepository(new PointHistoryTable(), new PointMetrics(new SimpleMeterRegistry()), new NoopPointWriteAheadLog(),
+                new PointRollup(new PointRollupProperties(Duration.ofHours(3), Duration.ofDays(7))));
+    }
+
+    private OptimisticPointEngine newEngine(PointHistoryRepository pointHistoryRepository) {
+        PointJdbcProperties jdbcProperties = new PointJdbcProperties(true, Duration.ofMillis(2), 512, 100);
+        JdbcPointStore jdbcPointStore = new JdbcPointStore(dataSource, jdbcProperties);
+        stores.add(jdbcPointStore);
+        return new OptimisticPointEngine(jdbcPointStore, pointHistoryRepository, new PointMetrics(new SimpleMeterRegistry()),
+                jdbcProperties, new UserLockProperties(4096, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointBatchServiceTest {
+
+    @Mock
+    private PointService pointService;
+
+    private PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp() {
+        pointBatchService = new PointBatchService(pointService, new PointBatchProperties(4, 3), new PointExecutors(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointBatchService.close();
+    }
+
+    /**
+     * 사용자별로 묶어 처리한 결과가 요청 순서대로 반환되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("요청을 사용자별로 묶어 처리하고 결과는 요청 순서대로 반환한다.")
+    void shouldGroupOperationsByUser() {
+        // given
+        PointOperation first = new PointOperation(1L, CHARGE, 1_000L);
+        PointOperation second = new PointOperation(2L, CHARGE, 2_000L);
+        PointOperation third = new PointOperation(1L, USE, 500L);
+
+        when(pointService.applyOperations(1L, List.of(first, third))).thenReturn(
+                List.of(PointOperationResult.success(first, 1_000L), PointOperationResult.success(third, 500L))
+        );
+        when(pointService.applyOperations(2L, List.of(second))).thenReturn(
+                List.of(PointOperationResult.success(second, 2_000L))
+        );
+
+        // when
+        List<PointOperationResult> results = pointBatchService.apply(List.of(first, second, third));
+
+        // then
+        assertThat(results).extracting("userId", "type", "point")
+                .containsExactly(
+                        tuple(1L, CHARGE, 1_000L),
+                        tuple(2L, CHARGE, 2_000L),
+                        tuple(1L, USE, 500L)
+                );
+        verify(pointService, times(1)).applyOperations(eq(1L), anyList());
+        verify(pointService, times(1)).applyOperations(eq(2L), anyList());
+    }
+
+    /**
+     * 한 사용자의 묶음이 예외로 끝나도 다른 사용자의 결과를 함께 반환하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("한 사용자의 처리가 예외로 끝나면 그 사용자의 요청만 실패로 반환하고 다른 사용자의 결과는 그대로 반환한다.")
+    void shouldReportOtherUsersWhenOneUserFails() {
+        // given
+        PointOperation first = new PointOperation(1L, CHARGE, 1_000L);
+        PointOperation second = new PointOperation(2L, CHARGE, 2_000L);
+
+        when(pointService.applyOperations(1L, List.of(first))).thenThrow(new RuntimeException("storage failure"));
+        when(pointService.applyOperations(2L, List.of(second))).thenReturn(
+                List.of(PointOperationResult.success(second, 2_000L))
+        );
+
+        // when
+        List<PointOperationResult> results = pointBatchService.apply(List.of(first, second));
+
+        // then
+        assertThat(results).extracting("userId", "success", "point", "reason")
+                .containsExactly(
+                        tuple(1L, false, null, "storage failure"),
+                        tuple(2L, true, 2_000L, null)
+                );
+    }
+
+    /**
+     * 최대 건수를 넘는 일괄 요청에 대해 예외가 발생하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("일괄 처리는 최대 건수를 넘을 수 없다.")
+    void shouldThrowExceptionWhenOperationsExceedMax() {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, CHARGE, 1_000L),
+                new PointOperation(2L, CHARGE, 1_000L),
+                new PointOperation(3L, CHARGE, 1_000L),
+                new PointOperation(4L, CHARGE, 1_000L)
+        );
+
+        // when // then
+        assertThatThrownBy(() -> pointBatchService.apply(operations))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("일괄 처리는 한 번에 최대 3건까지 요청할 수 있습니다.");
+    }
+}
@@ -6,15 +6,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static io.hhplus.tdd.point.TransactionType.*;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(controllers = PointController.class)
@@ -26,6 +33,9 @@ class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private PointBatchService pointBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -46,16 +56,33 @@ class PointControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(point));
     }
 
+    @Test
+    @DisplayName("한 사용자에게 요청이 몰려 거절된 요청은 429 와 Retry-After 로 응답한다.")
+    void pointBusy() throws Exception {
+        // given
+        when(pointService.getUserPointByUserId(1L)).thenThrow(new PointBusyException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", Duration.ofMillis(1_500)));
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/1"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("429"));
+    }
+
     @Test
     @DisplayName("사용자 ID로 포인트 충전/사용 내역을 조회한다.")
     void histories() throws Exception {
         // given
         long userId = 1L;
 
-        when(pointService.getPointHistoriesByUserId(userId)).thenReturn(
-                List.of(
-                        new PointHistory(1L, userId, 10_000L, CHARGE, 100000L),
-                        new PointHistory(2L, userId, 20_000L, USE, 100000L)
+        when(pointService.getPointHistoryPage(userId, PointHistoryPageRequest.first(PointHistoryPageRequest.DEFAULT_SIZE))).thenReturn(
+                new PointHistoryPage(
+                        List.of(
+                                new PointHistory(1L, userId, 10_000L, CHARGE, 100000L),
+                                new PointHistory(2L, userId, 20_000L, USE, 100000L)
+                        ),
+                        null
                 )
         );
 
@@ -63,14 +90,83 @@ class PointControllerTest {
         // then
         mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId +"/histories"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[0].id").value(1L))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[0].userId").value(userId))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[0].amount").value(10_000L))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[0].type").value(CHARGE.name()))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].id").value(2L))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].userId").value(userId))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].amount").value(20_000L))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].type").value(USE.name()));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[0].id").value(1L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[0].userId").value(userId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[0].amount").value(10_000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[0].type").value(CHARGE.name()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[1].id").value(2L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[1].userId").value(userId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[1].amount").value(20_000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[1].type").value(USE.name()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("커서와 조회 기간, 페이지 크기로 포인트 내역을 조회한다.")
+    void historiesWithCursor() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistoryPageRequest request = new PointHistoryPageRequest(10L, 1, 100000L, 200000L);
+
+        when(pointService.getPointHistoryPage(userId, request)).thenReturn(
+                new PointHistoryPage(List.of(new PointHistory(11L, userId, 10_000L, CHARGE, 150000L)), 11L)
+        );
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
+                        .param("cursor", "10")
+                        .param("size", "1")
+                        .param("from", "100000")
+                        .param("to", "200000"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[0].id").value(11L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value(11L));
+    }
+
+    @Test
+    @DisplayName("사용자 ID로 포인트 내역 요약을 조회한다.")
+    void summary() throws Exception {
+        // given
+        long userId = 1L;
+
+        when(pointService.getPointSummary(userId)).thenReturn(new PointSummary(userId, 3_000L, 500L, 3L, 100000L, 100002L));
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/summary"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalCharged").value(3_000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalUsed").value(500L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(3L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastUpdateMillis").value(100002L));
+    }
+
+    @Test
+    @DisplayName("포인트 내역을 한 줄에 하나씩 JSON 으로 스트리밍한다.")
+    void exportHistories() throws Exception {
+        // given
+        when(pointService.streamPointHistories(Set.of(1L, 2L), null, null)).thenReturn(
+                Stream.of(
+                        new PointHistory(1L, 1L, 10_000L, CHARGE, 100000L),
+                        new PointHistory(2L, 2L, 20_000L, USE, 100000L)
+                )
+        );
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/point/histories/export")
+                        .param("userIds", "1", "2"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        String expected = objectMapper.writeValueAsString(new PointHistory(1L, 1L, 10_000L, CHARGE, 100000L)) + "\n"
+                + objectMapper.writeValueAsString(new PointHistory(2L, 2L, 20_000L, USE, 100000L)) + "\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(expected));
     }
 
     @Test
@@ -81,21 +177,116 @@ class PointControllerTest {
 
         long amount = 10_000L;
 
-        when(pointService.chargeUserPoint(eq(userId), eq(amount))).thenReturn(
-                new UserPoint(userId, amount, 100000L)
+        when(pointService.chargeUserPointAsync(eq(userId), eq(amount), isNull())).thenReturn(
+                CompletableFuture.completedFuture(new UserPoint(userId, amount, 100000L))
         );
 
         // when
-        // then
-        mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(amount))
                 )
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(userId))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(amount));
     }
 
+    @Test
+    @DisplayName("Idempotency-Key 헤더로 받은 멱등 키를 충전 요청과 함께 전달한다.")
+    void chargeWithIdempotencyKey() throws Exception {
+        // given
+        long userId = 1L;
+        long amount = 10_000L;
+        String idempotencyKey = "charge-1";
+
+        when(pointService.chargeUserPointAsync(eq(userId), eq(amount), eq(idempotencyKey))).thenReturn(
+                CompletableFuture.completedFuture(new UserPoint(userId, amount, 100000L))
+        );
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
+                        .header(PointController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(amount))
+                )
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(amount));
+    }
+
+    @Test
+    @DisplayName("한 사용자의 포인트를 다른 사용자에게 이전한다.")
+    void transfer() throws Exception {
+        // given
+        when(pointService.transfer(1L, 2L, 3_000L)).thenReturn(
+                new PointTransfer(new UserPoint(1L, 7_000L, 100000L), new UserPoint(2L, 3_000L, 100000L))
+        );
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointTransferRequest(1L, 2L, 3_000L))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sender.point").value(7_000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.receiver.point").value(3_000L));
+    }
+
+    @Test
+    @DisplayName("현재 포인트 엔진이 지원하지 않는 포인트 이전은 501 로 응답한다.")
+    void transferUnsupported() throws Exception {
+        // given
+        when(pointService.transfer(1L, 2L, 3_000L)).thenThrow(new PointUnsupportedOperationException("현재 포인트 엔진은 포인트 이전을 지원하지 않습니다."));
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointTransferRequest(1L, 2L, 3_000L))))
+                .andExpect(MockMvcResultMatchers.status().isNotImplemented())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("501"));
+    }
+
+    @Test
+    @DisplayName("만료 시간을 지정해 포인트를 예약한다.")
+    void hold() throws Exception {
+        // given
+        when(pointService.holdPoint(1L, 3_000L, Duration.ofSeconds(60))).thenReturn(
+                new PointHold(10L, 1L, 3_000L, 160000L, PointHold.Status.HELD)
+        );
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/1/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointHoldRequest(3_000L, 60L))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(10L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("HELD"));
+    }
+
+    @Test
+    @DisplayName("예약을 확정하면 사용 후 잔고를 반환한다.")
+    void capture() throws Exception {
+        // given
+        when(pointService.capturePoint(1L, 10L)).thenReturn(new UserPoint(1L, 7_000L, 100000L));
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/1/holds/10/capture"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(7_000L));
+    }
+
     @Test
     @DisplayName("포인트 사용에 성공한다.")
     void use() throws Exception {
@@ -103,19 +294,53 @@ class PointControllerTest {
         long userId = 1L;
         long amount = 10_000L;
 
-        when(pointService.usePoint(eq(userId), eq(amount))).thenReturn(
-                new UserPoint(userId, amount, 100000L)
+        when(pointService.usePointAsync(eq(userId), eq(amount), isNull())).thenReturn(
+                CompletableFuture.completedFuture(new UserPoint(userId, amount, 100000L))
         );
 
         // when
-        // then
-        mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/use")
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/use")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(amount))
                 )
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(userId))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(amount));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("여러 사용자의 포인트 충전/사용을 일괄 처리하고 건별 결과를 반환한다.")
+    void batch() throws Exception {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, CHARGE, 10_000L),
+                new PointOperation(2L, USE, 5_000L)
+        );
+
+        when(pointBatchService.apply(operations)).thenReturn(
+                List.of(
+                        PointOperationResult.success(operations.get(0), 10_000L),
+                        PointOperationResult.failure(operations.get(1), new IllegalStateException("포인트가 부족하여 사용할 수 없습니다."))
+                )
+        );
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations))
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.[0].success").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.[0].point").value(10_000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].success").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].reason").value("포인트가 부족하여 사용할 수 없습니다."))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.[1].error").doesNotExist());
+    }
+
+}
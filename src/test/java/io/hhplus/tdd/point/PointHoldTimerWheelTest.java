@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PointHoldTimerWheelTest {
+
+    /**
+     * 슬롯을 확인하는 도중 등록한 항목이 한 바퀴 늦지 않고 다음 tick 에 만료되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("만료를 확인하는 도중 이미 지난 시각으로 등록한 예약은 다음 tick 에 만료된다.")
+    void shouldExpireEntryScheduledDuringAdvanceOnNextTick() {
+        // given
+        PointHoldTimerWheel wheel = new PointHoldTimerWheel(10L, 8, 0L);
+        wheel.schedule(10L, 1L, 1L);
+        List<Long> expired = new ArrayList<>();
+
+        // when
+        wheel.advance(50L, entry -> {
+            expired.add(entry.holdId());
+            wheel.schedule(10L, 1L, 2L);
+        });
+        wheel.advance(60L, entry -> expired.add(entry.holdId()));
+
+        // then
+        assertThat(expired).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PointHoldsTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private PointHolds pointHolds;
+
+    @BeforeEach
+    void setUp() {
+        pointHolds = new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 8), now::get);
+    }
+
+    /**
+     * 만료 시각이 지난 예약만 취소되고 예약 합계에서 빠지는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("만료 시각이 지난 예약만 자동으로 취소하고, 만료된 예약은 확정할 수 없다.")
+    void shouldExpireOnlyDueHolds() {
+        // given
+        PointHold shortHold = pointHolds.hold(1L, 10_000L, 1_000L, Duration.ofMillis(250));
+        pointHolds.hold(1L, 10_000L, 2_000L, Duration.ofSeconds(1));
+
+        // when
+        now.addAndGet(300L);
+        int expired = pointHolds.expire();
+
+        // then
+        assertThat(expired).isEqualTo(1);
+        assertThat(pointHolds.heldPoint(1L)).isEqualTo(2_000L);
+        assertThatThrownBy(() -> pointHolds.take(1L, shortHold.id()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.HOLD_NOT_FOUND.message());
+    }
+
+    /**
+     * 바퀴 한 바퀴보다 먼 만료 시각은 바퀴를 돌아 그 시각에 만료되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("만료 시간이 timer wheel 한 바퀴보다 길면 다음 바퀴에서 만료한다.")
+    void shouldExpireHoldBeyondOneRevolution() {
+        // given
+        pointHolds.hold(1L, 10_000L, 1_000L, Duration.ofMillis(2_050));
+
+        // when
+        int expiredEarly = 0;
+        for (int tick = 0; tick < 20; tick++) {
+            now.addAndGet(100L);
+            expiredEarly += pointHolds.expire();
+        }
+        now.addAndGet(100L);
+        int expired = pointHolds.expire();
+
+        // then
+        assertThat(expiredEarly).isZero();
+        assertThat(expired).isEqualTo(1);
+        assertThat(pointHolds.heldPoint(1L)).isZero();
+    }
+
+    /**
+     * 만료 처리가 한 바퀴 이상 늦어져도 지난 예약을 모두 만료하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("만료 확인이 한 바퀴 이상 늦어져도 만료 시각이 지난 예약을 모두 취소한다.")
+    void shouldCatchUpAfterDelay() {
+        // given
+        for (int i = 1; i <= 20; i++) {
+            pointHolds.hold(i, 10_000L, 1_000L, Duration.ofMillis(i * 100L));
+        }
+
+        // when
+        now.addAndGet(5_000L);
+        int expired = pointHolds.expire();
+
+        // then
+        assertThat(expired).isEqualTo(20);
+        assertThat(pointHolds.heldPoint(20L)).isZero();
+    }
+
+    /**
+     * 예약 합계가 잔고를 넘거나 0 이하를 예약하면 거절되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용 가능한 포인트보다 많이 예약하거나 0 이하를 예약하면 예외가 발생한다.")
+    void shouldRejectHoldOverAvailablePoints() {
+        // given
+        pointHolds.hold(1L, 5_000L, 4_000L, null);
+
+        // when // then
+        assertThatThrownBy(() -> pointHolds.hold(1L, 5_000L, 2_000L, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.NOT_ENOUGH_POINTS.message());
+        assertThatThrownBy(() -> pointHolds.hold(1L, 5_000L, 0L, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(PointRejection.HOLD_AMOUNT_NOT_POSITIVE.message());
+        assertThatThrownBy(() -> pointHolds.hold(1L, 5_000L, 500L, Duration.ofHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(pointHolds.heldPoint(1L)).isEqualTo(4_000L);
+    }
+
+    /**
+     * 꺼낸 예약을 되돌리면 예약 합계와 만료 시각이 유지되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("확정하려고 꺼낸 예약을 되돌리면 다시 예약 합계에 포함되고 원래 만료 시각에 만료된다.")
+    void shouldRestoreTakenHold() {
+        // given
+        PointHold hold = pointHolds.hold(1L, 5_000L, 3_000L, Duration.ofMillis(500));
+        PointHold taken = pointHolds.take(1L, hold.id());
+
+        // when
+        pointHolds.restore(taken);
+
+        // then
+        assertThat(pointHolds.heldPoint(1L)).isEqualTo(3_000L);
+        now.addAndGet(500L);
+        assertThat(pointHolds.expire()).isEqualTo(1);
+        assertThat(pointHolds.heldPoint(1L)).isZero();
+    }
+
+    /**
+     * 다른 노드로 꺼낸 예약은 이 노드에서 취소할 수 없고, 옮겨 받은 노드는 ID 와 만료 시각을 유지하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("꺼낸 예약은 취소할 수 없고, 옮겨 받은 노드는 같은 ID 로 확정하며 이후 예약 ID 는 겹치지 않는다.")
+    void shouldMoveHoldsBetweenNodes() {
+        // given
+        PointHolds target = new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 8), now::get);
+        PointHold hold = pointHolds.hold(1L, 5_000L, 3_000L, Duration.ofMillis(500));
+        PointHold expiring = pointHolds.hold(1L, 5_000L, 1_000L, Duration.ofMillis(100));
+
+        // when
+        List<PointHold> moved = pointHolds.moveOut(1L);
+        now.addAndGet(100L);
+        target.moveIn(moved);
+
+        // then
+        assertThat(moved).containsExactlyInAnyOrder(hold, expiring);
+        assertThat(pointHolds.heldPoint(1L)).isZero();
+        assertThatThrownBy(() -> pointHolds.release(1L, hold.id()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.HOLD_NOT_FOUND.message());
+        assertThat(target.heldPoint(1L)).isEqualTo(3_000L);
+        assertThat(target.hold(2L, 5_000L, 1_000L, null).id()).isGreaterThan(expiring.id());
+        assertThat(target.take(1L, hold.id())).isEqualTo(hold);
+    }
+}
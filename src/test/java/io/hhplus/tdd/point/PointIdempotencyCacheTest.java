@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class PointIdempotencyCacheTest {
+
+    private static final long USER_ID = 1L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final PointIdempotencyCache cache = new PointIdempotencyCache(new PointIdempotencyProperties(2, Duration.ofSeconds(10)), clock::get);
+
+    /**
+     * 같은 키로 다시 요청하면 처리하지 않고 보관된 결과를 반환하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("같은 사용자가 같은 멱등 키로 다시 요청하면 다시 처리하지 않고 처음 결과를 반환한다.")
+    void shouldReturnStoredResultForDuplicate() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint charged = new UserPoint(USER_ID, 5_000L, 100L);
+
+        // when
+        UserPoint first = cache.execute(USER_ID, "key", CHARGE, 5_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(charged);
+        }).join();
+        UserPoint retried = cache.execute(USER_ID, "key", CHARGE, 5_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(USER_ID, 10_000L, 200L));
+        }).join();
+
+        // then
+        assertThat(first).isEqualTo(charged);
+        assertThat(retried).isEqualTo(charged);
+        assertThat(executions).hasValue(1);
+    }
+
+    /**
+     * 처리 중인 요청과 같은 키로 들어온 요청이 처리 중인 결과를 기다리는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("처리 중인 요청과 같은 키로 동시에 요청하면 다시 실행하지 않고 처리 중인 결과를 함께 기다린다.")
+    void shouldWaitForInFlightResult() {
+        // given
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        CompletableFuture<UserPoint> first = cache.execute(USER_ID, "key", USE, 1_000L, () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+        CompletableFuture<UserPoint> duplicate = cache.execute(USER_ID, "key", USE, 1_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(USER_ID));
+        });
+        boolean completedBeforeResult = duplicate.isDone();
+        inFlight.complete(new UserPoint(USER_ID, 4_000L, 100L));
+
+        // then
+        assertThat(completedBeforeResult).isFalse();
+        assertThat(first.join()).isEqualTo(duplicate.join());
+        assertThat(executions).hasValue(1);
+    }
+
+    /**
+     * 실패한 요청과 만료된 결과는 보관하지 않아 같은 키로 다시 처리되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("실패한 요청이나 보관 시간이 지난 키로 요청하면 다시 처리한다.")
+    void shouldExecuteAgainAfterFailureOrExpiry() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        CompletableFuture<UserPoint> failed = cache.execute(USER_ID, "failed", USE, 1_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("포인트가 부족하여 사용할 수 없습니다."));
+        });
+        cache.execute(USER_ID, "failed", USE, 1_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(USER_ID));
+        });
+
+        cache.execute(USER_ID, "expired", CHARGE, 1_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(USER_ID));
+        });
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        cache.execute(USER_ID, "expired", CHARGE, 1_000L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(USER_ID));
+        });
+
+        // then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(executions).hasValue(4);
+    }
+
+    /**
+     * 같은 키로 다른 거래를 요청하면 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("같은 멱등 키로 거래 종류나 금액이 다른 요청을 보내면 예외가 발생한다.")
+    void shouldRejectDifferentRequestWithSameKey() {
+        // given
+        cache.execute(USER_ID, "key", CHARGE, 5_000L, () -> CompletableFuture.completedFuture(UserPoint.empty(USER_ID)));
+
+        // when // then
+        assertThatThrownBy(() -> cache.execute(USER_ID, "key", CHARGE, 6_000L, () -> CompletableFuture.completedFuture(UserPoint.empty(USER_ID))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("같은 멱등 키로 다른 거래를 요청할 수 없습니다.");
+    }
+}
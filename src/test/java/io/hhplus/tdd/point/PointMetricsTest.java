@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PointMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    /**
+     * 락을 획득하고 해제하면 대기 시간과 점유 시간이 한 번씩 기록되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자 락의 대기 시간과 점유 시간을 기록하고, 재진입은 따로 기록하지 않는다.")
+    void shouldRecordLockWaitAndHold() {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), pointMetrics);
+
+        // when
+        ReentrantLock lock = registry.acquire(1L);
+        registry.acquire(1L).unlock();
+        lock.unlock();
+
+        // then
+        assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.lock.hold").timer().count()).isEqualTo(1);
+    }
+
+    /**
+     * 검증 거절은 예외에 담긴 사유별로, 성공은 거래 종류별로 집계되는 지 검증하는 테스트입니다.
+     * 메시지만 같은 일반 예외는 사유를 알 수 없는 거절로 집계합니다.
+     */
+    @Test
+    @DisplayName("거래 결과를 거래 종류와 거절 사유별로 집계한다.")
+    void shouldCountMutationsByTypeAndReason() {
+        // when
+        pointMetrics.recordMutation(CHARGE, null);
+        pointMetrics.recordMutation(USE, PointRejection.NOT_ENOUGH_POINTS.exception());
+        pointMetrics.recordMutation(CHARGE, new IllegalStateException(PointRejection.MAX_TOTAL_POINTS_EXCEEDED.message()));
+        pointMetrics.recordMutation(USE, new RuntimeException("table failure"));
+
+        // then
+        assertThat(meterRegistry.get("point.mutation").tags("type", "charge", "outcome", "success").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.mutation").tags("type", "use", "outcome", "rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.mutation").tags("type", "use", "outcome", "error").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.rejection").tags("type", "use", "reason", "not_enough_points").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.rejection").tags("type", "charge", "reason", "unknown").counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * 가장 붐비는 stripe 의 락 대기 스레드 수가 사용자 태그 없이 게이지로 노출되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("가장 붐비는 stripe 의 락 대기 스레드 수를 게이지로 노출한다.")
+    void shouldExposeQueuedThreadsOfHotUser() throws InterruptedException {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), pointMetrics);
+        ReentrantLock lock = registry.acquire(1L);
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            registry.acquire(1L).unlock();
+            acquired.countDown();
+        });
+        waiter.start();
+        while (!lock.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        double queued = meterRegistry.get("point.lock.queued.max").gauge().value();
+        lock.unlock();
+
+        // then
+        assertThat(queued).isEqualTo(1);
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * 같은 사용자의 락을 기다리는 스레드 수가 user 태그 게이지로 노출되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("락 대기 스레드가 있는 사용자의 대기 스레드 수를 user 태그 게이지로 노출한다.")
+    void shouldExposeQueuedThreadsPerHotUser() throws InterruptedException {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), pointMetrics);
+        ReentrantLock lock = registry.acquire(1L);
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            registry.acquire(1L).unlock();
+            acquired.countDown();
+        });
+        waiter.start();
+        while (!lock.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        meterRegistry.get("point.lock.queued.total").gauge().value();
+        double queued = meterRegistry.get("point.lock.queued.user").tag("user", "1").gauge().value();
+        lock.unlock();
+
+        // then
+        assertThat(queued).isEqualTo(1);
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.hotUsers(10)).isEmpty();
+    }
+
+    /**
+     * 락 게이지를 모두 읽어도 stripe 통계는 한 번만 읽는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("한 번의 scrape 에서 락 게이지를 모두 읽어도 stripe 통계는 한 번만 계산한다.")
+    void shouldScanLockStatsOncePerScrape() {
+        // given
+        UserLockRegistry registry = mock(UserLockRegistry.class);
+        when(registry.stats()).thenReturn(new UserLockStats(16, 10L, 3L, 2, 5, 4, 0L));
+        when(registry.hotUsers(anyInt())).thenReturn(Map.of(1L, 4));
+        pointMetrics.registerLockStats(registry);
+
+        // when
+        double total = meterRegistry.get("point.lock.queued.total").gauge().value();
+        double max = meterRegistry.get("point.lock.queued.max").gauge().value();
+        double locked = meterRegistry.get("point.lock.locked").gauge().value();
+
+        // then
+        assertThat(total).isEqualTo(5);
+        assertThat(max).isEqualTo(4);
+        assertThat(locked).isEqualTo(2);
+        assertThat(meterRegistry.get("point.lock.queued.user").tag("user", "1").gauge().value()).isEqualTo(4);
+        verify(registry, times(1)).stats();
+    }
+}
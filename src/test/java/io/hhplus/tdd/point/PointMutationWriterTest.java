@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointMutationWriterTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private UserPointCache userPointCache;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private PointMutationWriter pointMutationWriter;
+
+    @BeforeEach
+    void setUp() {
+        pointMutationWriter = new PointMutationWriter(userPointCache, pointHistoryRepository, new PointMutationProperties(true, 2), new PointExecutors(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointMutationWriter.close();
+    }
+
+    /**
+     * 내역 기록과 잔고 기록이 모두 수행되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("내역과 잔고를 함께 기록하고 기록된 잔고를 반환한다.")
+    void shouldWriteHistoryAndBalance() {
+        // given
+        when(userPointCache.put(USER_ID, 15_000L)).thenReturn(new UserPoint(USER_ID, 15_000L, 100000L));
+
+        // when
+        UserPoint userPoint = pointMutationWriter.write(USER_ID, 10_000L, CHARGE, 5_000L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(15_000L);
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(5_000L), eq(CHARGE), anyLong());
+    }
+
+    /**
+     * 내역 기록에 실패하면 잔고를 거래 전 포인트로 되돌리는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("내역 기록에 실패하면 잔고를 거래 전 포인트로 되돌리고 예외를 던진다.")
+    void shouldRestoreBalanceWhenHistoryWriteFails() {
+        // given
+        when(pointHistoryRepository.insert(eq(USER_ID), eq(5_000L), eq(USE), anyLong()))
+                .thenThrow(new IllegalStateException("history failure"));
+
+        // when // then
+        assertThatThrownBy(() -> pointMutationWriter.write(USER_ID, 10_000L, USE, 5_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("history failure");
+
+        verify(userPointCache, times(1)).put(USER_ID, 5_000L);
+        verify(userPointCache, times(1)).put(USER_ID, 10_000L);
+    }
+
+    /**
+     * 내역이 기록된 뒤 잔고 기록에 실패하면 잔고 기록을 다시 시도해 거래를 마저 반영하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("잔고 기록에 실패하면 반대 거래 내역을 추가하지 않고 잔고 기록을 다시 시도한다.")
+    void shouldRetryBalanceWhenBalanceWriteFails() {
+        // given
+        when(userPointCache.put(USER_ID, 15_000L))
+                .thenThrow(new IllegalStateException("balance failure"))
+                .thenReturn(new UserPoint(USER_ID, 15_000L, 100000L));
+
+        // when
+        UserPoint userPoint = pointMutationWriter.write(USER_ID, 10_000L, CHARGE, 5_000L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(15_000L);
+        verify(userPointCache, times(2)).put(USER_ID, 15_000L);
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(5_000L), eq(CHARGE), anyLong());
+        verify(pointHistoryRepository, never()).insert(eq(USER_ID), eq(5_000L), eq(USE), anyLong());
+    }
+
+    /**
+     * 두 기록이 모두 실패하면 잔고 기록을 다시 시도하지 않고 예외를 던지는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("내역 기록과 잔고 기록이 모두 실패하면 다시 시도하지 않고 예외를 던진다.")
+    void shouldThrowWhenBothWritesFail() {
+        // given
+        when(userPointCache.put(USER_ID, 15_000L)).thenThrow(new IllegalStateException("balance failure"));
+        when(pointHistoryRepository.insert(eq(USER_ID), eq(5_000L), eq(CHARGE), anyLong()))
+                .thenThrow(new IllegalStateException("history failure"));
+
+        // when // then
+        assertThatThrownBy(() -> pointMutationWriter.write(USER_ID, 10_000L, CHARGE, 5_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("balance failure");
+
+        verify(userPointCache, times(1)).put(USER_ID, 15_000L);
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PointReadCoalescerTest {
+
+    private static final long USER_ID = 1L;
+
+    private final PointReadCoalescer coalescer = new PointReadCoalescer();
+
+    /**
+     * 동시에 들어온 같은 사용자의 조회가 한 번의 조회 결과를 함께 받는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("같은 사용자의 조회가 동시에 들어오면 먼저 시작한 조회 하나의 결과를 함께 받는다.")
+    void shouldShareInFlightRead() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        UserPoint loaded = new UserPoint(USER_ID, 5_000L, 100L);
+
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> coalescer.read(USER_ID, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return loaded;
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture<UserPoint> second = CompletableFuture.supplyAsync(() -> coalescer.read(USER_ID, () -> {
+            loads.incrementAndGet();
+            return UserPoint.empty(USER_ID);
+        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(loaded);
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(loaded);
+        assertThat(loads).hasValue(1);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    /**
+     * 쓰기를 마친 뒤의 조회는 쓰기 전에 시작한 조회에 합류하지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("쓰기가 끝난 뒤 도착한 조회는 그 전에 시작한 조회에 합류하지 않고 새로 조회한다.")
+    void shouldNotJoinReadStartedBeforeWrite() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> stale = CompletableFuture.supplyAsync(() -> coalescer.read(USER_ID, () -> {
+            loading.countDown();
+            await(release);
+            return new UserPoint(USER_ID, 0L, 100L);
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        coalescer.markWritten(USER_ID);
+        UserPoint afterWrite = coalescer.read(USER_ID, () -> new UserPoint(USER_ID, 5_000L, 200L));
+        release.countDown();
+
+        // then
+        assertThat(afterWrite.point()).isEqualTo(5_000L);
+        assertThat(stale.get(1, TimeUnit.SECONDS).point()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.assertj.core.api.Assertions.*;
+
+class PointRollupTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final AtomicLong clock = new AtomicLong(10 * MINUTE);
+    private final PointRollup rollup = new PointRollup(new PointRollupProperties(Duration.ofMinutes(5), Duration.ofHours(2)), clock::get);
+
+    /**
+     * 내역이 분 구간별, 거래 종류별로 집계되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("충전/사용 내역을 분 구간별로 금액과 건수를 나눠 집계한다.")
+    void shouldAggregatePerMinute() {
+        // given
+        rollup.record(CHARGE, 1_000L, 9 * MINUTE);
+        rollup.record(CHARGE, 2_000L, 10 * MINUTE);
+        rollup.record(USE, 500L, 10 * MINUTE + 30_000L);
+
+        // when
+        List<PointRollupBucket> buckets = rollup.recent(PointRollup.Unit.MINUTE, 3);
+
+        // then
+        assertThat(buckets).containsExactly(
+                new PointRollupBucket(8 * MINUTE, 0L, 0L, 0L, 0L),
+                new PointRollupBucket(9 * MINUTE, 1_000L, 1L, 0L, 0L),
+                new PointRollupBucket(10 * MINUTE, 2_000L, 1L, 500L, 1L)
+        );
+        assertThat(rollup.recent(PointRollup.Unit.HOUR, 1)).containsExactly(
+                new PointRollupBucket(0L, 3_000L, 2L, 500L, 1L)
+        );
+    }
+
+    /**
+     * 링 버퍼의 자리를 새 구간이 차지하면 이전 구간의 집계가 남지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("보관 기간이 지나 같은 자리를 쓰는 새 구간은 이전 집계 없이 시작하고, 보관 기간보다 오래된 내역은 집계하지 않는다.")
+    void shouldResetBucketAfterRetention() {
+        // given
+        rollup.record(CHARGE, 1_000L, 5 * MINUTE);
+
+        // when
+        rollup.record(CHARGE, 2_000L, 10 * MINUTE);
+        rollup.record(CHARGE, 4_000L, 5 * MINUTE);
+
+        // then
+        assertThat(rollup.recent(PointRollup.Unit.MINUTE, 5)).extracting(PointRollupBucket::charged)
+                .containsExactly(0L, 0L, 0L, 0L, 2_000L);
+    }
+
+    /**
+     * 보관 기간을 넘는 구간 수를 요청하면 예외가 발생하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("보관하는 구간 수보다 많이 조회하면 예외가 발생한다.")
+    void shouldThrowExceptionWhenLimitExceedsRetention() {
+        // when
+        // then
+        assertThatThrownBy(() -> rollup.recent(PointRollup.Unit.MINUTE, 6))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회할 구간 수는 1 이상 5 이하여야 합니다.");
+    }
+}
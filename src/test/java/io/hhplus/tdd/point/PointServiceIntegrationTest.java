@@ -1,17 +1,19 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 @SpringBootTest
 class PointServiceIntegrationTest {
@@ -20,7 +22,7 @@ class PointServiceIntegrationTest {
     private PointService pointService;
 
     @Autowired
-    private UserPointTable userPointTable;
+    private UserPointCache userPointCache;
 
     private void executeConcurrency(int threads, Runnable task) throws InterruptedException {
         CountDownLatch latch = new CountDownLatch(threads);
@@ -70,7 +72,7 @@ class PointServiceIntegrationTest {
         assertThat(userPoint.point()).isEqualTo(nThreads * amount);
 
         // tearDown
-        userPointTable.insertOrUpdate(userId, 0);
+        userPointCache.put(userId, 0);
     }
 
     /**
@@ -92,7 +94,7 @@ class PointServiceIntegrationTest {
             assertThat(userPoint.point()).isEqualTo(amount * threads / userCount);
 
             // tearDown
-            userPointTable.insertOrUpdate(i, 0);
+            userPointCache.put(i, 0);
         }
     }
 
@@ -120,7 +122,7 @@ class PointServiceIntegrationTest {
         assertThat(userPoint.point()).isZero();
 
         // tearDown
-        userPointTable.insertOrUpdate(userId, 0);
+        userPointCache.put(userId, 0);
     }
 
     /**
@@ -146,7 +148,39 @@ class PointServiceIntegrationTest {
             assertThat(userPoint.point()).isZero();
 
             // tearDown
-            userPointTable.insertOrUpdate(i, 0);
+            userPointCache.put(i, 0);
         }
     }
+
+    /**
+     * 두 사용자가 서로에게 동시에 포인트를 이전해도 교착 상태 없이 처리되고 합계가 유지되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("두 사용자가 동시에 서로에게 포인트를 이전해도 교착 상태 없이 처리되고 두 사용자의 합계는 유지된다.")
+    void transferShouldNotDeadlockInOppositeDirections() {
+        // given
+        long firstUserId = 101L;
+        long secondUserId = 102L;
+        int nThreads = 10;
+        pointService.chargeUserPoint(firstUserId, 100_000L);
+        pointService.chargeUserPoint(secondUserId, 100_000L);
+
+        // when
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> executeParallel(nThreads, 2, index -> {
+            if (index == 0) {
+                pointService.transfer(firstUserId, secondUserId, 1_000L);
+            } else {
+                pointService.transfer(secondUserId, firstUserId, 1_000L);
+            }
+        }));
+
+        // then
+        assertThat(pointService.getUserPointByUserId(firstUserId).point()).isEqualTo(100_000L);
+        assertThat(pointService.getUserPointByUserId(secondUserId).point()).isEqualTo(100_000L);
+        assertThat(pointService.getPointHistoriesByUserId(firstUserId)).hasSize(1 + nThreads);
+
+        // tearDown
+        userPointCache.put(firstUserId, 0);
+        userPointCache.put(secondUserId, 0);
+    }
 }
@@ -1,17 +1,23 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointCacheProperties;
 import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static io.hhplus.tdd.point.TransactionType.*;
 import static io.hhplus.tdd.point.UserPointValidator.*;
@@ -28,11 +34,23 @@ class PointServiceTest {
     private UserPointTable userPointTable;
 
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
 
-    @InjectMocks
     private PointService pointService;
 
+    private PointHolds pointHolds;
+
+    @BeforeEach
+    void setUp() {
+        pointHolds = new PointHolds(new PointHoldProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofMillis(100), 512), System::currentTimeMillis);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserPointCache userPointCache = new UserPointCache(userPointTable, new UserPointCacheProperties(100, false, Duration.ofMillis(100)), pointMetrics);
+        PointMutationWriter pointMutationWriter = new PointMutationWriter(userPointCache, pointHistoryRepository, new PointMutationProperties(true, 2), new PointExecutors(false));
+        UserLockRegistry userLockRegistry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), pointMetrics);
+        pointService = new PointService(new LockPointEngine(userPointCache, pointHistoryRepository, userLockRegistry, pointMutationWriter, pointHolds), pointHistoryRepository, pointMetrics,
+                new PointIdempotencyCache(new PointIdempotencyProperties(100, Duration.ofMinutes(10))), new PointReadCoalescer());
+    }
+
     /**
      * 사용자의 포인트 조회의 성공 케이스를 테스트합니다.
      */
@@ -62,7 +80,7 @@ class PointServiceTest {
                 new PointHistory(1L, USER_ID, 10000L, CHARGE, System.currentTimeMillis()),
                 new PointHistory(2L, USER_ID, 3000L, USE, System.currentTimeMillis())
         );
-        when(pointHistoryTable.selectAllByUserId(USER_ID)).thenReturn(pointHistories);
+        when(pointHistoryRepository.findAllByUserId(USER_ID)).thenReturn(pointHistories);
 
         // when
         List<PointHistory> findPointHistories = pointService.getPointHistoriesByUserId(USER_ID);
@@ -96,7 +114,7 @@ class PointServiceTest {
         assertThat(userPoint.id()).isEqualTo(USER_ID);
         assertThat(userPoint.point()).isEqualTo(originalPoint + chargePoint);
 
-        verify(pointHistoryTable, times(1)).insert(eq(USER_ID), eq(chargePoint), eq(CHARGE), anyLong());
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(chargePoint), eq(CHARGE), anyLong());
     }
 
     /**
@@ -200,7 +218,228 @@ class PointServiceTest {
         // then
         assertThat(userPoint.id()).isEqualTo(USER_ID);
         assertThat(userPoint.point()).isEqualTo(remainPoint);
-        verify(pointHistoryTable, times(1)).insert(eq(USER_ID), eq(usePoint), eq(USE), anyLong());
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(usePoint), eq(USE), anyLong());
+    }
+
+    /**
+     * 한 사용자의 여러 요청을 한 번의 조회와 한 번의 기록으로 처리하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("한 사용자의 여러 요청을 순서대로 처리하고 잔고는 한 번만 조회/기록한다.")
+    void shouldApplyOperationsWithSingleReadAndWrite() {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(USER_ID, CHARGE, 10_000L),
+                new PointOperation(USER_ID, USE, 30_000L),
+                new PointOperation(USER_ID, USE, 4_000L)
+        );
+
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 5_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(USER_ID, 11_000L)).thenReturn(new UserPoint(USER_ID, 11_000L, System.currentTimeMillis()));
+
+        // when
+        List<PointOperationResult> results = pointService.applyOperations(USER_ID, operations);
+
+        // then
+        assertThat(results).extracting("type", "success", "point", "reason")
+                .containsExactly(
+                        tuple(CHARGE, true, 15_000L, null),
+                        tuple(USE, false, null, "포인트가 부족하여 사용할 수 없습니다."),
+                        tuple(USE, true, 11_000L, null)
+                );
+        verify(userPointTable, times(1)).selectById(USER_ID);
+        verify(userPointTable, times(1)).insertOrUpdate(USER_ID, 11_000L);
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(10_000L), eq(CHARGE), anyLong());
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(4_000L), eq(USE), anyLong());
+    }
+
+    /**
+     * 내역 기록이 중간에 실패하면 앞서 기록한 요청의 잔고는 기록하고, 실패한 요청부터 실패 결과로 반환하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("한 사용자의 여러 요청 중 내역 기록이 실패하면 이미 기록한 요청의 잔고를 기록하고 나머지는 실패로 반환한다.")
+    void shouldKeepRecordedOperationsWhenHistoryInsertFails() {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(USER_ID, CHARGE, 10_000L),
+                new PointOperation(USER_ID, USE, 3_000L),
+                new PointOperation(USER_ID, CHARGE, 2_000L)
+        );
+
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 5_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(USER_ID, 15_000L)).thenReturn(new UserPoint(USER_ID, 15_000L, System.currentTimeMillis()));
+        when(pointHistoryRepository.insert(eq(USER_ID), eq(3_000L), eq(USE), anyLong())).thenThrow(new RuntimeException("storage failure"));
+
+        // when
+        List<PointOperationResult> results = pointService.applyOperations(USER_ID, operations);
+
+        // then
+        assertThat(results).extracting("type", "success", "point", "reason")
+                .containsExactly(
+                        tuple(CHARGE, true, 15_000L, null),
+                        tuple(USE, false, null, "storage failure"),
+                        tuple(CHARGE, false, null, "storage failure")
+                );
+        verify(userPointTable, times(1)).insertOrUpdate(USER_ID, 15_000L);
+        verify(pointHistoryRepository, never()).insert(eq(USER_ID), eq(2_000L), eq(CHARGE), anyLong());
+    }
+
+    /**
+     * 사용자 락을 얻지 못해 묶음 전체가 거절되면 예외 대신 요청마다 실패 결과를 반환하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자 락 대기 시간을 넘기면 한 사용자의 요청을 모두 실패 결과로 반환한다.")
+    void shouldReturnFailureResultsWhenUserLockIsBusy() throws InterruptedException {
+        // given
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserPointCache userPointCache = new UserPointCache(userPointTable, new UserPointCacheProperties(100, false, Duration.ofMillis(100)), pointMetrics);
+        UserLockRegistry userLockRegistry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofMillis(100), 100, Duration.ofSeconds(1)), pointMetrics);
+        PointService busyPointService = new PointService(
+                new LockPointEngine(userPointCache, pointHistoryRepository, userLockRegistry,
+                        new PointMutationWriter(userPointCache, pointHistoryRepository, new PointMutationProperties(false, 1), new PointExecutors(false)), pointHolds),
+                pointHistoryRepository, pointMetrics, new PointIdempotencyCache(new PointIdempotencyProperties(100, Duration.ofMinutes(10))), new PointReadCoalescer());
+        List<PointOperation> operations = List.of(
+                new PointOperation(USER_ID, CHARGE, 10_000L),
+                new PointOperation(USER_ID, USE, 1_000L)
+        );
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            ReentrantLock lock = userLockRegistry.acquire(USER_ID);
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        locked.await();
+
+        // when
+        List<PointOperationResult> results;
+        try {
+            results = busyPointService.applyOperations(USER_ID, operations);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+
+        // then
+        assertThat(results).extracting("type", "success", "point")
+                .containsExactly(tuple(CHARGE, false, null), tuple(USE, false, null));
+        assertThat(results).allSatisfy(result -> assertThat(result.error()).isInstanceOf(PointBusyException.class));
+        verifyNoInteractions(pointHistoryRepository);
+    }
+
+    /**
+     * 포인트 이전 시 보낸 쪽 사용 내역과 받은 쪽 충전 내역이 함께 기록되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("포인트를 이전하면 보낸 사용자는 사용, 받은 사용자는 충전 내역이 기록된다.")
+    void shouldTransferPoints() {
+        // given
+        long receiverId = 2L;
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 10_000L, System.currentTimeMillis()));
+        when(userPointTable.selectById(receiverId)).thenReturn(new UserPoint(receiverId, 1_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(USER_ID, 7_000L)).thenReturn(new UserPoint(USER_ID, 7_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(receiverId, 4_000L)).thenReturn(new UserPoint(receiverId, 4_000L, System.currentTimeMillis()));
+
+        // when
+        PointTransfer pointTransfer = pointService.transfer(USER_ID, receiverId, 3_000L);
+
+        // then
+        assertThat(pointTransfer.sender().point()).isEqualTo(7_000L);
+        assertThat(pointTransfer.receiver().point()).isEqualTo(4_000L);
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(3_000L), eq(USE), anyLong());
+        verify(pointHistoryRepository, times(1)).insert(eq(receiverId), eq(3_000L), eq(CHARGE), anyLong());
+    }
+
+    /**
+     * 보내는 사용자의 포인트가 부족하면 어느 쪽에도 기록하지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("보내는 사용자의 포인트가 부족하면 예외가 발생하고 어느 쪽 내역도 기록하지 않는다.")
+    void shouldThrowExceptionWhenTransferExceedsBalance() {
+        // given
+        long receiverId = 2L;
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1_000L, System.currentTimeMillis()));
+        when(userPointTable.selectById(receiverId)).thenReturn(new UserPoint(receiverId, 0L, System.currentTimeMillis()));
+
+        // when
+        // then
+        assertThatThrownBy(() -> pointService.transfer(USER_ID, receiverId, 3_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("포인트가 부족하여 사용할 수 없습니다.");
+        verify(pointHistoryRepository, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    /**
+     * 예약한 포인트는 확정하기 전에도 사용 가능한 포인트에서 빠지는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("예약한 포인트만큼 사용 가능한 포인트가 줄어, 남은 포인트보다 많이 사용하면 예외가 발생한다.")
+    void shouldExcludeHeldPointsFromAvailablePoints() {
+        // given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 10_000L, System.currentTimeMillis()));
+        pointService.holdPoint(USER_ID, 7_000L, null);
+
+        // when
+        // then
+        assertThatThrownBy(() -> pointService.usePoint(USER_ID, 5_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.NOT_ENOUGH_POINTS.message());
+        assertThatThrownBy(() -> pointService.holdPoint(USER_ID, 5_000L, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.NOT_ENOUGH_POINTS.message());
+        assertThat(pointHolds.heldPoint(USER_ID)).isEqualTo(7_000L);
+        verify(pointHistoryRepository, never()).insert(anyLong(), anyLong(), any(), anyLong());
     }
 
+    /**
+     * 예약을 확정하면 예약한 포인트의 사용 내역과 잔고가 기록되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("예약을 확정하면 예약한 포인트를 사용하고, 같은 예약은 다시 확정할 수 없다.")
+    void shouldCaptureHoldOnce() {
+        // given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 10_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(USER_ID, 7_000L)).thenReturn(new UserPoint(USER_ID, 7_000L, System.currentTimeMillis()));
+        PointHold hold = pointService.holdPoint(USER_ID, 3_000L, Duration.ofMinutes(1));
+
+        // when
+        UserPoint userPoint = pointService.capturePoint(USER_ID, hold.id());
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(7_000L);
+        assertThat(pointHolds.heldPoint(USER_ID)).isZero();
+        verify(pointHistoryRepository, times(1)).insert(eq(USER_ID), eq(3_000L), eq(USE), anyLong());
+        assertThatThrownBy(() -> pointService.capturePoint(USER_ID, hold.id()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(PointRejection.HOLD_NOT_FOUND.message());
+    }
+
+    /**
+     * 예약을 취소하면 잔고와 내역은 그대로이고 예약한 포인트를 다시 사용할 수 있는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("예약을 취소하면 내역 없이 예약한 포인트를 다시 사용할 수 있다.")
+    void shouldReleaseHold() {
+        // given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 10_000L, System.currentTimeMillis()));
+        PointHold hold = pointService.holdPoint(USER_ID, 10_000L, null);
+
+        // when
+        PointHold released = pointService.releasePoint(USER_ID, hold.id());
+
+        // then
+        assertThat(released.status()).isEqualTo(PointHold.Status.RELEASED);
+        assertThat(pointHolds.heldPoint(USER_ID)).isZero();
+        verify(pointHistoryRepository, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
 }
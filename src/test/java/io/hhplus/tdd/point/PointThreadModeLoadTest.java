@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 플랫폼 스레드 모드와 가상 스레드 모드의 최대 처리량을 비교하는 부하 테스트입니다.
+ * 시간이 오래 걸리므로 기본 test 태스크에서는 제외하고 {@code ./gradlew loadTest} 로 실행합니다.
+ */
+@Tag("load")
+class PointThreadModeLoadTest {
+
+    private static final int TOMCAT_MAX_THREADS = 50;
+    private static final int CONCURRENCY = 500;
+    private static final int REQUESTS_PER_CALLER = 10;
+
+    /**
+     * 매 요청이 서로 다른 사용자를 조회해 캐시를 거치지 않고 테이블 지연(최대 200ms)을 그대로 겪도록 합니다.
+     * 플랫폼 스레드 모드는 톰캣 스레드 수에 막히고, 가상 스레드 모드는 대기 중에 캐리어 스레드를 반납합니다.
+     */
+    @Test
+    @DisplayName("같은 톰캣 설정에서 가상 스레드 모드가 플랫폼 스레드 모드보다 많은 요청을 처리한다.")
+    void virtualThreadsShouldSustainHigherThroughput(TestReporter testReporter) throws Exception {
+        // when
+        double platformThroughput = measureThroughput(false, 0);
+        double virtualThroughput = measureThroughput(true, CONCURRENCY * REQUESTS_PER_CALLER);
+
+        testReporter.publishEntry(Map.of(
+                "platformThreadsReqPerSec", String.format("%.1f", platformThroughput),
+                "virtualThreadsReqPerSec", String.format("%.1f", virtualThroughput)
+        ));
+
+        // then
+        assertThat(virtualThroughput).isGreaterThan(platformThroughput);
+    }
+
+    private double measureThroughput(boolean virtualThreads, long userIdOffset) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads
+                )
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            AtomicLong userIds = new AtomicLong(userIdOffset);
+
+            long startNanos = System.nanoTime();
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    futures.add(callers.submit(() -> {
+                        for (int j = 0; j < REQUESTS_PER_CALLER; j++) {
+                            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userIds.getAndIncrement()))
+                                    .GET()
+                                    .build();
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            assertThat(response.statusCode()).isEqualTo(200);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return CONCURRENCY * REQUESTS_PER_CALLER / elapsedSeconds;
+        }
+    }
+}
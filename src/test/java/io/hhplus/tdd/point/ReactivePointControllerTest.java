@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.TransactionType.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@WebMvcTest(controllers = ReactivePointController.class, properties = "point.engine.type=mailbox")
+class ReactivePointControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PointService pointService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    @EnableConfigurationProperties(PointReactiveProperties.class)
+    static class Config {
+    }
+
+    /**
+     * 조회 결과를 Mono 로 비동기 응답하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자 ID로 포인트를 비동기로 조회한다.")
+    void point() throws Exception {
+        // given
+        long userId = 1L;
+        when(pointService.getUserPointByUserId(userId)).thenReturn(new UserPoint(userId, 1_000L, 100000L));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/reactive/point/" + userId))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(userId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(1_000L));
+    }
+
+    /**
+     * 포인트 내역을 NDJSON 으로 스트리밍하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자의 포인트 내역을 한 줄에 하나씩 JSON 으로 스트리밍한다.")
+    void histories() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistory charged = new PointHistory(1L, userId, 10_000L, CHARGE, 100000L);
+        PointHistory used = new PointHistory(2L, userId, 5_000L, USE, 100001L);
+        when(pointService.streamPointHistories(Set.of(userId), null, null)).thenReturn(Stream.of(charged, used));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/reactive/point/" + userId + "/histories"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        String expected = objectMapper.writeValueAsString(charged) + "\n" + objectMapper.writeValueAsString(used) + "\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(expected));
+    }
+
+    /**
+     * 충전 결과를 엔진의 비동기 경로에서 받아 응답하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("포인트를 비동기로 충전한다.")
+    void charge() throws Exception {
+        // given
+        long userId = 1L;
+        long amount = 10_000L;
+        when(pointService.chargeUserPointAsync(eq(userId), eq(amount), isNull())).thenReturn(
+                CompletableFuture.completedFuture(new UserPoint(userId, amount, 100000L))
+        );
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch("/reactive/point/" + userId + "/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(amount)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(amount));
+    }
+}
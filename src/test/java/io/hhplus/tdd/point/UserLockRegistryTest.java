@@ -0,0 +1,175 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UserLockRegistryTest {
+
+    /**
+     * 사용자 수와 관계없이 락 개수가 stripe 수로 고정되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자가 늘어나도 락 개수는 stripe 수를 넘지 않는다.")
+    void shouldBoundLockCountByStripes() {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(100, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), new PointMetrics(new SimpleMeterRegistry()));
+        Set<ReentrantLock> locks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // when
+        for (long userId = 0; userId < 100_000; userId++) {
+            locks.add(registry.lockOf(userId));
+        }
+
+        // then
+        assertThat(registry.stripes()).isEqualTo(128);
+        assertThat(locks).hasSize(128);
+        assertThat(registry.lockOf(1L)).isSameAs(registry.lockOf(1L));
+    }
+
+    /**
+     * 다른 스레드가 락을 가지고 있을 때 획득하면 경합으로 집계되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("이미 잠긴 락을 기다려 획득하면 경합 횟수와 대기 스레드 수를 집계한다.")
+    void shouldReportContention() throws InterruptedException {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), new PointMetrics(new SimpleMeterRegistry()));
+        ReentrantLock lock = registry.acquire(1L);
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            registry.acquire(1L).unlock();
+            acquired.countDown();
+        });
+
+        // when
+        waiter.start();
+        while (registry.stats().queuedThreads() == 0) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        UserLockStats whileLocked = registry.stats();
+        lock.unlock();
+        acquired.await();
+
+        // then
+        assertThat(whileLocked.lockedStripes()).isEqualTo(1);
+        assertThat(whileLocked.queuedThreads()).isEqualTo(1);
+        assertThat(registry.stats().acquisitions()).isEqualTo(2);
+        assertThat(registry.stats().contendedAcquisitions()).isEqualTo(1);
+    }
+
+    /**
+     * 인자 순서와 관계없이 두 사용자의 락을 같은 순서로 획득하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("두 사용자의 락은 요청 방향과 관계없이 항상 stripe 순서대로 획득한다.")
+    void shouldAcquireLocksInStripeOrder() {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)), new PointMetrics(new SimpleMeterRegistry()));
+        long firstUserId = 1L;
+        long secondUserId = 2L;
+        while (registry.stripeOf(firstUserId) == registry.stripeOf(secondUserId)) {
+            secondUserId++;
+        }
+
+        // when
+        ReentrantLock[] forward = registry.acquireAll(firstUserId, secondUserId);
+        UserLockRegistry.releaseAll(forward);
+        ReentrantLock[] backward = registry.acquireAll(secondUserId, firstUserId);
+        UserLockRegistry.releaseAll(backward);
+
+        // then
+        assertThat(forward).containsExactly(backward);
+        assertThat(registry.stripeOf(firstUserId) < registry.stripeOf(secondUserId)
+                ? forward[0] : forward[1]).isSameAs(registry.lockOf(firstUserId));
+        assertThat(forward).allSatisfy(lock -> assertThat(lock.isLocked()).isFalse());
+    }
+
+    /**
+     * 대기 스레드 수가 제한에 도달하면 기다리지 않고 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("락을 기다리는 스레드 수가 제한에 도달하면 기다리지 않고 바로 거절한다.")
+    void shouldRejectWhenTooManyWaiters() throws InterruptedException {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 1, Duration.ofSeconds(2)),
+                new PointMetrics(new SimpleMeterRegistry()));
+        ReentrantLock lock = registry.acquire(1L);
+        Thread waiter = new Thread(() -> registry.acquire(1L).unlock());
+        waiter.start();
+        while (lock.getQueueLength() == 0) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+
+        // when
+        // 락을 잡은 스레드에서 다시 획득하면 재진입이므로 다른 스레드에서 획득을 시도한다.
+        CompletableFuture<ReentrantLock> rejected = CompletableFuture.supplyAsync(() -> registry.acquire(1L));
+
+        // then
+        assertThatThrownBy(rejected::join)
+                .hasCauseInstanceOf(PointBusyException.class)
+                .satisfies(e -> assertThat(((PointBusyException) e.getCause()).retryAfter()).isEqualTo(Duration.ofSeconds(2)));
+        assertThat(registry.stats().rejectedAcquisitions()).isEqualTo(1);
+
+        lock.unlock();
+        waiter.join();
+    }
+
+    /**
+     * 대기 시간 안에 락을 획득하지 못하면 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("대기 시간 안에 락을 획득하지 못하면 거절한다.")
+    void shouldRejectWhenWaitTimeoutElapses() throws Exception {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofMillis(50), 100, Duration.ofSeconds(1)),
+                new PointMetrics(new SimpleMeterRegistry()));
+        ReentrantLock lock = registry.acquire(1L);
+
+        // when
+        CompletableFuture<ReentrantLock> waiting = CompletableFuture.supplyAsync(() -> registry.acquire(1L));
+
+        // then
+        assertThatThrownBy(() -> waiting.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointBusyException.class);
+        assertThat(registry.stats().rejectedAcquisitions()).isEqualTo(1);
+        lock.unlock();
+    }
+
+    /**
+     * 막아 둔 사용자의 요청은 락을 기다리던 중이었더라도 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("막아 둔 사용자의 락은 획득한 뒤 거절하고, 막힘을 풀면 다시 획득한다.")
+    void shouldRejectFencedUser() throws Exception {
+        // given
+        UserLockRegistry registry = new UserLockRegistry(new UserLockProperties(16, true, Duration.ofSeconds(10), 100, Duration.ofSeconds(1)),
+                new PointMetrics(new SimpleMeterRegistry()));
+        ReentrantLock lock = registry.acquire(1L);
+        CompletableFuture<ReentrantLock> waiting = CompletableFuture.supplyAsync(() -> registry.acquire(1L));
+
+        // when
+        registry.fence(1L);
+        lock.unlock();
+
+        // then
+        assertThatThrownBy(() -> waiting.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointBusyException.class);
+        assertThat(registry.lockOf(1L).isLocked()).isFalse();
+
+        registry.unfence(1L);
+        registry.acquire(1L).unlock();
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 30_000;
+
+    /**
+     * 가상 노드로 사용자가 노드마다 고르게 나뉘는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("사용자는 모든 노드에 고르게 나뉜다.")
+    void shouldDistributeUsersEvenly() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        // then
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USERS / 3 * 7 / 10, USERS / 3 * 13 / 10));
+    }
+
+    /**
+     * 노드를 추가하면 새 노드로 옮겨 가는 사용자 외에는 담당 노드가 바뀌지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("노드가 추가되면 일부 사용자만 새 노드로 옮겨 가고 나머지는 담당 노드가 그대로다.")
+    void shouldMoveOnlyUsersOfNewNode() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        // when
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String owner = after.ownerOf(userId);
+            if (!owner.equals(before.ownerOf(userId))) {
+                assertThat(owner).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        // then
+        assertThat(moved).isBetween(USERS / 4 * 7 / 10, USERS / 4 * 13 / 10);
+    }
+
+    /**
+     * 노드 없이 링을 만들면 예외가 발생하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("노드가 없으면 링을 만들 수 없다.")
+    void shouldThrowExceptionWhenNoNodes() {
+        // when
+        // then
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("링에는 노드가 하나 이상 필요합니다.");
+    }
+}
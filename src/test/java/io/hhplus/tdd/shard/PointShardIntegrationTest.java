@@ -0,0 +1,347 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHold;
+import io.hhplus.tdd.point.PointHoldRequest;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.PointTransferRequest;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 한 JVM 에서 두 노드를 띄워 요청 전달과 노드 추가 시 데이터 이동을 검증합니다.
+ */
+class PointShardIntegrationTest {
+
+    private static final int USERS = 20;
+    private static final String SECRET = "shard-secret";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final RestClient restClient = RestClient.create();
+
+    @AfterEach
+    void tearDown() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    /**
+     * 노드를 추가한 뒤에도 어느 노드로 요청하든 같은 잔고와 내역을 조회하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("노드를 추가하면 담당이 바뀐 사용자의 잔고와 내역이 새 노드로 옮겨 가고, 어느 노드로 요청해도 담당 노드가 처리한다.")
+    void shouldMigrateAndRouteAfterNodeJoins() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA));
+        IntStream.rangeClosed(1, USERS).forEach(userId -> charge(nodeA, userId, 1_000L));
+
+        // when
+        start(nodeB, List.of(nodeA, nodeB));
+        PointShardRebalance rebalance = updateRing(nodeA, List.of(nodeA, nodeB));
+
+        // then
+        assertThat(rebalance.migratedUsers()).isPositive().isLessThan(USERS);
+        assertThat(rebalance.pendingUsers()).isZero();
+        for (long userId = 1; userId <= USERS; userId++) {
+            assertThat(point(nodeA, userId).point()).isEqualTo(1_000L);
+            assertThat(point(nodeB, userId).point()).isEqualTo(1_000L);
+            assertThat(summary(nodeB, userId).count()).isEqualTo(1L);
+        }
+
+        long movedUserId = IntStream.rangeClosed(1, USERS)
+                .filter(userId -> contexts.get(1).getBean(PointShardRouter.class).isLocal(userId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(charge(nodeA, movedUserId, 500L).point()).isEqualTo(1_500L);
+        assertThat(point(nodeB, movedUserId).point()).isEqualTo(1_500L);
+    }
+
+    /**
+     * 사용자를 옮기면 확정하지 않은 예약도 함께 옮겨 새 담당 노드에서 확정할 수 있는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("노드를 추가하면 담당이 바뀐 사용자의 예약도 같은 ID 로 옮겨 가고, 새 담당 노드에서 확정된다.")
+    void shouldMigrateHoldsWithUser() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA));
+        List<PointHold> holds = IntStream.rangeClosed(1, USERS)
+                .mapToObj(userId -> {
+                    charge(nodeA, userId, 1_000L);
+                    return hold(nodeA, userId, 400L);
+                })
+                .toList();
+
+        // when
+        start(nodeB, List.of(nodeA, nodeB));
+        updateRing(nodeA, List.of(nodeA, nodeB));
+
+        // then
+        PointShardRouter router = contexts.get(1).getBean(PointShardRouter.class);
+        PointHold movedHold = holds.stream()
+                .filter(hold -> router.isLocal(hold.userId()))
+                .findFirst()
+                .orElseThrow();
+        UserPoint captured = restClient.post()
+                .uri(nodeA + "/point/" + movedHold.userId() + "/holds/" + movedHold.id() + "/capture")
+                .retrieve()
+                .body(UserPoint.class);
+        assertThat(captured.point()).isEqualTo(600L);
+        assertThat(point(nodeB, movedHold.userId()).point()).isEqualTo(600L);
+    }
+
+    /**
+     * 공유 비밀값 없이 관리 API 를 호출하면 거절되는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("공유 비밀값이 없거나 다른 관리 API 요청은 401 로 거절하고 링을 바꾸지 않는다.")
+    void shouldRejectInternalRequestsWithoutSecret() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA));
+
+        // when
+        HttpStatusCode withoutSecret = restClient.put()
+                .uri(nodeA + "/internal/shard/ring")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(List.of("http://localhost:1"))
+                .exchange((request, response) -> response.getStatusCode());
+        HttpStatusCode wrongSecret = restClient.post()
+                .uri(nodeA + "/internal/shard/users")
+                .header(PointShardAuthenticationFilter.SECRET_HEADER, "wrong")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new PointShardTransfer("migration-1", 1L, 1_000L, List.of(), List.of()))
+                .exchange((request, response) -> response.getStatusCode());
+
+        // then
+        assertThat(withoutSecret.value()).isEqualTo(401);
+        assertThat(wrongSecret.value()).isEqualTo(401);
+        assertThat(contexts.get(0).getBean(PointShardRouter.class).nodes()).containsExactly(nodeA);
+        assertThat(point(nodeA, 1L).point()).isZero();
+    }
+
+    /**
+     * 현재 링에서 담당하지 않는 사용자는 받지 않고, 같은 옮기기를 다시 보내도 한 번만 반영하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("담당하지 않는 사용자를 옮겨 오면 409 로 거절하고, 같은 옮기기 ID 로 다시 보내면 한 번만 반영한다.")
+    void shouldRejectForeignUsersAndDeduplicateTransfers() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA, nodeB));
+        PointShardRouter router = contexts.get(0).getBean(PointShardRouter.class);
+        long localUserId = IntStream.rangeClosed(1, USERS).filter(router::isLocal).findFirst().orElseThrow();
+        long foreignUserId = IntStream.rangeClosed(1, USERS).filter(userId -> !router.isLocal(userId)).findFirst().orElseThrow();
+
+        // when
+        HttpStatusCode foreign = transfer(nodeA, new PointShardTransfer("migration-1", foreignUserId, 1_000L, List.of(), List.of()));
+        PointShardTransfer transfer = new PointShardTransfer("migration-2", localUserId, 1_000L,
+                List.of(new PointHistory(1L, localUserId, 1_000L, TransactionType.CHARGE, 100000L)), List.of());
+        HttpStatusCode first = transfer(nodeA, transfer);
+        HttpStatusCode retried = transfer(nodeA, transfer);
+
+        // then
+        assertThat(foreign.value()).isEqualTo(409);
+        assertThat(first.is2xxSuccessful()).isTrue();
+        assertThat(retried.is2xxSuccessful()).isTrue();
+        assertThat(point(nodeA, localUserId).point()).isEqualTo(1_000L);
+        assertThat(summary(nodeA, localUserId).count()).isEqualTo(1L);
+    }
+
+    /**
+     * 포인트 이전은 두 사용자의 담당 노드로 전달하고, 담당 노드가 다르면 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("같은 노드가 담당하는 사용자 사이의 이전은 그 노드로 전달하고, 담당 노드가 다른 사용자 사이의 이전은 501 로 거절한다.")
+    void shouldRouteTransferToOwnerOfBothUsers() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA, nodeB));
+        start(nodeB, List.of(nodeA, nodeB));
+        PointShardRouter router = contexts.get(0).getBean(PointShardRouter.class);
+        long[] remoteUserIds = IntStream.rangeClosed(1, USERS).filter(userId -> nodeB.equals(router.ownerOf(userId)))
+                .limit(2).asLongStream().toArray();
+        long localUserId = IntStream.rangeClosed(1, USERS).filter(router::isLocal).findFirst().orElseThrow();
+        charge(nodeA, remoteUserIds[0], 5_000L);
+
+        // when
+        PointTransfer transfer = restClient.post()
+                .uri(nodeA + "/point/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new PointTransferRequest(remoteUserIds[0], remoteUserIds[1], 2_000L))
+                .retrieve()
+                .body(PointTransfer.class);
+        HttpStatusCode crossShard = restClient.post()
+                .uri(nodeA + "/point/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new PointTransferRequest(remoteUserIds[0], localUserId, 1_000L))
+                .exchange((request, response) -> response.getStatusCode());
+
+        // then
+        assertThat(transfer.sender().point()).isEqualTo(3_000L);
+        assertThat(point(nodeB, remoteUserIds[1]).point()).isEqualTo(2_000L);
+        assertThat(crossShard.value()).isEqualTo(501);
+        assertThat(point(nodeA, remoteUserIds[0]).point()).isEqualTo(3_000L);
+        assertThat(point(nodeA, localUserId).point()).isZero();
+    }
+
+    /**
+     * 공유 비밀값 없이 전달 헤더를 붙인 요청은 담당하지 않는 노드에서 처리되지 않는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("공유 비밀값 없이 전달 헤더를 붙인 요청은 401 로 거절하고 담당하지 않는 사용자의 잔고를 만들지 않는다.")
+    void shouldRejectForgedForwardedRequests() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA, nodeB));
+        start(nodeB, List.of(nodeA, nodeB));
+        PointShardRouter router = contexts.get(0).getBean(PointShardRouter.class);
+        long remoteUserId = IntStream.rangeClosed(1, USERS).filter(userId -> !router.isLocal(userId)).findFirst().orElseThrow();
+
+        // when
+        HttpStatusCode forged = restClient.patch()
+                .uri(nodeA + "/point/" + remoteUserId + "/charge")
+                .header(PointShardRoutingFilter.FORWARDED_HEADER, "http://attacker")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(1_000L)
+                .exchange((request, response) -> response.getStatusCode());
+
+        // then
+        assertThat(forged.value()).isEqualTo(401);
+        assertThat(point(nodeB, remoteUserId).point()).isZero();
+    }
+
+    /**
+     * 일괄 처리는 담긴 사용자를 모두 담당하는 노드로 전달하고, 담당 노드가 섞여 있으면 거절하는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("한 노드가 담당하는 사용자만 담은 일괄 처리는 그 노드로 전달하고, 담당 노드가 다른 사용자가 섞이면 501 로 거절한다.")
+    void shouldRouteBatchToOwnerOfAllUsers() throws IOException {
+        // given
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA, nodeB));
+        start(nodeB, List.of(nodeA, nodeB));
+        PointShardRouter router = contexts.get(0).getBean(PointShardRouter.class);
+        long remoteUserId = IntStream.rangeClosed(1, USERS).filter(userId -> !router.isLocal(userId)).findFirst().orElseThrow();
+        long localUserId = IntStream.rangeClosed(1, USERS).filter(router::isLocal).findFirst().orElseThrow();
+
+        // when
+        List<Map<String, Object>> results = restClient.post()
+                .uri(nodeA + "/point/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(List.of(new PointOperation(remoteUserId, TransactionType.CHARGE, 2_000L)))
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {
+                });
+        HttpStatusCode crossShard = restClient.post()
+                .uri(nodeA + "/point/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(List.of(
+                        new PointOperation(remoteUserId, TransactionType.CHARGE, 1_000L),
+                        new PointOperation(localUserId, TransactionType.CHARGE, 1_000L)
+                ))
+                .exchange((request, response) -> response.getStatusCode());
+
+        // then
+        assertThat(results).extracting("success").containsExactly(true);
+        assertThat(point(nodeB, remoteUserId).point()).isEqualTo(2_000L);
+        assertThat(crossShard.value()).isEqualTo(501);
+        assertThat(point(nodeA, localUserId).point()).isZero();
+    }
+
+    private PointShardRebalance updateRing(String node, List<String> nodes) {
+        return restClient.put()
+                .uri(node + "/internal/shard/ring")
+                .header(PointShardAuthenticationFilter.SECRET_HEADER, SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(nodes)
+                .retrieve()
+                .body(PointShardRebalance.class);
+    }
+
+    private HttpStatusCode transfer(String node, PointShardTransfer transfer) {
+        return restClient.post()
+                .uri(node + "/internal/shard/users")
+                .header(PointShardAuthenticationFilter.SECRET_HEADER, SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(transfer)
+                .exchange((request, response) -> response.getStatusCode());
+    }
+
+    private void start(String self, List<String> nodes) {
+        contexts.add(new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=" + self.substring(self.lastIndexOf(':') + 1),
+                        "point.shard.enabled=true",
+                        "point.shard.self=" + self,
+                        "point.shard.nodes=" + String.join(",", nodes),
+                        "point.shard.secret=" + SECRET
+                )
+                .run());
+    }
+
+    private UserPoint charge(String node, long userId, long amount) {
+        return restClient.patch()
+                .uri(node + "/point/" + userId + "/charge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(amount)
+                .retrieve()
+                .body(UserPoint.class);
+    }
+
+    private PointHold hold(String node, long userId, long amount) {
+        return restClient.post()
+                .uri(node + "/point/" + userId + "/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new PointHoldRequest(amount, 60L))
+                .retrieve()
+                .body(PointHold.class);
+    }
+
+    private UserPoint point(String node, long userId) {
+        return restClient.get()
+                .uri(node + "/point/" + userId)
+                .retrieve()
+                .body(UserPoint.class);
+    }
+
+    private PointSummary summary(String node, long userId) {
+        return restClient.get()
+                .uri(node + "/point/" + userId + "/summary")
+                .retrieve()
+                .body(PointSummary.class);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
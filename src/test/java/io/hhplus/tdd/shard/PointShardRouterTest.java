@@ -0,0 +1,63 @@
+package io.hhplus.tdd.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PointShardRouterTest {
+
+    private static final String NODE_A = "http://a";
+    private static final String NODE_B = "http://b";
+
+    private PointShardRouter router(String self, List<String> nodes, Duration handoffTimeout) {
+        return new PointShardRouter(new PointShardProperties(true, self, nodes, 128, "secret", handoffTimeout));
+    }
+
+    /**
+     * 새로 담당하게 된 사용자는 이전 담당 노드가 옮기기를 마쳤다고 알릴 때까지 옮겨 오는 중으로 보는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("링이 바뀌면 새로 담당하게 된 사용자는 이전 담당 노드가 옮기기를 마칠 때까지 옮겨 오는 중이다.")
+    void shouldHoldIncomingUsersUntilHandoffCompletes() {
+        // given
+        PointShardRouter router = router(NODE_B, List.of(NODE_A), Duration.ofMinutes(1));
+        router.update(List.of(NODE_A, NODE_B));
+        long incomingUserId = LongStream.rangeClosed(1, 100).filter(router::isLocal).findFirst().orElseThrow();
+        long remoteUserId = LongStream.rangeClosed(1, 100).filter(userId -> !router.isLocal(userId)).findFirst().orElseThrow();
+
+        // when
+        boolean pendingBeforeHandoff = router.isHandoffPending(incomingUserId);
+        router.update(List.of(NODE_B, NODE_A));
+        boolean pendingAfterSameRing = router.isHandoffPending(incomingUserId);
+        router.completeHandoff(NODE_A, List.of(NODE_B, NODE_A));
+
+        // then
+        assertThat(pendingBeforeHandoff).isTrue();
+        assertThat(pendingAfterSameRing).isTrue();
+        assertThat(router.isHandoffPending(incomingUserId)).isFalse();
+        assertThat(router.isHandoffPending(remoteUserId)).isFalse();
+    }
+
+    /**
+     * 이전 담당 노드가 알리지 못해도 handoffTimeout 이 지나면 요청을 다시 받는 지 검증하는 테스트입니다.
+     */
+    @Test
+    @DisplayName("옮기기를 마쳤다는 알림이 없어도 handoffTimeout 이 지나면 옮겨 오는 중으로 보지 않는다.")
+    void shouldStopHoldingAfterHandoffTimeout() {
+        // given
+        PointShardRouter router = router(NODE_B, List.of(NODE_A), Duration.ZERO);
+
+        // when
+        router.update(List.of(NODE_A, NODE_B));
+
+        // then
+        assertThat(LongStream.rangeClosed(1, 100).filter(router::isLocal))
+                .isNotEmpty()
+                .allSatisfy(userId -> assertThat(router.isHandoffPending(userId)).isFalse());
+    }
+}